@@ -0,0 +1,96 @@
+package studentmanager0206.code;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+
+/**
+ * ConnectionPoolBenchmark 클래스는 학번 단건 조회의 호출당 지연 시간을
+ * 기존 방식(매 호출마다 DriverManager로 연결), 커넥션 풀 방식, 커넥션 풀 + 학번 캐시 방식으로 비교합니다.
+ * 실행 전 SMS 데이터베이스에 접속 가능해야 합니다.
+ */
+public class ConnectionPoolBenchmark {
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 2_000;
+
+    /**
+     * 벤치마크를 실행합니다.
+     * @param args [0] 조회할 학번 (생략 시 0000000000), [1] 반복 횟수
+     * @throws Exception 드라이버 로드 실패 시 예외 발생
+     */
+    public static void main(String[] args) throws Exception {
+        String sno = args.length > 0 ? args[0] : "0000000000";
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : ITERATIONS;
+        Class.forName("com.mysql.cj.jdbc.Driver");
+
+        StudentDAO pooledDao = new StudentDAO();
+        pooledDao.setCacheEnabled(false);
+        StudentDAO cachedDao = new StudentDAO();
+        cachedDao.setCacheEnabled(true);
+
+        for (int i = 0; i < WARMUP; i++) {
+            findDirect(sno);
+            pooledDao.findStudentBySno(sno);
+            cachedDao.findStudentBySno(sno);
+        }
+
+        long[] direct = new long[iterations];
+        long[] pooled = new long[iterations];
+        long[] cached = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            findDirect(sno);
+            direct[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            pooledDao.findStudentBySno(sno);
+            pooled[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            cachedDao.findStudentBySno(sno);
+            cached[i] = System.nanoTime() - start;
+        }
+
+        report("DriverManager per call", direct);
+        report("StudentConnectionPool", pooled);
+        report("pool + StudentCache", cached);
+        System.out.println("cache: " + cachedDao.getCache());
+        StudentConnectionPool.getInstance().close();
+    }
+
+    /**
+     * 기존 StudentDAO와 동일하게 매 호출마다 새 커넥션을 열어 조회합니다.
+     * (비교를 위해 사용 후에는 닫습니다.)
+     * @param sno 조회할 학번
+     * @throws Exception 조회 실패 시 예외 발생
+     */
+    private static void findDirect(String sno) throws Exception {
+        try (Connection conn = DriverManager.getConnection(
+                StudentConnectionPool.URL, StudentConnectionPool.USERNAME, StudentConnectionPool.PASSWORD);
+             PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM STUDENT WHERE sno = ?")) {
+            pstmt.setString(1, sno);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+            }
+        }
+    }
+
+    /**
+     * 측정 결과의 평균과 백분위 지연 시간을 출력합니다.
+     * @param label 측정 항목 이름
+     * @param samples 호출별 소요 시간(ns)
+     */
+    private static void report(String label, long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        double avgUs = Arrays.stream(sorted).average().orElse(0) / 1_000.0;
+        System.out.printf("%-24s avg=%.1fus p50=%.1fus p99=%.1fus max=%.1fus%n",
+                label,
+                avgUs,
+                sorted[sorted.length / 2] / 1_000.0,
+                sorted[(int) (sorted.length * 0.99)] / 1_000.0,
+                sorted[sorted.length - 1] / 1_000.0);
+    }
+}
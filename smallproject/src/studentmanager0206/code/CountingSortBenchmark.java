@@ -0,0 +1,99 @@
+package studentmanager0206.code;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * CountingSortBenchmark 클래스는 같은 섞인 학생 리스트를 기존 비교 정렬(List.sort + Comparator)과
+ * StudentCountingSorter의 계수/기수 정렬로 정렬하여 학생 한 명당 시간과 할당량을 비교합니다.
+ * <ul>
+ *     <li>total: 총점 내림차순 (sortByTotal)</li>
+ *     <li>sno: 학번 오름차순 (sortBySno)</li>
+ *     <li>total+sno: 총점 내림차순, 동점이면 학번 오름차순 (pageByTotal)</li>
+ *     <li>math: 수학 점수 내림차순 (sortBySubject)</li>
+ * </ul>
+ * 측정 전에 두 방식의 결과가 같은 순서인지 확인합니다.
+ * <p>
+ * 실행: java -Xms2g -Xmx2g studentmanager0206.code.CountingSortBenchmark [학생 수] (생략 시 1,000,000)
+ */
+public class CountingSortBenchmark {
+    private static final int DEFAULT_ROWS = 1_000_000;
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURE_ITERATIONS = 5;
+    private static final long ITERATION_MILLIS = 1_000;
+
+    /**
+     * 벤치마크를 실행합니다.
+     * @param args [0] 학생 수
+     * @throws Exception 측정 실패 시 예외 발생
+     */
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROWS;
+        List<Student> shuffled = new ArrayList<>(CsvExportBenchmark.generate(rows));
+        Collections.shuffle(shuffled, new Random(7));
+        MicroBenchmark bench = new MicroBenchmark(WARMUP_ITERATIONS, MEASURE_ITERATIONS, ITERATION_MILLIS);
+        StudentCountingSorter sorter = new StudentCountingSorter(List::of);
+
+        compare(bench, "total", shuffled,
+                list -> list.sort(Comparator.comparingInt(Student::getTotal).reversed()),
+                sorter::sortByTotal);
+        compare(bench, "sno", shuffled,
+                list -> list.sort(Comparator.comparing(Student::getSno)),
+                sorter::sortBySno);
+        compare(bench, "total+sno", shuffled,
+                list -> list.sort(Comparator.comparingInt(Student::getTotal).reversed().thenComparing(Student::getSno)),
+                sorter::sortByTotalThenSno);
+        compare(bench, "math", shuffled,
+                list -> list.sort(Comparator.comparingInt((Student s) -> s.getScore(SubjectDictionary.MATH)).reversed()),
+                list -> sorter.sortBySubject(list, SubjectDictionary.MATH));
+    }
+
+    /**
+     * 한 정렬 기준에 대해 두 방식의 결과가 같은지 확인한 뒤 각각 측정합니다.
+     * @param bench 측정 도구
+     * @param name 정렬 기준 이름
+     * @param shuffled 섞인 원본 리스트 (변경하지 않음)
+     * @param comparatorSort 비교 정렬
+     * @param countingSort 계수/기수 정렬
+     * @throws Exception 측정 실패 시 예외 발생
+     */
+    private static void compare(MicroBenchmark bench, String name, List<Student> shuffled,
+                                Consumer<List<Student>> comparatorSort, Consumer<List<Student>> countingSort)
+            throws Exception {
+        List<Student> expected = new ArrayList<>(shuffled);
+        comparatorSort.accept(expected);
+        List<Student> actual = new ArrayList<>(shuffled);
+        countingSort.accept(actual);
+        for (int i = 0; i < expected.size(); i++) {
+            if (expected.get(i) != actual.get(i)) {
+                throw new IllegalStateException(name + ": order differs at " + i);
+            }
+        }
+
+        // 정렬할 리스트는 매번 섞인 원본 순서로 되돌립니다. (ArrayList.set이므로 할당 없음, O(n))
+        List<Student> work = new ArrayList<>(shuffled);
+        MicroBenchmark.Result comparator = bench.measure(name + ".comparator", shuffled.size(), () -> {
+            reset(work, shuffled);
+            comparatorSort.accept(work);
+            return work.get(0).getTotal();
+        });
+        System.out.println(comparator);
+        MicroBenchmark.Result counting = bench.measure(name + ".counting", shuffled.size(), () -> {
+            reset(work, shuffled);
+            countingSort.accept(work);
+            return work.get(0).getTotal();
+        });
+        System.out.println(counting);
+        System.out.printf("%-22s x%.2f%n", name + " speedup", comparator.nanosPerOp / counting.nanosPerOp);
+    }
+
+    private static void reset(List<Student> work, List<Student> shuffled) {
+        for (int i = 0; i < shuffled.size(); i++) {
+            work.set(i, shuffled.get(i));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package studentmanager0206.code;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * CsvExportBenchmark 클래스는 백업 CSV 기록 처리량(rows/sec, MB/sec)을
+ * 기존 방식(BufferedWriter + String.format)과 StudentCsvExporter(일반, gzip)로 비교합니다.
+ * 데이터베이스 없이 메모리에 생성한 학생 데이터로 측정합니다.
+ */
+public class CsvExportBenchmark {
+    private static final int DEFAULT_ROWS = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    /**
+     * 벤치마크를 실행합니다.
+     * @param args [0] 학생 수 (생략 시 1,000,000)
+     * @throws IOException 임시 파일 기록 실패 시 예외 발생
+     */
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROWS;
+        List<Student> students = generate(rows);
+        Path legacyFile = Files.createTempFile("students_legacy", ".csv");
+        Path plainFile = Files.createTempFile("students_exporter", ".csv");
+        Path gzipFile = Files.createTempFile("students_exporter", ".csv.gz");
+
+        try {
+            for (int round = 1; round <= ROUNDS; round++) {
+                System.out.println("round " + round);
+                long start = System.nanoTime();
+                writeLegacy(students, legacyFile);
+                report("String.format", rows, Files.size(legacyFile), System.nanoTime() - start);
+
+                start = System.nanoTime();
+                try (StudentCsvExporter exporter = new StudentCsvExporter(plainFile, false)) {
+                    exporter.exportAll(students.iterator());
+                }
+                report("StudentCsvExporter", rows, Files.size(plainFile), System.nanoTime() - start);
+
+                start = System.nanoTime();
+                long rawBytes;
+                try (StudentCsvExporter exporter = new StudentCsvExporter(gzipFile, true)) {
+                    exporter.exportAll(students.iterator());
+                    rawBytes = exporter.getByteCount();
+                }
+                report("StudentCsvExporter+gzip", rows, rawBytes, System.nanoTime() - start);
+            }
+        } finally {
+            Files.deleteIfExists(legacyFile);
+            Files.deleteIfExists(plainFile);
+            Files.deleteIfExists(gzipFile);
+        }
+    }
+
+    /**
+     * 기존 backupToFile과 같은 방식으로 CSV를 기록합니다.
+     * @param students 기록할 학생 리스트
+     * @param path 기록할 파일 경로
+     * @throws IOException 기록 실패 시 예외 발생
+     */
+    private static void writeLegacy(List<Student> students, Path path) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(path.toFile()))) {
+            writer.write(StudentCsvExporter.HEADER);
+            writer.newLine();
+            for (Student s : students) {
+                String csvLine = String.format("%s,%s,%d,%d,%d,%d,%d,%.2f,%s",
+                        s.getSno(),
+                        s.getName(),
+                        s.getScore("korean"),
+                        s.getScore("english"),
+                        s.getScore("math"),
+                        s.getScore("science"),
+                        s.getTotal(),
+                        s.getAverage(),
+                        s.computeGrade());
+                writer.write(csvLine);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * 임의의 학생 데이터를 생성합니다.
+     * @param rows 학생 수
+     * @return 학생 리스트
+     */
+    static List<Student> generate(int rows) {
+        Random random = new Random(42);
+        String[] names = { "김철수", "이영희", "박민수", "Alice", "Bob", "최지우", "Charlie", "정하늘" };
+        List<Student> students = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            students.add(new Student.StudentBuilder()
+                    .sno(String.format("%010d", 2_000_000_000L + i))
+                    .name(names[random.nextInt(names.length)])
+                    .addSubject(SubjectDictionary.KOREAN, random.nextInt(101))
+                    .addSubject(SubjectDictionary.ENGLISH, random.nextInt(101))
+                    .addSubject(SubjectDictionary.MATH, random.nextInt(101))
+                    .addSubject(SubjectDictionary.SCIENCE, random.nextInt(101))
+                    .build());
+        }
+        return students;
+    }
+
+    /**
+     * 처리량을 출력합니다.
+     * @param label 측정 항목 이름
+     * @param rows 기록한 학생 수
+     * @param bytes 기록한 (압축 전) 바이트 수
+     * @param nanos 소요 시간(ns)
+     */
+    private static void report(String label, int rows, long bytes, long nanos) {
+        double seconds = nanos / 1e9;
+        System.out.printf("  %-24s %,12.0f rows/s %8.1f MB/s (%.3fs)%n",
+                label, rows / seconds, bytes / seconds / (1024 * 1024), seconds);
+    }
+}
@@ -0,0 +1,219 @@
+package studentmanager0206.code;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * HotPathBenchmark 클래스는 학생 관리의 자주 쓰이는 경로를 데이터 크기별로 측정하여 성능 회귀를 확인합니다.
+ * <ul>
+ *     <li>builder.build: Student.StudentBuilder로 학생 생성</li>
+ *     <li>derived.getters: getTotal/getAverage/computeGrade</li>
+ *     <li>score.byName, score.byId: 과목명(SubjectDictionary 조회) / 과목 id로 점수 조회</li>
+ *     <li>csv.encode: backupToFile의 CSV 기록 (StudentCsvExporter)</li>
+ *     <li>csv.decode: bulkLoad의 CSV 읽기 (StudentCsvReader)</li>
+ *     <li>logstore.getAll: StudentFileIO.getAllStudents의 백업 파일 읽기 (StudentLogStore)</li>
+ *     <li>sort.total, sort.sno: sortByTotal/sortBySno(StudentCountingSorter)로 섞인 리스트 정렬</li>
+ * </ul>
+ * 모든 수치는 학생 한 명당 값(ns/op, B/op)입니다. 파일 측정은 임시 디렉터리(페이지 캐시)를 사용합니다.
+ * <p>
+ * 실행: java -Xms1g -Xmx1g studentmanager0206.code.HotPathBenchmark [크기 목록] [기준값 파일]
+ * <br>크기 목록은 쉼표로 구분합니다. (생략 시 1000,100000)
+ * 기준값 파일이 있으면 각 항목의 변화율을 함께 출력하고, 없으면 이번 결과를 기준값으로 저장합니다.
+ * 저장소의 기준값은 studentmanager0206/bench/hotpath_baseline.tsv입니다.
+ */
+public class HotPathBenchmark {
+    private static final String DEFAULT_SIZES = "1000,100000";
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURE_ITERATIONS = 5;
+    private static final long ITERATION_MILLIS = 500;
+
+    /**
+     * 벤치마크를 실행합니다.
+     * @param args [0] 크기 목록 (쉼표 구분), [1] 기준값 파일
+     * @throws Exception 측정 또는 임시 파일 처리 실패 시 예외 발생
+     */
+    public static void main(String[] args) throws Exception {
+        String[] sizes = (args.length > 0 ? args[0] : DEFAULT_SIZES).split(",");
+        Path baselineFile = args.length > 1 ? Paths.get(args[1]) : null;
+        MicroBenchmark bench = new MicroBenchmark(WARMUP_ITERATIONS, MEASURE_ITERATIONS, ITERATION_MILLIS);
+
+        List<MicroBenchmark.Result> results = new ArrayList<>();
+        for (String size : sizes) {
+            results.addAll(run(bench, Integer.parseInt(size.trim())));
+        }
+
+        if (baselineFile == null) {
+            return;
+        }
+        if (Files.exists(baselineFile)) {
+            compare(MicroBenchmark.parseResults(Files.readAllLines(baselineFile, StandardCharsets.UTF_8)), results);
+        } else {
+            List<String> lines = new ArrayList<>();
+            lines.add("# HotPathBenchmark baseline: " + System.getProperty("java.vm.name") + " "
+                    + System.getProperty("java.version") + ", " + Runtime.getRuntime().availableProcessors() + " cpu, "
+                    + WARMUP_ITERATIONS + "x" + MEASURE_ITERATIONS + " iterations of " + ITERATION_MILLIS + "ms");
+            lines.add("# name\tsize\tns/op\terror\tB/op");
+            results.forEach(result -> lines.add(result.toTsv()));
+            Files.write(baselineFile, lines, StandardCharsets.UTF_8);
+            System.out.println("baseline saved: " + baselineFile);
+        }
+    }
+
+    /**
+     * 크기 하나에 대해 모든 항목을 측정합니다.
+     * @param bench 측정 도구
+     * @param size 학생 수
+     * @return 측정 결과
+     * @throws Exception 측정 또는 임시 파일 처리 실패 시 예외 발생
+     */
+    private static List<MicroBenchmark.Result> run(MicroBenchmark bench, int size) throws Exception {
+        List<MicroBenchmark.Result> results = new ArrayList<>();
+        List<Student> students = CsvExportBenchmark.generate(size);
+        String[] snos = new String[size];
+        String[] names = new String[size];
+        int[][] scores = new int[size][4];
+        for (int i = 0; i < size; i++) {
+            Student s = students.get(i);
+            snos[i] = s.getSno();
+            names[i] = s.getName();
+            scores[i][0] = s.getScore(SubjectDictionary.KOREAN);
+            scores[i][1] = s.getScore(SubjectDictionary.ENGLISH);
+            scores[i][2] = s.getScore(SubjectDictionary.MATH);
+            scores[i][3] = s.getScore(SubjectDictionary.SCIENCE);
+        }
+
+        results.add(report(bench.measure("builder.build", size, () -> {
+            long checksum = 0;
+            for (int i = 0; i < size; i++) {
+                checksum += new Student.StudentBuilder()
+                        .sno(snos[i])
+                        .name(names[i])
+                        .addSubject(SubjectDictionary.KOREAN, scores[i][0])
+                        .addSubject(SubjectDictionary.ENGLISH, scores[i][1])
+                        .addSubject(SubjectDictionary.MATH, scores[i][2])
+                        .addSubject(SubjectDictionary.SCIENCE, scores[i][3])
+                        .build()
+                        .getTotal();
+            }
+            return checksum;
+        })));
+
+        results.add(report(bench.measure("derived.getters", size, () -> {
+            long checksum = 0;
+            for (Student s : students) {
+                checksum += s.getTotal() + (long) s.getAverage() + s.computeGrade().charAt(0);
+            }
+            return checksum;
+        })));
+
+        results.add(report(bench.measure("score.byName", size, () -> {
+            long checksum = 0;
+            for (Student s : students) {
+                checksum += s.getScore("korean") + s.getScore("english") + s.getScore("math") + s.getScore("science");
+            }
+            return checksum;
+        })));
+
+        results.add(report(bench.measure("score.byId", size, () -> {
+            long checksum = 0;
+            for (Student s : students) {
+                checksum += s.getScore(SubjectDictionary.KOREAN) + s.getScore(SubjectDictionary.ENGLISH)
+                        + s.getScore(SubjectDictionary.MATH) + s.getScore(SubjectDictionary.SCIENCE);
+            }
+            return checksum;
+        })));
+
+        Path directory = Files.createTempDirectory("hotpath");
+        Path csvFile = directory.resolve("students_backup.csv");
+        Path logFile = directory.resolve("students_log.csv");
+        try {
+            results.add(report(bench.measure("csv.encode", size, () -> {
+                try (StudentCsvExporter exporter = new StudentCsvExporter(csvFile, false)) {
+                    return exporter.exportAll(students.iterator());
+                }
+            })));
+
+            StudentCsvReader csvReader = new StudentCsvReader();
+            results.add(report(bench.measure("csv.decode", size, () -> csvReader.read(csvFile).size())));
+
+            try (StudentLogStore store = new StudentLogStore(logFile)) {
+                for (Student s : students) {
+                    store.put(s);
+                }
+                results.add(report(bench.measure("logstore.getAll", size, () -> store.getAll().size())));
+            }
+        } finally {
+            deleteQuietly(csvFile);
+            deleteQuietly(logFile);
+            deleteQuietly(directory);
+        }
+
+        // 정렬할 리스트는 매번 섞인 원본 순서로 되돌립니다. (ArrayList.set이므로 할당 없음, O(n))
+        List<Student> shuffled = new ArrayList<>(students);
+        Collections.shuffle(shuffled, new Random(7));
+        List<Student> work = new ArrayList<>(shuffled);
+        StudentMemoryIO sorter = new StudentMemoryIO(1);
+        results.add(report(bench.measure("sort.total", size, () -> {
+            for (int i = 0; i < size; i++) {
+                work.set(i, shuffled.get(i));
+            }
+            sorter.sortByTotal(work);
+            return work.get(0).getTotal();
+        })));
+        results.add(report(bench.measure("sort.sno", size, () -> {
+            for (int i = 0; i < size; i++) {
+                work.set(i, shuffled.get(i));
+            }
+            sorter.sortBySno(work);
+            return work.get(0).getTotal();
+        })));
+        return results;
+    }
+
+    /**
+     * 결과를 출력하고 그대로 반환합니다.
+     * @param result 측정 결과
+     * @return 같은 결과
+     */
+    private static MicroBenchmark.Result report(MicroBenchmark.Result result) {
+        System.out.println(result);
+        return result;
+    }
+
+    /**
+     * 기준값과 이번 결과를 비교해 출력합니다. (+는 느려짐/할당 증가)
+     * @param baseline 기준값
+     * @param results 이번 결과
+     */
+    private static void compare(List<MicroBenchmark.Result> baseline, List<MicroBenchmark.Result> results) {
+        Map<String, MicroBenchmark.Result> byKey = new HashMap<>();
+        baseline.forEach(result -> byKey.put(result.key(), result));
+        System.out.println("compared with baseline (time %, alloc B/op):");
+        for (MicroBenchmark.Result result : results) {
+            MicroBenchmark.Result base = byKey.get(result.key());
+            if (base == null) {
+                System.out.printf("  %-30s (no baseline)%n", result.key());
+                continue;
+            }
+            System.out.printf("  %-30s %+8.1f%% %+10.2f B/op%n", result.key(),
+                    (result.nanosPerOp / base.nanosPerOp - 1) * 100, result.bytesPerOp - base.bytesPerOp);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package studentmanager0206.code;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * MemoryStoreBenchmark 클래스는 메모리 내 학생 보관 방식의 힙 사용량과 조회 속도를
+ * 기존 방식(ArrayList&lt;Student&gt; + removeIf/선형 탐색)과 StudentMemoryIO(long 키 개방 주소 해시)로 비교합니다.
+ * 힙 사용량은 GC 후 사용 중인 힙의 차이로 측정하므로 -Xmx를 충분히 주고 실행합니다. (예: -Xmx2g)
+ */
+public class MemoryStoreBenchmark {
+    private static final int DEFAULT_ROWS = 1_000_000;
+    private static final int LIST_LOOKUPS = 200;
+    private static final int MAP_LOOKUPS = 2_000_000;
+    private static final int READER_THREADS = 4;
+    private static final String[] NAMES = { "김철수", "이영희", "박민수", "Alice", "Bob", "최지우", "Charlie", "정하늘" };
+
+    /**
+     * 벤치마크를 실행합니다.
+     * @param args [0] 학생 수 (생략 시 1,000,000)
+     * @throws Exception 조회 스레드 실행 실패 시 예외 발생
+     */
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROWS;
+
+        long before = usedHeap();
+        List<Student> list = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < rows; i++) {
+            list.add(student(random, i));
+        }
+        long listBytes = usedHeap() - before;
+        System.out.printf("ArrayList<Student>  heap %,14d bytes (%.1f bytes/student)%n",
+                listBytes, listBytes / (double) rows);
+
+        Random lookupRandom = new Random(7);
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < LIST_LOOKUPS; i++) {
+            String sno = sno(lookupRandom.nextInt(rows));
+            for (Student s : list) {
+                if (s.getSno().equals(sno)) {
+                    found++;
+                    break;
+                }
+            }
+        }
+        report("ArrayList scan", LIST_LOOKUPS, found, System.nanoTime() - start);
+        list = null;
+
+        before = usedHeap();
+        StudentMemoryIO store = new StudentMemoryIO();
+        random = new Random(42);
+        for (int i = 0; i < rows; i++) {
+            store.save(student(random, i));
+        }
+        long storeBytes = usedHeap() - before;
+        System.out.printf("StudentMemoryIO     heap %,14d bytes (%.1f bytes/student, %.1f%% of ArrayList)%n",
+                storeBytes, storeBytes / (double) rows, storeBytes * 100.0 / listBytes);
+
+        start = System.nanoTime();
+        found = lookup(store, rows, MAP_LOOKUPS, 7);
+        report("StudentMemoryIO get", MAP_LOOKUPS, found, System.nanoTime() - start);
+
+        // 여러 스레드가 동시에 조회하는 동안 한 스레드가 계속 수정합니다.
+        ExecutorService readers = Executors.newFixedThreadPool(READER_THREADS + 1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            start = System.nanoTime();
+            for (int t = 0; t < READER_THREADS; t++) {
+                int seed = t;
+                results.add(readers.submit(() -> lookup(store, rows, MAP_LOOKUPS, seed)));
+            }
+            Future<?> writer = readers.submit(() -> {
+                Random writes = new Random(99);
+                for (int i = 0; i < MAP_LOOKUPS / 10; i++) {
+                    store.save(student(writes, writes.nextInt(rows)));
+                }
+            });
+            found = 0;
+            for (Future<Integer> result : results) {
+                found += result.get();
+            }
+            writer.get();
+            report("concurrent get x" + READER_THREADS, MAP_LOOKUPS * READER_THREADS, found, System.nanoTime() - start);
+        } finally {
+            readers.shutdown();
+        }
+    }
+
+    /**
+     * 임의의 학번을 여러 번 조회합니다.
+     * @param store 조회할 저장소
+     * @param rows 학생 수
+     * @param lookups 조회 횟수
+     * @param seed 난수 시드
+     * @return 찾은 학생 수
+     */
+    private static int lookup(StudentMemoryIO store, int rows, int lookups, int seed) {
+        Random random = new Random(seed);
+        int found = 0;
+        for (int i = 0; i < lookups; i++) {
+            if (store.findStudentBySno(2_000_000_000L + random.nextInt(rows)) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * CsvExportBenchmark.generate와 같은 형태의 학생 한 명을 생성합니다.
+     * @param random 난수 생성기
+     * @param index 학생 번호
+     * @return 학생 객체
+     */
+    private static Student student(Random random, int index) {
+        return new Student.StudentBuilder()
+                .sno(sno(index))
+                .name(NAMES[random.nextInt(NAMES.length)])
+                .addSubject(SubjectDictionary.KOREAN, random.nextInt(101))
+                .addSubject(SubjectDictionary.ENGLISH, random.nextInt(101))
+                .addSubject(SubjectDictionary.MATH, random.nextInt(101))
+                .addSubject(SubjectDictionary.SCIENCE, random.nextInt(101))
+                .build();
+    }
+
+    private static String sno(int index) {
+        return String.format("%010d", 2_000_000_000L + index);
+    }
+
+    /**
+     * GC를 여러 번 요청한 뒤 사용 중인 힙 크기를 반환합니다.
+     * @return 사용 중인 힙(bytes)
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * 조회 처리량을 출력합니다.
+     * @param label 측정 항목 이름
+     * @param lookups 조회 횟수
+     * @param found 찾은 학생 수
+     * @param nanos 소요 시간(ns)
+     */
+    private static void report(String label, int lookups, int found, long nanos) {
+        System.out.printf("  %-24s %,14.0f lookups/s (%,d found, %.3fs)%n",
+                label, lookups / (nanos / 1e9), found, nanos / 1e9);
+    }
+}
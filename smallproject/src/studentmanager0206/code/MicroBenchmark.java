@@ -0,0 +1,186 @@
+package studentmanager0206.code;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * MicroBenchmark 클래스는 벤치마크 main 클래스에서 공통으로 쓰는 작은 측정 도구입니다.
+ * <p>
+ * 측정 대상은 한 번 호출에 데이터 size건을 처리하는 작업이며, 반복(iteration)마다 정해진 시간 동안 작업을 계속 호출해
+ * 한 건당 시간(ns/op)과 한 건당 할당량(B/op, JMH의 gc.alloc.rate.norm과 같은 값)을 구합니다.
+ * 워밍업 반복 결과는 버리고 측정 반복의 평균과 표준편차를 보고합니다.
+ * 할당량은 모든 스레드의 누적 할당 바이트(com.sun.management.ThreadMXBean) 차이이므로 병렬 작업도 포함됩니다.
+ * 작업의 반환값은 volatile 필드에 누적하여 JIT가 계산을 제거하지 못하게 합니다.
+ * <p>
+ * 한 JVM 안에서 순서대로 측정하므로 앞선 측정의 JIT 프로파일이 뒤 측정에 영향을 줄 수 있습니다.
+ * 비교할 때는 같은 옵션, 같은 순서로 실행한 결과끼리 비교합니다.
+ */
+final class MicroBenchmark {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * 작업 결과를 모으는 필드 (dead code 제거 방지)
+     */
+    private static volatile long sink;
+
+    private final int warmupIterations;
+    private final int measureIterations;
+    private final long iterationNanos;
+
+    /**
+     * MicroBenchmark 생성자.
+     * @param warmupIterations 워밍업 반복 횟수
+     * @param measureIterations 측정 반복 횟수 (2 이상)
+     * @param iterationMillis 반복 한 번의 시간(ms)
+     */
+    MicroBenchmark(int warmupIterations, int measureIterations, long iterationMillis) {
+        if (measureIterations < 2) {
+            throw new IllegalArgumentException("measureIterations must be at least 2: " + measureIterations);
+        }
+        this.warmupIterations = warmupIterations;
+        this.measureIterations = measureIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+    }
+
+    /**
+     * 작업을 측정합니다.
+     * @param name 측정 항목 이름
+     * @param size 한 번 호출에 처리하는 건수
+     * @param body 측정할 작업
+     * @return 측정 결과
+     * @throws Exception 작업 실행 중 발생한 예외
+     */
+    Result measure(String name, int size, Body body) throws Exception {
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(size, body);
+        }
+        double[] nanosPerOp = new double[measureIterations];
+        double bytesPerOp = 0;
+        for (int i = 0; i < measureIterations; i++) {
+            double[] measured = iteration(size, body);
+            nanosPerOp[i] = measured[0];
+            bytesPerOp += measured[1];
+        }
+        double mean = 0;
+        for (double value : nanosPerOp) {
+            mean += value;
+        }
+        mean /= measureIterations;
+        double variance = 0;
+        for (double value : nanosPerOp) {
+            variance += (value - mean) * (value - mean);
+        }
+        double stddev = Math.sqrt(variance / (measureIterations - 1));
+        return new Result(name, size, mean, stddev, bytesPerOp / measureIterations);
+    }
+
+    /**
+     * 반복 한 번을 실행합니다. 정해진 시간이 지날 때까지 작업을 호출합니다. (최소 1회)
+     * @param size 한 번 호출에 처리하는 건수
+     * @param body 측정할 작업
+     * @return {건당 ns, 건당 할당 바이트}
+     * @throws Exception 작업 실행 중 발생한 예외
+     */
+    private double[] iteration(int size, Body body) throws Exception {
+        long calls = 0;
+        long result = 0;
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            result += body.run();
+            calls++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+        long allocated = allocatedBytes() - allocatedBefore;
+        sink += result;
+        double ops = (double) calls * size;
+        return new double[] { elapsed / ops, allocated / ops };
+    }
+
+    /**
+     * 살아 있는 모든 스레드의 누적 할당 바이트 합을 반환합니다.
+     * @return 누적 할당 바이트
+     */
+    private static long allocatedBytes() {
+        long total = 0;
+        for (long bytes : THREADS.getThreadAllocatedBytes(THREADS.getAllThreadIds())) {
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Body 인터페이스는 측정할 작업 한 번(size건 처리)을 나타냅니다.
+     * 반환값은 처리 결과에서 구한 아무 값이면 되며, 계산이 제거되지 않도록 누적됩니다.
+     */
+    @FunctionalInterface
+    interface Body {
+        long run() throws Exception;
+    }
+
+    /**
+     * Result 클래스는 측정 항목 하나의 결과를 표현합니다.
+     * 기준값 파일에는 탭으로 구분한 한 줄(name, size, ns/op, error, B/op)로 저장됩니다.
+     */
+    static final class Result {
+        final String name;
+        final int size;
+        final double nanosPerOp;
+        final double error;
+        final double bytesPerOp;
+
+        Result(String name, int size, double nanosPerOp, double error, double bytesPerOp) {
+            this.name = name;
+            this.size = size;
+            this.nanosPerOp = nanosPerOp;
+            this.error = error;
+            this.bytesPerOp = bytesPerOp;
+        }
+
+        /**
+         * 측정 항목을 구분하는 키를 반환합니다.
+         * @return "name/size"
+         */
+        String key() {
+            return name + "/" + size;
+        }
+
+        String toTsv() {
+            return String.format(Locale.ROOT, "%s\t%d\t%.3f\t%.3f\t%.3f", name, size, nanosPerOp, error, bytesPerOp);
+        }
+
+        static Result parseTsv(String line) {
+            String[] fields = line.split("\t");
+            return new Result(fields[0], Integer.parseInt(fields[1]), Double.parseDouble(fields[2]),
+                    Double.parseDouble(fields[3]), Double.parseDouble(fields[4]));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-22s %,9d %12.2f +- %8.2f ns/op %10.2f B/op",
+                    name, size, nanosPerOp, error, bytesPerOp);
+        }
+    }
+
+    /**
+     * 기준값 파일(# 주석 줄 제외)의 결과를 읽습니다.
+     * @param lines 파일의 줄
+     * @return 결과 리스트
+     */
+    static List<Result> parseResults(List<String> lines) {
+        List<Result> results = new ArrayList<>();
+        for (String line : lines) {
+            if (!line.isBlank() && !line.startsWith("#")) {
+                results.add(Result.parseTsv(line));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,113 @@
+package studentmanager0206.code;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * ScoreStorageBenchmark 클래스는 과목별 열이 있는 넓은 테이블(STUDENT)과
+ * 정규화된 저장소(STUDENT_INFO + STUDENT_SCORE)의 일괄 저장과 전체 스트림 조회 처리량을 비교합니다.
+ * <p>
+ * 운영 테이블을 건드리지 않도록 임시 스키마(SMS_SCORE_BENCH)에 SMS의 테이블 구조만 복사해(CREATE TABLE ... LIKE) 측정하고,
+ * 끝나면 스키마를 통째로 삭제합니다. LIKE는 트리거를 복사하지 않으므로 STUDENT 변경 로그(STUDENT_CHANGE)에
+ * 벤치마크의 저장이 기록되어 다음 증분 백업에 섞이는 일이 없습니다. 외래 키는 LIKE로 복사되지 않아 따로 추가합니다.
+ * 실행 전 SMS 데이터베이스에 접속 가능해야 하고, student_schema.sql의 테이블과 스키마 생성 권한이 있어야 합니다.
+ */
+public class ScoreStorageBenchmark {
+    private static final int DEFAULT_ROWS = 100_000;
+    private static final int CHUNK_SIZE = 1_000;
+    private static final int ROUNDS = 3;
+    private static final String SCRATCH_SCHEMA = "SMS_SCORE_BENCH";
+    private static final String[] TABLES = { "STUDENT", "STUDENT_INFO", "STUDENT_SCORE" };
+
+    /**
+     * 벤치마크를 실행합니다.
+     * @param args [0] 학생 수 (생략 시 100,000)
+     * @throws Exception 드라이버 로드 또는 임시 스키마 생성/삭제 실패 시 예외 발생
+     */
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROWS;
+        Class.forName("com.mysql.cj.jdbc.Driver");
+        List<Student> students = CsvExportBenchmark.generate(rows);
+
+        createScratchSchema();
+        StudentConnectionPool pool = new StudentConnectionPool(
+                StudentConnectionPool.URL.replace("/SMS?", "/" + SCRATCH_SCHEMA + "?"), 2, 10, 5_000, 60_000);
+        try {
+            StudentDAO dao = new StudentDAO(pool);
+            dao.setCacheEnabled(false);
+            for (int round = 1; round <= ROUNDS; round++) {
+                System.out.println("round " + round);
+                long start = System.nanoTime();
+                StudentDAO.BatchResult wide = dao.upsertBatch(students, CHUNK_SIZE);
+                report("wide upsertBatch", wide.getSucceeded(), System.nanoTime() - start);
+
+                start = System.nanoTime();
+                StudentDAO.BatchResult normalized = dao.upsertAllNormalized(students, CHUNK_SIZE);
+                report("normalized upsert", normalized.getSucceeded(), System.nanoTime() - start);
+
+                start = System.nanoTime();
+                long read;
+                try (Stream<Student> stream = dao.streamAllStudents()) {
+                    read = stream.count();
+                }
+                report("wide stream", read, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                try (Stream<Student> stream = dao.streamAllNormalized()) {
+                    read = stream.count();
+                }
+                report("normalized stream", read, System.nanoTime() - start);
+            }
+            System.out.println(dao.getMetrics());
+        } finally {
+            pool.close();
+            dropScratchSchema();
+            StudentConnectionPool.getInstance().close();
+        }
+    }
+
+    /**
+     * 임시 스키마를 새로 만들고 SMS의 테이블 구조를 복사합니다. (데이터와 트리거는 복사하지 않음)
+     * @throws SQLException 스키마/테이블 생성 실패 시 예외 발생
+     */
+    private static void createScratchSchema() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(
+                StudentConnectionPool.URL, StudentConnectionPool.USERNAME, StudentConnectionPool.PASSWORD);
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP DATABASE IF EXISTS " + SCRATCH_SCHEMA);
+            stmt.execute("CREATE DATABASE " + SCRATCH_SCHEMA);
+            for (String table : TABLES) {
+                stmt.execute("CREATE TABLE " + SCRATCH_SCHEMA + "." + table + " LIKE " + table);
+            }
+            stmt.execute("ALTER TABLE " + SCRATCH_SCHEMA + ".STUDENT_SCORE ADD CONSTRAINT fk_student_score_info"
+                    + " FOREIGN KEY (sno) REFERENCES " + SCRATCH_SCHEMA + ".STUDENT_INFO (sno) ON DELETE CASCADE");
+        }
+    }
+
+    /**
+     * 임시 스키마를 삭제합니다.
+     * @throws SQLException 삭제 실패 시 예외 발생
+     */
+    private static void dropScratchSchema() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(
+                StudentConnectionPool.URL, StudentConnectionPool.USERNAME, StudentConnectionPool.PASSWORD);
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP DATABASE IF EXISTS " + SCRATCH_SCHEMA);
+        }
+    }
+
+    /**
+     * 처리량을 출력합니다.
+     * @param label 측정 항목 이름
+     * @param rows 처리한 학생 수
+     * @param nanos 소요 시간(ns)
+     */
+    private static void report(String label, long rows, long nanos) {
+        double seconds = nanos / 1e9;
+        System.out.printf("  %-20s %,10d students %8.3f s %,12.0f students/s%n", label, rows, seconds, rows / seconds);
+    }
+}
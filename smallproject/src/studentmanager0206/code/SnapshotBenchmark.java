@@ -0,0 +1,85 @@
+package studentmanager0206.code;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * SnapshotBenchmark 클래스는 백업 파일 크기와 저장/읽기 시간을
+ * CSV(StudentCsvExporter + StudentCsvReader)와 바이너리 스냅샷(StudentSnapshotWriter + StudentSnapshotReader)으로 비교합니다.
+ * 데이터베이스 없이 CsvExportBenchmark.generate로 만든 학생 데이터로 측정합니다.
+ */
+public class SnapshotBenchmark {
+    private static final int DEFAULT_ROWS = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    /**
+     * 벤치마크를 실행합니다.
+     * @param args [0] 학생 수 (생략 시 1,000,000)
+     * @throws IOException 임시 파일 기록/읽기 실패 시 예외 발생
+     */
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROWS;
+        List<Student> students = CsvExportBenchmark.generate(rows);
+        Path csvFile = Files.createTempFile("students_backup", ".csv");
+        Path snapFile = Files.createTempFile("students_backup", ".snap");
+        StudentCsvReader csvReader = new StudentCsvReader();
+
+        try {
+            for (int round = 1; round <= ROUNDS; round++) {
+                System.out.println("round " + round);
+                long start = System.nanoTime();
+                try (StudentCsvExporter exporter = new StudentCsvExporter(csvFile, false)) {
+                    exporter.exportAll(students.iterator());
+                }
+                report("CSV save", rows, Files.size(csvFile), System.nanoTime() - start);
+
+                start = System.nanoTime();
+                int loaded = csvReader.read(csvFile).size();
+                report("CSV load", loaded, Files.size(csvFile), System.nanoTime() - start);
+
+                start = System.nanoTime();
+                try (StudentSnapshotWriter writer = new StudentSnapshotWriter(snapFile)) {
+                    writer.addAll(students.iterator());
+                    writer.commit();
+                }
+                report("snapshot save", rows, Files.size(snapFile), System.nanoTime() - start);
+
+                start = System.nanoTime();
+                try (StudentSnapshotReader reader = new StudentSnapshotReader(snapFile)) {
+                    loaded = reader.readAll().size();
+                }
+                report("snapshot load", loaded, Files.size(snapFile), System.nanoTime() - start);
+
+                // 과목 하나의 평균만 구할 때는 해당 점수 열만 매핑합니다.
+                start = System.nanoTime();
+                long sum = 0;
+                try (StudentSnapshotReader reader = new StudentSnapshotReader(snapFile)) {
+                    for (int row = 0; row < reader.size(); row++) {
+                        sum += reader.getScore(row, SubjectDictionary.MATH);
+                    }
+                }
+                report("snapshot math column", rows, Files.size(snapFile), System.nanoTime() - start);
+                System.out.printf("  math average %.2f%n", sum / (double) rows);
+            }
+            System.out.printf("file size: CSV %,d bytes, snapshot %,d bytes (%.1f%%)%n",
+                    Files.size(csvFile), Files.size(snapFile), Files.size(snapFile) * 100.0 / Files.size(csvFile));
+        } finally {
+            Files.deleteIfExists(csvFile);
+            Files.deleteIfExists(snapFile);
+        }
+    }
+
+    /**
+     * 처리량을 출력합니다.
+     * @param label 측정 항목 이름
+     * @param rows 처리한 학생 수
+     * @param bytes 파일 크기
+     * @param nanos 소요 시간(ns)
+     */
+    private static void report(String label, int rows, long bytes, long nanos) {
+        double seconds = nanos / 1e9;
+        System.out.printf("  %-24s %,12.0f rows/s %,14d bytes (%.3fs)%n", label, rows / seconds, bytes, seconds);
+    }
+}
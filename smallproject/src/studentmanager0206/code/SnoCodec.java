@@ -0,0 +1,64 @@
+package studentmanager0206.code;
+
+/**
+ * SnoCodec 클래스는 10자리 숫자 학번(SNO_PATTERN)과 long 값 사이의 변환을 제공합니다.
+ * 학번을 문자열 대신 long으로 보관하는 저장소(StudentMemoryIO, 바이너리 스냅샷)에서 함께 사용합니다.
+ */
+final class SnoCodec {
+    /**
+     * 10자리 숫자가 아닌 학번을 나타내는 값
+     */
+    static final long INVALID = -1L;
+    static final int LENGTH = 10;
+
+    private SnoCodec() {
+    }
+
+    /**
+     * 10자리 숫자 학번을 long으로 변환합니다.
+     * @param sno 학번
+     * @return 숫자 학번, 10자리 숫자가 아니면 INVALID
+     */
+    static long parse(String sno) {
+        if (sno == null || sno.length() != LENGTH) {
+            return INVALID;
+        }
+        long key = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            int digit = sno.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            key = key * 10 + digit;
+        }
+        return key;
+    }
+
+    /**
+     * 10자리 숫자 학번을 long으로 변환합니다.
+     * @param sno 학번
+     * @return 숫자 학번
+     * @throws IllegalArgumentException 10자리 숫자가 아니면 예외 발생
+     */
+    static long parseOrThrow(String sno) {
+        long key = parse(sno);
+        if (key == INVALID) {
+            throw new IllegalArgumentException("sno must be 10 digits: " + sno);
+        }
+        return key;
+    }
+
+    /**
+     * 숫자 학번을 앞을 0으로 채운 10자리 문자열로 변환합니다.
+     * @param key 숫자 학번
+     * @return 10자리 학번
+     */
+    static String format(long key) {
+        char[] sno = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            sno[i] = (char) ('0' + key % 10);
+            key /= 10;
+        }
+        return new String(sno);
+    }
+}
@@ -0,0 +1,219 @@
+package studentmanager0206.code;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SnoLongMap 클래스는 학번 → long 값을 보관하는 해시 맵입니다.
+ * <p>
+ * 10자리 숫자 학번은 SnoCodec으로 long 키로 바꾸어 선형 탐사 방식의 개방 주소 테이블(long[] 두 개)에 저장하므로
+ * 학번 문자열, Entry 객체, 박싱된 값을 보관하지 않습니다. (항목당 약 16~32바이트)
+ * 숫자가 아닌 학번은 드물기 때문에 보조 HashMap에 저장합니다.
+ * 동기화하지 않으므로 여러 스레드에서 사용할 때는 호출자가 잠금을 관리해야 합니다.
+ */
+final class SnoLongMap {
+    /**
+     * 값이 없음을 나타내는 반환값 (이 값은 저장할 수 없음)
+     */
+    static final long NONE = Long.MIN_VALUE;
+    private static final long EMPTY = SnoCodec.INVALID;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private final Map<String, Long> others = new HashMap<>();
+
+    /**
+     * 비어 있는 맵을 생성합니다.
+     */
+    SnoLongMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 학번의 값을 저장합니다.
+     * @param sno 학번
+     * @param value 저장할 값 (NONE 제외)
+     * @return 이전 값, 없었으면 NONE
+     */
+    long put(String sno, long value) {
+        return put(SnoCodec.parse(sno), sno, value);
+    }
+
+    /**
+     * 학번의 값을 저장합니다. 숫자 키가 있으면 학번 문자열은 사용하지 않습니다.
+     * @param key SnoCodec 숫자 학번, 숫자가 아닌 학번이면 SnoCodec.INVALID
+     * @param sno 학번 (key가 INVALID일 때만 사용)
+     * @param value 저장할 값 (NONE 제외)
+     * @return 이전 값, 없었으면 NONE
+     */
+    long put(long key, String sno, long value) {
+        if (value == NONE) {
+            throw new IllegalArgumentException("value must not be NONE");
+        }
+        if (key == EMPTY) {
+            Long previous = others.put(sno, value);
+            return previous == null ? NONE : previous;
+        }
+        int slot = slotOf(key);
+        if (keys[slot] == key) {
+            long previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        if ((size + 1) * 4L > keys.length * 3L) {
+            resize(keys.length * 2);
+            slot = slotOf(key);
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        return NONE;
+    }
+
+    /**
+     * 학번의 값을 반환합니다.
+     * @param sno 학번
+     * @return 값, 없으면 NONE
+     */
+    long get(String sno) {
+        long key = SnoCodec.parse(sno);
+        if (key == EMPTY) {
+            Long value = others.get(sno);
+            return value == null ? NONE : value;
+        }
+        int slot = slotOf(key);
+        return keys[slot] == key ? values[slot] : NONE;
+    }
+
+    /**
+     * 학번의 값을 삭제합니다. 빈자리 뒤의 항목을 앞으로 당겨 삭제 표시 없이 탐사 순서를 유지합니다.
+     * @param sno 학번
+     * @return 삭제한 값, 없었으면 NONE
+     */
+    long remove(String sno) {
+        long key = SnoCodec.parse(sno);
+        if (key == EMPTY) {
+            Long previous = others.remove(sno);
+            return previous == null ? NONE : previous;
+        }
+        int gap = slotOf(key);
+        if (keys[gap] != key) {
+            return NONE;
+        }
+        long previous = values[gap];
+        int j = gap;
+        while (true) {
+            j = (j + 1) & mask;
+            long moved = keys[j];
+            if (moved == EMPTY) {
+                break;
+            }
+            int home = hash(moved) & mask;
+            // j의 항목이 원래 자리(home)에서 gap을 지나 j까지 밀려났다면 gap으로 당깁니다.
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = moved;
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = EMPTY;
+        size--;
+        return previous;
+    }
+
+    /**
+     * 저장된 항목 수를 반환합니다.
+     * @return 항목 수
+     */
+    int size() {
+        return size + others.size();
+    }
+
+    /**
+     * 숫자가 아닌 학번의 항목이 있는지 확인합니다.
+     * @return 보조 맵에 항목이 있으면 true
+     */
+    boolean hasNonNumericKeys() {
+        return !others.isEmpty();
+    }
+
+    /**
+     * 모든 항목을 지웁니다.
+     */
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        others.clear();
+    }
+
+    /**
+     * 모든 항목을 방문합니다. 숫자 학번은 문자열로 바꾸지 않고 key로만 전달합니다.
+     * @param visitor 항목을 처리할 콜백
+     */
+    void forEach(EntryVisitor visitor) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                visitor.visit(keys[slot], null, values[slot]);
+            }
+        }
+        for (Map.Entry<String, Long> entry : others.entrySet()) {
+            visitor.visit(EMPTY, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * 맵의 항목 하나를 전달받는 콜백
+     */
+    @FunctionalInterface
+    interface EntryVisitor {
+        /**
+         * 항목 하나를 처리합니다.
+         * @param key SnoCodec 숫자 학번, 숫자가 아닌 학번이면 SnoCodec.INVALID
+         * @param sno 숫자가 아닌 학번 (key가 INVALID일 때만, 아니면 null)
+         * @param value 값
+         */
+        void visit(long key, String sno, long value);
+    }
+
+    private int slotOf(long key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * 연속된 학번도 테이블 전체에 고르게 퍼지도록 키를 섞습니다. (피보나치 해싱, StudentMemoryIO와 같음)
+     * @param key 숫자 학번
+     * @return 해시 값
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
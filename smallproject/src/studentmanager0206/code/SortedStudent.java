@@ -17,4 +17,22 @@ public interface SortedStudent {
      * @param students 학생 리스트
      */
     void sortBySno(List<Student> students);
+
+    /**
+     * 총점 내림차순(동점이면 학번 오름차순)으로 정렬된 N번째 페이지를 조회합니다.
+     * 테이블 전체를 불러오지 않고 해당 페이지만 가져옵니다.
+     * @param page 페이지 번호 (1부터 시작)
+     * @param pageSize 페이지 크기
+     * @return 해당 페이지의 학생 리스트
+     */
+    List<Student> pageByTotal(int page, int pageSize);
+
+    /**
+     * 학번 오름차순으로 정렬된 N번째 페이지를 조회합니다.
+     * 테이블 전체를 불러오지 않고 해당 페이지만 가져옵니다.
+     * @param page 페이지 번호 (1부터 시작)
+     * @param pageSize 페이지 크기
+     * @return 해당 페이지의 학생 리스트
+     */
+    List<Student> pageBySno(int page, int pageSize);
 }
@@ -1,17 +1,32 @@
 package studentmanager0206.code;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Student 클래스는 학생 정보를 저장하며, 빌더 패턴을 사용하여 객체를 생성합니다.
- * 과목 관련 데이터는 Subject라는 내부 클래스로 캡슐화하여 관리됩니다.
+ * 과목은 SubjectDictionary의 과목 id와 id로 색인한 점수 배열로 보관하며,
+ * 총점, 평균, 학점은 생성 시 한 번만 계산해 둡니다.
  */
 public class Student {
 
+    private static final int[] NO_SUBJECTS = new int[0];
+
     private String sno;
     private String name;
-    private List<Subject> subjects;
+    /**
+     * 추가된 순서대로의 과목 id
+     */
+    private final int[] subjectIds;
+    /**
+     * 과목 id로 색인한 점수 (없는 과목은 0)
+     */
+    private final int[] scoresById;
+    private final int total;
+    private final double average;
+    private final String grade;
 
     /**
      * Student 생성자는 StudentBuilder를 통해 생성됩니다.
@@ -20,7 +35,23 @@ public class Student {
     private Student(StudentBuilder builder) {
         this.sno = builder.sno;
         this.name = builder.name;
-        this.subjects = builder.subjects;
+        this.subjectIds = builder.count == 0 ? NO_SUBJECTS : Arrays.copyOf(builder.subjectIds, builder.count);
+
+        int maxId = -1;
+        int sum = 0;
+        for (int i = 0; i < builder.count; i++) {
+            maxId = Math.max(maxId, builder.subjectIds[i]);
+            sum += builder.scores[i];
+        }
+        this.scoresById = maxId < 0 ? NO_SUBJECTS : new int[maxId + 1];
+        // 같은 과목이 중복 추가되면 먼저 추가된 점수를 사용하도록 역순으로 채웁니다.
+        for (int i = builder.count - 1; i >= 0; i--) {
+            scoresById[builder.subjectIds[i]] = builder.scores[i];
+        }
+
+        this.total = sum;
+        this.average = builder.count == 0 ? 0 : sum / (double) builder.count;
+        this.grade = gradeOf(average);
     }
 
     /**
@@ -32,39 +63,83 @@ public class Student {
     }
 
     /**
-     * 학생의 과목 리스트를 반환합니다.
+     * 학생의 과목 리스트를 반환합니다. 호출할 때마다 새로 구성한 읽기 전용 리스트이며,
+     * 각 Subject는 과목명 대신 공유 SubjectDictionary.Descriptor를 참조합니다.
      * @return 과목 리스트
      */
     public List<Subject> getSubjects() {
-        return subjects;
+        List<Subject> subjects = new ArrayList<>(subjectIds.length);
+        for (int id : subjectIds) {
+            subjects.add(new Subject(SubjectDictionary.descriptor(id), scoresById[id]));
+        }
+        return Collections.unmodifiableList(subjects);
+    }
+
+    /**
+     * 과목 수를 반환합니다.
+     * @return 과목 수
+     */
+    public int getSubjectCount() {
+        return subjectIds.length;
+    }
+
+    /**
+     * index번째로 추가된 과목의 id를 반환합니다.
+     * @param index 0부터 getSubjectCount() - 1까지의 위치
+     * @return SubjectDictionary의 과목 id
+     */
+    public int getSubjectId(int index) {
+        return subjectIds[index];
+    }
+
+    /**
+     * 과목 id로 점수를 반환합니다.
+     * @param subjectId SubjectDictionary의 과목 id
+     * @return 해당 과목의 점수, 없으면 0 반환
+     */
+    public int getScore(int subjectId) {
+        return subjectId >= 0 && subjectId < scoresById.length ? scoresById[subjectId] : 0;
+    }
+
+    /**
+     * 과목명으로 점수를 반환합니다. (대소문자 구분 없음)
+     * @param subjectName 과목명
+     * @return 해당 과목의 점수, 없으면 0 반환
+     */
+    public int getScore(String subjectName) {
+        return getScore(SubjectDictionary.find(subjectName));
     }
 
     /**
-     * 학생의 총 점수를 계산합니다.
+     * 학생의 총 점수를 반환합니다.
      * @return 총 점수
      */
     public int getTotal() {
-        int total = 0;
-        for (Subject subject : subjects) {
-            total += subject.getScore();
-        }
         return total;
     }
 
     /**
-     * 학생의 평균 점수를 계산합니다.
+     * 학생의 평균 점수를 반환합니다.
      * @return 평균 점수
      */
     public double getAverage() {
-        return subjects.isEmpty() ? 0 : getTotal() / (double) subjects.size();
+        return average;
     }
 
     /**
-     * 학생의 평균 점수에 따른 학점을 계산합니다.
+     * 학생의 평균 점수에 따른 학점을 반환합니다.
      * @return 학점 (A, B, C, D, F)
      */
     public String computeGrade() {
-        double avg = getAverage();
+        return grade;
+    }
+
+    /**
+     * 평균 점수에 따른 학점을 계산합니다.
+     * @param avg 평균 점수
+     * @return 학점 (A, B, C, D, F)
+     */
+    static String gradeOf(double avg) {
         if (avg >= 90) return "A";
         else if (avg >= 80) return "B";
         else if (avg >= 70) return "C";
@@ -81,7 +156,7 @@ public class Student {
         StringBuilder sb = new StringBuilder();
         sb.append("sno='").append(sno).append("', ");
         sb.append("name='").append(name).append("', ");
-        sb.append("subjects=").append(subjects).append(", ");
+        sb.append("subjects=").append(getSubjects()).append(", ");
         sb.append("total=").append(getTotal()).append(", ");
         sb.append("average=").append(getAverage()).append(", ");
         sb.append("grade=").append(computeGrade());
@@ -89,28 +164,46 @@ public class Student {
     }
 
     /**
-     * Subject 클래스는 학생의 과목 정보(과목명과 점수)를 표현합니다.
+     * Subject 클래스는 학생의 과목 정보(과목과 점수)를 표현합니다.
+     * 과목명은 보관하지 않고 과목마다 하나뿐인 SubjectDictionary.Descriptor를 참조합니다.
      */
     public static class Subject {
-        private String name;
-        private int score;
+        private final SubjectDictionary.Descriptor subject;
+        private final int score;
 
         /**
          * Subject 생성자
-         * @param name 과목명
+         * @param name 과목명 (처음 보는 과목이면 SubjectDictionary에 등록)
          * @param score 점수
          */
         public Subject(String name, int score) {
-            this.name = name;
+            this(SubjectDictionary.descriptorOf(name), score);
+        }
+
+        /**
+         * Subject 생성자
+         * @param subject 공유 과목 Descriptor
+         * @param score 점수
+         */
+        public Subject(SubjectDictionary.Descriptor subject, int score) {
+            this.subject = subject;
             this.score = score;
         }
 
+        /**
+         * 과목 id를 반환합니다.
+         * @return SubjectDictionary의 과목 id
+         */
+        public int getId() {
+            return subject.getId();
+        }
+
         /**
          * 과목명을 반환합니다.
          * @return 과목명
          */
         public String getName() {
-            return name;
+            return subject.getName();
         }
 
         /**
@@ -127,7 +220,7 @@ public class Student {
          */
         @Override
         public String toString() {
-            return name + ":" + score;
+            return subject.getName() + ":" + score;
         }
     }
 
@@ -137,7 +230,9 @@ public class Student {
     public static class StudentBuilder {
         private String sno;
         private String name;
-        private List<Subject> subjects = new ArrayList<>();
+        private int[] subjectIds = new int[4];
+        private int[] scores = new int[4];
+        private int count;
 
         /**
          * 학생의 학번을 설정합니다.
@@ -166,7 +261,23 @@ public class Student {
          * @return StudentBuilder 객체
          */
         public StudentBuilder addSubject(String subjectName, int score) {
-            this.subjects.add(new Subject(subjectName, score));
+            return addSubject(SubjectDictionary.idOf(subjectName), score);
+        }
+
+        /**
+         * 과목 id로 과목과 점수를 추가합니다.
+         * @param subjectId SubjectDictionary의 과목 id
+         * @param score 점수
+         * @return StudentBuilder 객체
+         */
+        public StudentBuilder addSubject(int subjectId, int score) {
+            if (count == subjectIds.length) {
+                subjectIds = Arrays.copyOf(subjectIds, count * 2);
+                scores = Arrays.copyOf(scores, count * 2);
+            }
+            subjectIds[count] = subjectId;
+            scores[count] = score;
+            count++;
             return this;
         }
 
@@ -0,0 +1,423 @@
+package studentmanager0206.code;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * StudentBackupChain 클래스는 전체 백업과 그 뒤의 증분(delta) 백업을 매니페스트 파일로 묶어 관리합니다.
+ * <p>
+ * 전체 백업을 만들 때 변경 로그(STUDENT_CHANGE)의 마지막 순번을 함께 기록해 새 체인을 시작하고,
+ * 증분 백업은 매니페스트의 마지막 순번 이후에 바뀐 학생만 students_delta_&lt;timestamp&gt;.csv로,
+ * 삭제된 학번은 students_delta_&lt;timestamp&gt;.deleted로 기록한 뒤 매니페스트에 한 줄을 추가합니다.
+ * 복원은 매니페스트의 전체 백업과 증분 백업을 순서대로 재생합니다.
+ * <p>
+ * 매니페스트(students_backup_&lt;timestamp&gt;.manifest)는 탭으로 구분한 텍스트 파일입니다.
+ * <pre>
+ * full   파일명   순번   학생 수
+ * delta  파일명   삭제 파일명(없으면 -)   시작 순번(제외)   끝 순번(포함)   저장 수   삭제 수
+ * </pre>
+ * 매니페스트는 백업 파일을 모두 기록한 뒤 임시 파일을 원자적으로 바꿔 갱신하므로,
+ * 중간에 실패해도 매니페스트가 없는 파일을 가리키지 않습니다.
+ * <p>
+ * 변경 순번은 트리거가 STUDENT_CHANGE_SEQ 카운터 행을 잠근 채 받으므로 커밋 순서대로 늘어납니다.
+ * 따라서 StudentDAO.getLastChangeSeq가 돌려준 순번 이하의 변경은 모두 커밋되어 있고,
+ * 그 뒤에 커밋되는 변경은 반드시 더 큰 순번을 가지므로 다음 증분에 포함됩니다. (다른 프로그램의 긴 트랜잭션 포함)
+ */
+public class StudentBackupChain {
+    static final String MANIFEST_GLOB = "students_backup_*.manifest";
+    private static final String MANIFEST_SUFFIX = ".manifest";
+    private static final String FULL = "full";
+    private static final String DELTA = "delta";
+    private static final String NONE = "-";
+
+    private final StudentDAO studentDAO;
+    private final Path directory;
+
+    /**
+     * StudentBackupChain 생성자.
+     * @param studentDAO 변경 로그 조회와 복원에 사용할 DAO
+     * @param directory 백업 파일과 매니페스트가 있는 디렉터리
+     */
+    public StudentBackupChain(StudentDAO studentDAO, Path directory) {
+        this.studentDAO = studentDAO;
+        this.directory = directory;
+    }
+
+    /**
+     * 전체 백업 파일로 새 체인을 시작합니다. 기록한 순번까지의 변경 로그는 더 이상 필요 없으므로 삭제합니다.
+     * @param fullBackup 전체 백업 파일 (students_backup_&lt;timestamp&gt;.csv 등)
+     * @param seq 전체 백업을 읽기 직전에 조회한 변경 로그 순번
+     * @param rows 전체 백업의 학생 수
+     * @return 새 매니페스트 경로
+     * @throws IOException 매니페스트 기록 실패 시 예외 발생
+     */
+    public Path startChain(Path fullBackup, long seq, long rows) throws IOException {
+        String fileName = fullBackup.getFileName().toString();
+        Path manifest = directory.resolve(fileName.substring(0, fileName.indexOf('.')) + MANIFEST_SUFFIX);
+        List<Entry> entries = new ArrayList<>();
+        entries.add(Entry.full(fileName, seq, rows));
+        writeManifest(manifest, entries);
+        studentDAO.purgeChanges(seq);
+        return manifest;
+    }
+
+    /**
+     * 가장 최근 매니페스트를 찾습니다. (파일명의 timestamp 순)
+     * @return 매니페스트 경로, 없으면 null
+     * @throws IOException 디렉터리 읽기 실패 시 예외 발생
+     */
+    public Path findLatestManifest() throws IOException {
+        Path latest = null;
+        try (DirectoryStream<Path> dir = Files.newDirectoryStream(directory, MANIFEST_GLOB)) {
+            for (Path path : dir) {
+                if (latest == null || path.getFileName().toString().compareTo(latest.getFileName().toString()) > 0) {
+                    latest = path;
+                }
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * 가장 최근 체인의 마지막 순번 이후 변경을 증분 백업으로 기록하고 매니페스트에 추가합니다.
+     * @param timestamp 증분 백업 파일명에 붙일 시각 (yyyyMMdd_HHmmss)
+     * @return 증분 백업 결과, 바뀐 학생이 없으면 파일을 만들지 않은 결과
+     * @throws IOException 백업 파일/매니페스트 기록 실패 또는 변경 로그 조회 실패 시 예외 발생
+     * @throws IllegalStateException 시작할 전체 백업 매니페스트가 없으면 예외 발생
+     */
+    public DeltaResult writeDelta(String timestamp) throws IOException {
+        Path manifest = findLatestManifest();
+        if (manifest == null) {
+            throw new IllegalStateException("no full backup manifest in " + directory.toAbsolutePath());
+        }
+        List<Entry> entries = readManifest(manifest);
+        long fromSeq = entries.get(entries.size() - 1).toSeq;
+        long toSeq = studentDAO.getLastChangeSeq();
+        if (toSeq < 0) {
+            throw new IOException("change log query failed");
+        }
+        if (toSeq <= fromSeq) {
+            return new DeltaResult(manifest, null, 0, 0);
+        }
+
+        String deltaName = "students_delta_" + timestamp + ".csv";
+        String deletedName = "students_delta_" + timestamp + ".deleted";
+        Path deltaFile = directory.resolve(deltaName);
+        List<String> deleted = new ArrayList<>();
+        long upserts;
+        try (Stream<StudentDAO.Change> changes = studentDAO.streamChanges(fromSeq, toSeq);
+             StudentCsvExporter exporter = new StudentCsvExporter(deltaFile, false)) {
+            exporter.writeHeader();
+            Iterator<StudentDAO.Change> it = changes.iterator();
+            while (it.hasNext()) {
+                StudentDAO.Change change = it.next();
+                if (change.isDeleted()) {
+                    deleted.add(change.getSno());
+                } else {
+                    exporter.write(change.getStudent());
+                }
+            }
+            upserts = exporter.getRowCount();
+        } catch (StudentDAO.StreamException e) {
+            // 일부만 기록된 증분 파일을 남기지 않고 매니페스트도 바꾸지 않으므로 다음 증분이 같은 구간부터 다시 시작합니다.
+            Files.deleteIfExists(deltaFile);
+            throw new IOException("change log read failed", e.getCause());
+        } catch (IOException e) {
+            Files.deleteIfExists(deltaFile);
+            throw e;
+        }
+        if (!deleted.isEmpty()) {
+            Files.write(directory.resolve(deletedName), deleted, StandardCharsets.UTF_8);
+        }
+
+        entries.add(Entry.delta(deltaName, deleted.isEmpty() ? NONE : deletedName, fromSeq, toSeq, upserts, deleted.size()));
+        writeManifest(manifest, entries);
+        return new DeltaResult(manifest, deltaFile, upserts, deleted.size());
+    }
+
+    /**
+     * 매니페스트의 전체 백업과 증분 백업을 순서대로 재생합니다.
+     * 각 파일의 학생은 upsert로 반영하고, 증분 백업의 삭제 학번은 삭제합니다.
+     * 한 단계라도 실패하면 뒤의 증분을 적용하지 않고 멈춥니다. (순서가 어긋난 재생 방지)
+     * @param manifest 매니페스트 경로
+     * @param batchSize upsert/삭제 배치 크기
+     * @return 재생 결과
+     * @throws IOException 매니페스트 읽기 실패, 체인 불연속 또는 백업 파일이 없으면 예외 발생
+     */
+    public ReplayReport replay(Path manifest, int batchSize) throws IOException {
+        List<Entry> entries = readManifest(manifest);
+        Path base = manifest.toAbsolutePath().getParent();
+        for (Entry entry : entries) {
+            if (!Files.exists(base.resolve(entry.file))
+                    || (!NONE.equals(entry.deletedFile) && !Files.exists(base.resolve(entry.deletedFile)))) {
+                throw new IOException("missing backup file for entry: " + entry);
+            }
+        }
+
+        ReplayReport report = new ReplayReport();
+        StudentRestorePipeline pipeline = new StudentRestorePipeline(studentDAO, batchSize);
+        for (Entry entry : entries) {
+            Path file = base.resolve(entry.file);
+            if (entry.file.endsWith(".snap")) {
+                List<Student> students;
+                try (StudentSnapshotReader reader = new StudentSnapshotReader(file)) {
+                    students = reader.readAll();
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                StudentDAO.BatchResult result = studentDAO.upsertBatch(students, batchSize);
+                report.upserted += result.getSucceeded();
+                result.getFailures().forEach(failure -> report.errors.add(entry.file + ": " + failure));
+            } else {
+                StudentRestorePipeline.RestoreReport restored = pipeline.restore(List.of(file), null, 0);
+                report.upserted += restored.getWritten();
+                report.rejected += restored.getRejectedTotal();
+                if (restored.getWriteFailed() > 0) {
+                    report.errors.add(entry.file + ": " + restored.getWriteFailed() + " rows failed");
+                }
+                restored.getErrors().forEach(error -> report.errors.add(entry.file + ": " + error));
+            }
+            if (!NONE.equals(entry.deletedFile)) {
+                List<String> snos = Files.readAllLines(base.resolve(entry.deletedFile), StandardCharsets.UTF_8);
+                StudentDAO.BatchResult result = studentDAO.deleteAll(snos, batchSize);
+                report.deleted += result.getSucceeded();
+                result.getFailures().forEach(failure -> report.errors.add(entry.deletedFile + ": " + failure));
+            }
+            if (!report.errors.isEmpty()) {
+                break;
+            }
+            report.applied.add(entry.file);
+        }
+        return report;
+    }
+
+    /**
+     * 매니페스트를 읽고 체인이 끊기지 않았는지 확인합니다.
+     * @param manifest 매니페스트 경로
+     * @return 항목 리스트 (첫 항목은 전체 백업)
+     * @throws IOException 읽기 실패 또는 형식/연속성 오류 시 예외 발생
+     */
+    static List<Entry> readManifest(Path manifest) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            Entry entry = Entry.parse(line);
+            if (entries.isEmpty() != FULL.equals(entry.type)) {
+                throw new IOException("manifest must start with exactly one full backup: " + manifest);
+            }
+            if (!entries.isEmpty() && entry.fromSeq != entries.get(entries.size() - 1).toSeq) {
+                throw new IOException("broken delta chain at " + entry.file + ": " + manifest);
+            }
+            entries.add(entry);
+        }
+        if (entries.isEmpty()) {
+            throw new IOException("empty manifest: " + manifest);
+        }
+        return entries;
+    }
+
+    /**
+     * 매니페스트를 임시 파일에 기록한 뒤 원자적으로 교체합니다.
+     * @param manifest 매니페스트 경로
+     * @param entries 기록할 항목
+     * @throws IOException 기록 실패 시 예외 발생
+     */
+    private static void writeManifest(Path manifest, List<Entry> entries) throws IOException {
+        Path temp = manifest.resolveSibling(manifest.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write("# studentmanager0206 backup manifest");
+            writer.newLine();
+            for (Entry entry : entries) {
+                writer.write(entry.format());
+                writer.newLine();
+            }
+        }
+        Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Entry 클래스는 매니페스트 한 줄(전체 백업 또는 증분 백업)을 표현합니다.
+     * 전체 백업은 fromSeq와 toSeq가 모두 백업 시점의 순번입니다.
+     */
+    static final class Entry {
+        final String type;
+        final String file;
+        final String deletedFile;
+        final long fromSeq;
+        final long toSeq;
+        final long upserts;
+        final long deletes;
+
+        private Entry(String type, String file, String deletedFile, long fromSeq, long toSeq, long upserts, long deletes) {
+            this.type = type;
+            this.file = file;
+            this.deletedFile = deletedFile;
+            this.fromSeq = fromSeq;
+            this.toSeq = toSeq;
+            this.upserts = upserts;
+            this.deletes = deletes;
+        }
+
+        static Entry full(String file, long seq, long rows) {
+            return new Entry(FULL, file, NONE, seq, seq, rows, 0);
+        }
+
+        static Entry delta(String file, String deletedFile, long fromSeq, long toSeq, long upserts, long deletes) {
+            return new Entry(DELTA, file, deletedFile, fromSeq, toSeq, upserts, deletes);
+        }
+
+        /**
+         * 매니페스트 한 줄을 해석합니다.
+         * @param line 탭으로 구분한 줄
+         * @return 항목
+         * @throws IOException 형식이 맞지 않으면 예외 발생
+         */
+        static Entry parse(String line) throws IOException {
+            String[] fields = line.split("\t");
+            try {
+                if (FULL.equals(fields[0]) && fields.length == 4) {
+                    return full(fields[1], Long.parseLong(fields[2]), Long.parseLong(fields[3]));
+                }
+                if (DELTA.equals(fields[0]) && fields.length == 7) {
+                    return delta(fields[1], fields[2], Long.parseLong(fields[3]), Long.parseLong(fields[4]),
+                            Long.parseLong(fields[5]), Long.parseLong(fields[6]));
+                }
+            } catch (NumberFormatException e) {
+                throw new IOException("invalid manifest line: " + line, e);
+            }
+            throw new IOException("invalid manifest line: " + line);
+        }
+
+        String format() {
+            if (FULL.equals(type)) {
+                return String.join("\t", type, file, Long.toString(toSeq), Long.toString(upserts));
+            }
+            return String.join("\t", type, file, deletedFile, Long.toString(fromSeq), Long.toString(toSeq),
+                    Long.toString(upserts), Long.toString(deletes));
+        }
+
+        @Override
+        public String toString() {
+            return format().replace('\t', ' ');
+        }
+    }
+
+    /**
+     * DeltaResult 클래스는 증분 백업 한 번의 결과를 표현합니다.
+     */
+    public static class DeltaResult {
+        private final Path manifest;
+        private final Path deltaFile;
+        private final long upserts;
+        private final int deletes;
+
+        DeltaResult(Path manifest, Path deltaFile, long upserts, int deletes) {
+            this.manifest = manifest;
+            this.deltaFile = deltaFile;
+            this.upserts = upserts;
+            this.deletes = deletes;
+        }
+
+        /**
+         * 증분을 추가한 매니페스트 경로를 반환합니다.
+         * @return 매니페스트 경로
+         */
+        public Path getManifest() {
+            return manifest;
+        }
+
+        /**
+         * 기록한 증분 백업 파일을 반환합니다.
+         * @return 증분 백업 파일, 바뀐 학생이 없어 만들지 않았으면 null
+         */
+        public Path getDeltaFile() {
+            return deltaFile;
+        }
+
+        /**
+         * 저장(추가/수정)된 학생 수를 반환합니다.
+         * @return 저장된 학생 수
+         */
+        public long getUpserts() {
+            return upserts;
+        }
+
+        /**
+         * 삭제된 학생 수를 반환합니다.
+         * @return 삭제된 학생 수
+         */
+        public int getDeletes() {
+            return deletes;
+        }
+
+        @Override
+        public String toString() {
+            if (deltaFile == null) {
+                return "변경 없음 (" + manifest.getFileName() + ")";
+            }
+            return deltaFile.getFileName() + ": 저장 " + upserts + "명, 삭제 " + deletes + "명 → " + manifest.getFileName();
+        }
+    }
+
+    /**
+     * ReplayReport 클래스는 체인 재생 결과를 표현합니다.
+     */
+    public static class ReplayReport {
+        private final List<String> applied = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private long upserted;
+        private long deleted;
+        private long rejected;
+
+        /**
+         * 끝까지 적용한 백업 파일 목록을 반환합니다.
+         * @return 적용한 파일명 (재생 순서)
+         */
+        public List<String> getApplied() {
+            return Collections.unmodifiableList(applied);
+        }
+
+        /**
+         * 오류 목록을 반환합니다. 비어 있지 않으면 재생이 중간에 멈춘 것입니다.
+         * @return 오류 메시지 리스트
+         */
+        public List<String> getErrors() {
+            return Collections.unmodifiableList(errors);
+        }
+
+        /**
+         * 반영한 학생 수를 반환합니다.
+         * @return upsert한 학생 수
+         */
+        public long getUpserted() {
+            return upserted;
+        }
+
+        /**
+         * 삭제한 학생 수를 반환합니다.
+         * @return 삭제한 학생 수
+         */
+        public long getDeleted() {
+            return deleted;
+        }
+
+        @Override
+        public String toString() {
+            return "적용 " + applied.size() + "개 파일, 저장 " + upserted + "명, 삭제 " + deleted + "명, 거부 " + rejected
+                    + "줄, 오류 " + errors.size() + "건";
+        }
+    }
+}
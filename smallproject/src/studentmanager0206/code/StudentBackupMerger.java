@@ -0,0 +1,474 @@
+package studentmanager0206.code;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * StudentBackupMerger 클래스는 여러 백업 파일을 학번 기준 k-way 병합하여 학번마다 가장 최신 레코드만 남긴 스냅샷 하나를 만듭니다.
+ * <p>
+ * 파일은 이름의 시각(yyyyMMdd_HHmmss)으로, 시각이 없는 파일(students_backup.csv 등)은 수정 시각으로 정렬합니다.
+ * 각 파일은 한 번만 순차로 읽으며 StudentExternalSorter로 학번 순 정렬합니다. CSV(.csv, .csv.gz)는 줄 단위로,
+ * 바이너리 스냅샷(.snap)은 StudentSnapshotReader로 행 단위로 읽습니다.
+ * <p>
+ * 메모리 한도의 절반은 메모리 안 런(학생 객체)에, 나머지 절반은 런 파일 버퍼(파일마다 병합 중인 런 수 + 기록 중인 런 1개,
+ * 각 StudentExternalSorter.BUFFER_SIZE)에 쓰며, 둘 다 파일 수로 나눕니다. 파일마다의 병합 수(fanIn)를 버퍼 몫에 맞게 줄이므로
+ * 모든 파일의 정렬 결과를 동시에 열어 두는 마지막 병합에서도 전체 사용량이 한도 안에 머뭅니다.
+ * 파일이 너무 많아 파일마다 런 2개도 열 수 없으면 한도를 넘기지 않고 IOException으로 실패합니다.
+ * (한 번에 하나만 여는 입력 파일의 읽기 버퍼는 한도에 포함하지 않음)
+ * 그런 다음 파일별 정렬 결과를 힙으로 병합하면서 같은 학번의 레코드 중 마지막(가장 최신 파일의 마지막 줄)만 기록합니다.
+ * <p>
+ * StudentLogStore의 삭제 표시(!학번) 줄도 레코드로 취급하므로, 가장 최신 레코드가 삭제 표시인 학번은 결과에서 빠집니다.
+ * (로그 압축 후에는 삭제 표시가 남지 않으므로 그 이전 백업에 있던 학생은 다시 나타날 수 있습니다.)
+ * 결과는 학번 오름차순이며 대상 파일 이름이 .snap으로 끝나면 바이너리 스냅샷, 아니면 백업 CSV로 기록합니다.
+ * 두 형식 모두 병합 결과를 한 행씩 흘려 기록하므로 결과 크기만큼 메모리를 쓰지 않습니다.
+ * (StudentSnapshotWriter는 행을 임시 행 파일로 내보냄) 스냅샷에 담을 수 없는 학생(학번이 10자리 숫자가 아니거나
+ * 점수가 0~127을 벗어남)은 병합을 중단하지 않고 형식이 잘못된 레코드로 세어 건너뜁니다.
+ * 어느 형식이든 임시 파일에 기록한 뒤 성공했을 때만 대상 이름으로 바꾸므로 병합이 실패하면 대상 파일은 바뀌지 않습니다.
+ */
+public class StudentBackupMerger {
+    public static final String BACKUP_GLOB = "students_backup*.{csv,csv.gz,snap}";
+    public static final long DEFAULT_MEMORY_BYTES = 64L << 20;
+
+    private static final Pattern TIMESTAMP = Pattern.compile("_(\\d{8}_\\d{6})");
+    private static final String TIMESTAMP_FORMAT = "yyyyMMdd_HHmmss";
+    private static final String HEADER_PREFIX = "sno,";
+    private static final char TOMBSTONE = '!';
+    private static final String SNAPSHOT_EXTENSION = ".snap";
+
+    private final long memoryBytes;
+    private final int fanIn;
+    private final Path tempDirectory;
+
+    /**
+     * 기본 메모리 한도(64MB)로 시스템 임시 디렉터리를 사용하는 StudentBackupMerger를 생성합니다.
+     */
+    public StudentBackupMerger() {
+        this(DEFAULT_MEMORY_BYTES, StudentExternalSorter.DEFAULT_FAN_IN, null);
+    }
+
+    /**
+     * StudentBackupMerger 생성자.
+     * @param memoryBytes 정렬에 쓸 전체 메모리 한도 (파일 수로 나누어 사용)
+     * @param fanIn 파일 하나를 외부 정렬할 때 한 번에 병합할 최대 런 수
+     * @param tempDirectory 런 파일을 만들 디렉터리 (null이면 시스템 임시 디렉터리)
+     */
+    public StudentBackupMerger(long memoryBytes, int fanIn, Path tempDirectory) {
+        this.memoryBytes = memoryBytes;
+        this.fanIn = fanIn;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * 디렉터리의 백업 파일(students_backup*.csv, .csv.gz, .snap)을 오래된 순서로 반환합니다.
+     * @param directory 백업 파일이 있는 디렉터리
+     * @return 백업 파일 목록
+     * @throws IOException 디렉터리 읽기 실패 시 예외 발생
+     */
+    public static List<Path> findBackups(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> dir = Files.newDirectoryStream(directory, BACKUP_GLOB)) {
+            dir.forEach(files::add);
+        }
+        Map<Path, String> timestamps = new HashMap<>();
+        for (Path file : files) {
+            timestamps.put(file, timestampOf(file));
+        }
+        files.sort(Comparator.comparing((Path file) -> timestamps.get(file))
+                .thenComparing(file -> file.getFileName().toString()));
+        return files;
+    }
+
+    /**
+     * 파일의 백업 시각을 구합니다. 이름에 시각이 없으면 수정 시각을 사용합니다.
+     * @param file 백업 파일
+     * @return yyyyMMdd_HHmmss 형식의 시각
+     * @throws IOException 수정 시각 조회 실패 시 예외 발생
+     */
+    static String timestampOf(Path file) throws IOException {
+        Matcher matcher = TIMESTAMP.matcher(file.getFileName().toString());
+        if (matcher.find()) {
+            return matcher.group(1);
+        }
+        return new SimpleDateFormat(TIMESTAMP_FORMAT).format(new Date(Files.getLastModifiedTime(file).toMillis()));
+    }
+
+    /**
+     * 백업 파일들을 병합하여 학번마다 최신 레코드만 남긴 스냅샷을 기록합니다.
+     * @param files 병합할 백업 파일 (오래된 순서, findBackups 참고)
+     * @param target 기록할 파일 (.snap이면 바이너리 스냅샷, 아니면 CSV)
+     * @return 병합 결과
+     * @throws IOException 파일 읽기/기록 실패 시 예외 발생
+     */
+    public MergeReport merge(List<Path> files, Path target) throws IOException {
+        MergeReport report = new MergeReport();
+        if (files.isEmpty()) {
+            return report;
+        }
+        long perFileBytes = memoryBytes / 2 / files.size();
+        // 파일마다 병합 중인 런 fanIn개와 병합 단계에서 기록 중인 런 1개의 버퍼
+        long fileFanIn = Math.min(fanIn, perFileBytes / StudentExternalSorter.BUFFER_SIZE - 1);
+        if (fileFanIn < 2) {
+            throw new IOException("too many backup files (" + files.size() + ") for memory limit " + memoryBytes
+                    + " bytes: at most " + memoryBytes / 2 / (3L * StudentExternalSorter.BUFFER_SIZE)
+                    + " files can be merged at once");
+        }
+        int runSize = StudentExternalSorter.runSizeFor(perFileBytes);
+        StudentExternalSorter sorter = new StudentExternalSorter(runSize, (int) fileFanIn, tempDirectory);
+        List<StudentExternalSorter.SortedStudents> sources = new ArrayList<>(files.size());
+        try {
+            for (Path file : files) {
+                sources.add(sortFile(sorter, file, report));
+                report.files++;
+            }
+            LatestIterator latest = new LatestIterator(sources, report);
+            if (target.getFileName().toString().endsWith(SNAPSHOT_EXTENSION)) {
+                writeSnapshot(latest, target, report);
+            } else {
+                writeCsv(latest, target, report);
+            }
+            return report;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            sources.forEach(StudentExternalSorter.SortedStudents::close);
+        }
+    }
+
+    /**
+     * 백업 파일 하나를 읽어 학번 순으로 정렬합니다. 이름이 .snap으로 끝나면 바이너리 스냅샷으로 읽습니다.
+     * @param sorter 사용할 외부 정렬기
+     * @param file 백업 파일
+     * @param report 읽은 레코드 수 등을 누적할 결과
+     * @return 학번 순 정렬 결과 (사용 후 close)
+     * @throws IOException 파일 읽기 또는 런 파일 기록 실패 시 예외 발생
+     */
+    private static StudentExternalSorter.SortedStudents sortFile(StudentExternalSorter sorter, Path file,
+                                                                 MergeReport report) throws IOException {
+        StudentExternalSorter.SortedStudents sorted;
+        if (file.getFileName().toString().endsWith(SNAPSHOT_EXTENSION)) {
+            try (StudentSnapshotReader reader = new StudentSnapshotReader(file)) {
+                sorted = sorter.sortBySno(reader.iterator());
+                report.recordsRead += reader.size();
+            }
+        } else {
+            try (BufferedReader reader = open(file)) {
+                sorted = sorter.sortBySno(new LineIterator(reader, report));
+            }
+        }
+        report.spilledRuns += sorted.getRunCount();
+        return sorted;
+    }
+
+    /**
+     * 병합 결과를 바이너리 스냅샷으로 기록합니다. 스냅샷에 담을 수 없는 학생은 형식이 잘못된 레코드로 세고 건너뜁니다.
+     * 도중에 실패하면 StudentSnapshotWriter가 임시 파일을 삭제하므로 대상 파일은 바뀌지 않습니다.
+     * @param students 기록할 학생 (학번 순)
+     * @param target 기록할 파일
+     * @param report 기록/건너뛴 학생 수를 누적할 결과
+     * @throws IOException 기록 또는 이름 변경 실패 시 예외 발생
+     */
+    private static void writeSnapshot(Iterator<Student> students, Path target, MergeReport report)
+            throws IOException {
+        try (StudentSnapshotWriter writer = new StudentSnapshotWriter(target)) {
+            while (students.hasNext()) {
+                Student student = students.next();
+                if (StudentSnapshotWriter.accepts(student)) {
+                    writer.add(student);
+                    report.written++;
+                } else {
+                    report.malformed++;
+                }
+            }
+            writer.commit();
+        }
+    }
+
+    /**
+     * 병합 결과를 같은 디렉터리의 임시 파일에 CSV로 기록한 뒤 대상 파일 이름으로 원자적으로 바꿉니다.
+     * 도중에 실패하면 임시 파일을 삭제하므로 일부만 기록된 대상 파일이 남지 않습니다.
+     * @param students 기록할 학생 (학번 순)
+     * @param target 기록할 파일 (.gz로 끝나면 gzip 압축)
+     * @param report 기록한 학생 수를 누적할 결과
+     * @throws IOException 기록 또는 이름 변경 실패 시 예외 발생
+     */
+    private static void writeCsv(Iterator<Student> students, Path target, MergeReport report) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        boolean moved = false;
+        try {
+            try (StudentCsvExporter exporter = new StudentCsvExporter(temp, target.toString().endsWith(".gz"))) {
+                report.written += exporter.exportAll(students);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            moved = true;
+        } finally {
+            if (!moved) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * 파일을 UTF-8 텍스트로 엽니다. 이름이 .gz로 끝나면 gzip 압축을 해제하며 읽습니다.
+     * @param file 열 파일
+     * @return BufferedReader 객체
+     * @throws IOException 파일 열기 실패 시 예외 발생
+     */
+    private static BufferedReader open(Path file) throws IOException {
+        if (file.getFileName().toString().endsWith(".gz")) {
+            return new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(file), 64 * 1024), StandardCharsets.UTF_8));
+        }
+        return Files.newBufferedReader(file, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 삭제 표시를 나타내는 학생 객체를 만듭니다. (이름이 비어 있고 과목이 없음)
+     * @param sno 삭제된 학번
+     * @return 삭제 표시 학생
+     */
+    private static Student tombstone(String sno) {
+        return new Student.StudentBuilder().sno(sno).name("").build();
+    }
+
+    private static boolean isTombstone(Student student) {
+        return student.getSubjectCount() == 0 && student.getName().isEmpty();
+    }
+
+    /**
+     * LineIterator 클래스는 백업 파일을 한 줄씩 읽어 학생(또는 삭제 표시)으로 변환합니다.
+     * 헤더와 빈 줄은 건너뛰고, 형식이 잘못된 줄은 세기만 하고 건너뜁니다.
+     */
+    private static final class LineIterator implements Iterator<Student> {
+        private final BufferedReader reader;
+        private final MergeReport report;
+        private Student next;
+
+        LineIterator(BufferedReader reader, MergeReport report) {
+            this.reader = reader;
+            this.report = report;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                String line;
+                while (next == null && (line = reader.readLine()) != null) {
+                    next = parse(line);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return next != null;
+        }
+
+        @Override
+        public Student next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Student student = next;
+            next = null;
+            report.recordsRead++;
+            return student;
+        }
+
+        private Student parse(String line) {
+            if (line.isEmpty() || line.startsWith(HEADER_PREFIX)) {
+                return null;
+            }
+            if (line.charAt(0) == TOMBSTONE) {
+                return tombstone(line.substring(1).trim());
+            }
+            String[] tokens = line.split(",");
+            if (tokens.length < 6) {
+                report.malformed++;
+                return null;
+            }
+            try {
+                return new Student.StudentBuilder()
+                        .sno(tokens[0].trim())
+                        .name(tokens[1].trim())
+                        .addSubject(SubjectDictionary.KOREAN, Integer.parseInt(tokens[2].trim()))
+                        .addSubject(SubjectDictionary.ENGLISH, Integer.parseInt(tokens[3].trim()))
+                        .addSubject(SubjectDictionary.MATH, Integer.parseInt(tokens[4].trim()))
+                        .addSubject(SubjectDictionary.SCIENCE, Integer.parseInt(tokens[5].trim()))
+                        .build();
+            } catch (NumberFormatException e) {
+                report.malformed++;
+                return null;
+            }
+        }
+    }
+
+    /**
+     * LatestIterator 클래스는 파일별 학번 순 정렬 결과를 힙으로 병합하면서 학번마다 가장 최신 레코드만 내보냅니다.
+     * 같은 학번이면 앞선(오래된) 파일을 먼저 꺼내므로 마지막으로 꺼낸 레코드가 최신입니다.
+     */
+    private static final class LatestIterator implements Iterator<Student> {
+        private final PriorityQueue<Source> heap;
+        private final MergeReport report;
+        private Student next;
+
+        LatestIterator(List<StudentExternalSorter.SortedStudents> sorted, MergeReport report) {
+            this.report = report;
+            this.heap = new PriorityQueue<>(Math.max(1, sorted.size()), (a, b) -> {
+                int c = a.current.getSno().compareTo(b.current.getSno());
+                return c != 0 ? c : Integer.compare(a.index, b.index);
+            });
+            for (int i = 0; i < sorted.size(); i++) {
+                Source source = new Source(i, sorted.get(i));
+                if (source.advance()) {
+                    heap.add(source);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !heap.isEmpty()) {
+                String sno = heap.peek().current.getSno();
+                Student latest = null;
+                while (!heap.isEmpty() && heap.peek().current.getSno().equals(sno)) {
+                    Source source = heap.poll();
+                    if (latest != null) {
+                        report.superseded++;
+                    }
+                    latest = source.current;
+                    if (source.advance()) {
+                        heap.add(source);
+                    }
+                }
+                if (isTombstone(latest)) {
+                    report.deleted++;
+                } else {
+                    next = latest;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Student next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Student student = next;
+            next = null;
+            return student;
+        }
+    }
+
+    /**
+     * Source 클래스는 파일 하나의 정렬 결과에서 현재 위치를 나타냅니다.
+     */
+    private static final class Source {
+        private final int index;
+        private final Iterator<Student> students;
+        private Student current;
+
+        Source(int index, Iterator<Student> students) {
+            this.index = index;
+            this.students = students;
+        }
+
+        boolean advance() {
+            current = students.hasNext() ? students.next() : null;
+            return current != null;
+        }
+    }
+
+    /**
+     * MergeReport 클래스는 병합 결과를 집계합니다.
+     */
+    public static class MergeReport {
+        private int files;
+        private long recordsRead;
+        private long malformed;
+        private long superseded;
+        private long deleted;
+        private long written;
+        private int spilledRuns;
+
+        /**
+         * 읽은 파일 수를 반환합니다.
+         * @return 파일 수
+         */
+        public int getFiles() {
+            return files;
+        }
+
+        /**
+         * 읽은 레코드(삭제 표시 포함) 수를 반환합니다.
+         * @return 레코드 수
+         */
+        public long getRecordsRead() {
+            return recordsRead;
+        }
+
+        /**
+         * 형식이 잘못되어 건너뛴 줄 수를 반환합니다. (스냅샷 대상에 담을 수 없어 건너뛴 학생 포함)
+         * @return 줄 수
+         */
+        public long getMalformed() {
+            return malformed;
+        }
+
+        /**
+         * 더 최신 레코드에 밀려 버린 레코드 수를 반환합니다.
+         * @return 레코드 수
+         */
+        public long getSuperseded() {
+            return superseded;
+        }
+
+        /**
+         * 최신 레코드가 삭제 표시라서 제외한 학번 수를 반환합니다.
+         * @return 학번 수
+         */
+        public long getDeleted() {
+            return deleted;
+        }
+
+        /**
+         * 대상 파일에 기록한 학생 수를 반환합니다.
+         * @return 학생 수
+         */
+        public long getWritten() {
+            return written;
+        }
+
+        /**
+         * 메모리 한도를 넘어 임시 파일로 내보낸 런 수를 반환합니다.
+         * @return 런 수
+         */
+        public int getSpilledRuns() {
+            return spilledRuns;
+        }
+
+        @Override
+        public String toString() {
+            return "files=" + files + ", read=" + recordsRead + ", written=" + written + ", superseded=" + superseded
+                    + ", deleted=" + deleted + ", malformed=" + malformed + ", spilledRuns=" + spilledRuns;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package studentmanager0206.code;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * StudentCache 클래스는 학번으로 조회한 학생 정보를 보관하는 크기 제한 LRU 캐시입니다.
+ * 캐시에 없으면 로더로 읽어 채우는 read-through 방식이며, 적중/미스/제거 횟수를 집계합니다.
+ */
+public class StudentCache {
+    private final int maxSize;
+    private final LinkedHashMap<String, Student> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * 무효화가 일어날 때마다 증가하는 세대 번호.
+     * 로딩 도중 쓰기가 끼어들었으면 읽어 온 (이전) 값을 캐시에 넣지 않기 위해 사용합니다.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * StudentCache 생성자
+     * @param maxSize 보관할 최대 학생 수
+     */
+    public StudentCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Student> eldest) {
+                if (size() > StudentCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 캐시에서 학생을 찾고, 없으면 로더로 읽어 캐시에 넣은 뒤 반환합니다.
+     * 로더가 null을 반환하면(존재하지 않는 학번) 캐시에 넣지 않습니다.
+     * @param sno 학번
+     * @param loader 캐시 미스 시 학생을 읽어 올 함수
+     * @return 학생 객체, 없으면 null
+     */
+    public Student get(String sno, Function<String, Student> loader) {
+        synchronized (entries) {
+            Student cached = entries.get(sno);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        long loadGeneration = generation.get();
+        Student loaded = loader.apply(sno);
+        if (loaded != null) {
+            synchronized (entries) {
+                if (generation.get() == loadGeneration) {
+                    entries.put(sno, loaded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 학생 정보를 캐시에 넣거나 최신 값으로 갱신합니다.
+     * @param student 저장할 학생 객체
+     */
+    public void put(Student student) {
+        synchronized (entries) {
+            entries.put(student.getSno(), student);
+        }
+    }
+
+    /**
+     * 주어진 학번의 캐시 항목을 제거합니다.
+     * @param sno 제거할 학번
+     */
+    public void invalidate(String sno) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(sno);
+        }
+    }
+
+    /**
+     * 캐시를 모두 비웁니다.
+     */
+    public void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    /**
+     * 현재 캐시된 학생 수를 반환합니다.
+     * @return 캐시 항목 수
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * 캐시 적중 횟수를 반환합니다.
+     * @return 적중 횟수
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * 캐시 미스 횟수를 반환합니다.
+     * @return 미스 횟수
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 크기 제한으로 제거된 항목 수를 반환합니다.
+     * @return 제거 횟수
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * 캐시 통계를 문자열로 반환합니다.
+     * @return 통계 문자열
+     */
+    @Override
+    public String toString() {
+        long hit = getHitCount();
+        long total = hit + getMissCount();
+        return String.format("size=%d/%d, hits=%d, misses=%d, evictions=%d, hitRate=%.1f%%",
+                size(), maxSize, hit, getMissCount(), getEvictionCount(),
+                total == 0 ? 0.0 : hit * 100.0 / total);
+    }
+}
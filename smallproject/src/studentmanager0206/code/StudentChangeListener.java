@@ -0,0 +1,20 @@
+package studentmanager0206.code;
+
+/**
+ * StudentChangeListener 인터페이스는 StudentDAO의 쓰기가 데이터베이스에 반영된 뒤 변경 내용을 전달받습니다.
+ * 순위, 통계 등 메모리 내 파생 구조를 전체 재조회 없이 최신 상태로 유지하는 데 사용합니다.
+ * 호출은 쓰기를 수행한 스레드에서 이루어지므로 구현체는 스레드 안전해야 합니다.
+ */
+public interface StudentChangeListener {
+    /**
+     * 학생 정보가 저장(삽입 또는 수정)되었을 때 호출됩니다.
+     * @param student 저장된 학생 객체
+     */
+    void onSaved(Student student);
+
+    /**
+     * 학생 정보가 삭제되었을 때 호출됩니다. 존재하지 않던 학번일 수도 있습니다.
+     * @param sno 삭제된 학생의 학번
+     */
+    void onDeleted(String sno);
+}
@@ -0,0 +1,323 @@
+package studentmanager0206.code;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StudentConnectionPool 클래스는 StudentDAO가 사용하는 크기 제한 커넥션 풀입니다.
+ * 최소/최대 커넥션 수, 대여 대기 시간, 대여 시 유효성 검사, 유휴 커넥션 정리 기능을 제공합니다.
+ * 대여한 커넥션의 close()를 호출하면 실제로 닫히지 않고 풀로 반환됩니다.
+ */
+public class StudentConnectionPool implements AutoCloseable {
+    static final String URL = "jdbc:mysql://localhost:3306/SMS?rewriteBatchedStatements=true&useCursorFetch=true&useAffectedRows=true";
+    static final String USERNAME = "root";
+    static final String PASSWORD = "wjdaudco";
+
+    private static final int DEFAULT_MIN_SIZE = 2;
+    private static final int DEFAULT_MAX_SIZE = 10;
+    private static final long DEFAULT_ACQUIRE_TIMEOUT_MS = 5_000;
+    private static final long DEFAULT_IDLE_TIMEOUT_MS = 60_000;
+    private static final int VALIDATION_TIMEOUT_SEC = 2;
+
+    static {
+        try {
+            Class.forName("com.mysql.cj.jdbc.Driver");
+        } catch (ClassNotFoundException e) {
+            System.err.println("MySQL JDBC Driver not found.");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 애플리케이션 전체에서 공유하는 기본 풀
+     */
+    private static final StudentConnectionPool INSTANCE = new StudentConnectionPool(
+            DEFAULT_MIN_SIZE, DEFAULT_MAX_SIZE, DEFAULT_ACQUIRE_TIMEOUT_MS, DEFAULT_IDLE_TIMEOUT_MS);
+
+    private final String url;
+    private final int minSize;
+    private final int maxSize;
+    private final long acquireTimeoutMs;
+    private final long idleTimeoutMs;
+
+    private final Deque<PooledEntry> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService evictor;
+    private int totalCount;
+    private boolean closed;
+
+    /**
+     * 풀에 보관되는 실제 커넥션과 마지막 반환 시각
+     */
+    private static final class PooledEntry {
+        private final Connection physical;
+        private long lastReturnedAt;
+
+        private PooledEntry(Connection physical) {
+            this.physical = physical;
+            this.lastReturnedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * StudentConnectionPool 생성자. 기본 URL(SMS 데이터베이스)에 연결합니다.
+     * @param minSize 유휴 정리 후에도 유지할 최소 커넥션 수
+     * @param maxSize 동시에 열 수 있는 최대 커넥션 수
+     * @param acquireTimeoutMs 커넥션 대여 최대 대기 시간(ms)
+     * @param idleTimeoutMs 유휴 커넥션을 닫기까지의 시간(ms)
+     */
+    public StudentConnectionPool(int minSize, int maxSize, long acquireTimeoutMs, long idleTimeoutMs) {
+        this(URL, minSize, maxSize, acquireTimeoutMs, idleTimeoutMs);
+    }
+
+    /**
+     * StudentConnectionPool 생성자
+     * @param url 연결할 JDBC URL (벤치마크용 임시 스키마 등)
+     * @param minSize 유휴 정리 후에도 유지할 최소 커넥션 수
+     * @param maxSize 동시에 열 수 있는 최대 커넥션 수
+     * @param acquireTimeoutMs 커넥션 대여 최대 대기 시간(ms)
+     * @param idleTimeoutMs 유휴 커넥션을 닫기까지의 시간(ms)
+     */
+    public StudentConnectionPool(String url, int minSize, int maxSize, long acquireTimeoutMs, long idleTimeoutMs) {
+        if (minSize < 0 || maxSize <= 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "student-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1_000, idleTimeoutMs / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 기본 설정의 공유 풀을 반환합니다.
+     * @return StudentConnectionPool 인스턴스
+     */
+    public static StudentConnectionPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 풀에서 커넥션을 대여합니다. 유휴 커넥션이 없고 최대 수에 도달했다면 제한 시간까지 대기합니다.
+     * 반환된 커넥션은 close() 호출 시 풀로 돌아갑니다.
+     * @return 풀에서 대여한 Connection 객체
+     * @throws SQLException 제한 시간 초과 또는 연결 실패 시 예외 발생
+     */
+    public Connection getConnection() throws SQLException {
+        long deadline = System.currentTimeMillis() + acquireTimeoutMs;
+        while (true) {
+            PooledEntry entry = null;
+            boolean create = false;
+            synchronized (this) {
+                while (!closed && idle.isEmpty() && totalCount >= maxSize) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        throw new SQLException("커넥션 대여 시간 초과 (" + acquireTimeoutMs + "ms)");
+                    }
+                    try {
+                        wait(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("커넥션 대여 중 인터럽트 발생", e);
+                    }
+                }
+                if (closed) {
+                    throw new SQLException("커넥션 풀이 닫혔습니다.");
+                }
+                if (!idle.isEmpty()) {
+                    entry = idle.pollFirst();
+                } else {
+                    totalCount++;
+                    create = true;
+                }
+            }
+
+            if (create) {
+                try {
+                    return wrap(new PooledEntry(DriverManager.getConnection(url, USERNAME, PASSWORD)));
+                } catch (SQLException e) {
+                    discard(null);
+                    throw e;
+                }
+            }
+            if (isValid(entry.physical)) {
+                return wrap(entry);
+            }
+            discard(entry.physical);
+        }
+    }
+
+    /**
+     * 현재 열려 있는 커넥션 수(대여 중 + 유휴)를 반환합니다.
+     * @return 전체 커넥션 수
+     */
+    public synchronized int getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * 현재 유휴 상태인 커넥션 수를 반환합니다.
+     * @return 유휴 커넥션 수
+     */
+    public synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * 풀을 닫고 모든 유휴 커넥션을 종료합니다. 대여 중인 커넥션은 반환될 때 닫힙니다.
+     */
+    @Override
+    public void close() {
+        Deque<PooledEntry> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayDeque<>(idle);
+            totalCount -= idle.size();
+            idle.clear();
+            notifyAll();
+        }
+        evictor.shutdownNow();
+        toClose.forEach(entry -> closeQuietly(entry.physical));
+    }
+
+    /**
+     * 대여한 커넥션을 풀로 반환합니다. 트랜잭션 상태가 남아 있으면 롤백 후 초기화합니다.
+     * @param entry 반환할 커넥션 항목
+     */
+    private void release(PooledEntry entry) {
+        Connection conn = entry.physical;
+        try {
+            if (conn.isClosed()) {
+                discard(null);
+                return;
+            }
+            if (!conn.getAutoCommit()) {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            discard(conn);
+            return;
+        }
+        synchronized (this) {
+            if (!closed) {
+                entry.lastReturnedAt = System.currentTimeMillis();
+                idle.addFirst(entry);
+                notifyAll();
+                return;
+            }
+        }
+        discard(conn);
+    }
+
+    /**
+     * 사용할 수 없는 커넥션을 닫고 전체 커넥션 수에서 제외합니다.
+     * @param conn 닫을 커넥션, 이미 닫혔거나 생성 실패 시 null
+     */
+    private void discard(Connection conn) {
+        if (conn != null) {
+            closeQuietly(conn);
+        }
+        synchronized (this) {
+            totalCount--;
+            notifyAll();
+        }
+    }
+
+    /**
+     * 최소 크기를 초과하는 유휴 커넥션 중 유휴 시간이 지난 것을 닫습니다.
+     */
+    private void evictIdle() {
+        Deque<PooledEntry> expired = new ArrayDeque<>();
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            Iterator<PooledEntry> it = idle.descendingIterator();
+            while (it.hasNext() && totalCount > minSize) {
+                PooledEntry entry = it.next();
+                if (now - entry.lastReturnedAt >= idleTimeoutMs) {
+                    it.remove();
+                    totalCount--;
+                    expired.add(entry);
+                }
+            }
+        }
+        expired.forEach(entry -> closeQuietly(entry.physical));
+    }
+
+    /**
+     * 대여 시점에 커넥션이 살아 있는지 검사합니다.
+     * @param conn 검사할 커넥션
+     * @return 사용 가능하면 true
+     */
+    private boolean isValid(Connection conn) {
+        try {
+            return conn.isValid(VALIDATION_TIMEOUT_SEC);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * close() 호출을 풀 반환으로 바꾸는 프록시 커넥션을 생성합니다.
+     * @param entry 감쌀 커넥션 항목
+     * @return 프록시 Connection 객체
+     */
+    private Connection wrap(PooledEntry entry) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean returned;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!returned) {
+                            returned = true;
+                            release(entry);
+                        }
+                        return null;
+                    case "isClosed":
+                        return returned || entry.physical.isClosed();
+                    default:
+                        if (returned) {
+                            throw new SQLException("이미 풀로 반환된 커넥션입니다.");
+                        }
+                        try {
+                            return method.invoke(entry.physical, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, handler);
+    }
+
+    /**
+     * 예외를 무시하고 커넥션을 닫습니다.
+     * @param conn 닫을 커넥션
+     */
+    private static void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException ignored) {
+        }
+    }
+}
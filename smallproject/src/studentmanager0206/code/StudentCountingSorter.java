@@ -0,0 +1,255 @@
+package studentmanager0206.code;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.Supplier;
+
+/**
+ * StudentCountingSorter 클래스는 비교 정렬 대신 계수 정렬(counting sort)과 기수 정렬(LSD radix sort)로
+ * 학생 리스트를 정렬하는 SortedStudent 구현입니다.
+ * <p>
+ * 총점(0~400)과 과목 점수(0~100)는 범위가 작으므로 먼저 학생마다 정수 키를 한 번만 뽑아 long 배열에 담고,
+ * 키 범위만큼의 계수 배열로 한 번에 정렬합니다. 학번은 10자리 숫자이므로 SnoCodec으로 바꾼 숫자 키를
+ * 12비트씩 세 번 기수 정렬합니다. 어느 쪽이든 O(n)이며 비교자 호출이나 박싱이 없습니다.
+ * <p>
+ * 모든 정렬은 안정(stable) 정렬이라 키가 같은 학생은 입력 순서를 유지합니다. (List.sort와 같은 결과)
+ * 여러 키 정렬은 덜 중요한 키부터 차례로 정렬해 만듭니다. (예: 학번 정렬 후 총점 정렬 = 총점 내림차순, 동점이면 학번 오름차순)
+ * 10자리 숫자가 아닌 학번이 섞여 있으면 학번 정렬은 기존 비교 정렬로 처리합니다.
+ */
+public class StudentCountingSorter implements SortedStudent {
+    private static final int RADIX_BITS = 12;
+    private static final int RADIX = 1 << RADIX_BITS;
+    /**
+     * 키 범위가 이보다 작으면 기수 정렬 대신 한 번의 계수 정렬로 처리합니다.
+     */
+    private static final int COUNTING_LIMIT = 1 << 16;
+    private static final Comparator<Student> BY_SNO = Comparator.comparing(Student::getSno);
+
+    private final Supplier<List<Student>> source;
+
+    /**
+     * StudentCountingSorter 생성자.
+     * @param source 페이지 조회(pageByTotal, pageBySno)에 사용할 전체 학생 공급자
+     */
+    public StudentCountingSorter(Supplier<List<Student>> source) {
+        this.source = source;
+    }
+
+    /**
+     * 학생 리스트를 총점 내림차순으로 정렬합니다. 동점이면 입력 순서를 유지합니다.
+     * @param students 학생 리스트
+     */
+    @Override
+    public void sortByTotal(List<Student> students) {
+        Student[] items = students.toArray(new Student[0]);
+        apply(students, items, totalOrder(items, identity(items.length)));
+    }
+
+    /**
+     * 학생 리스트를 과목 점수 내림차순으로 정렬합니다. 같은 점수면 입력 순서를 유지합니다.
+     * @param students 학생 리스트
+     * @param subjectId SubjectDictionary의 과목 id
+     */
+    public void sortBySubject(List<Student> students, int subjectId) {
+        Student[] items = students.toArray(new Student[0]);
+        long[] keys = new long[items.length];
+        long max = 0;
+        for (int i = 0; i < items.length; i++) {
+            keys[i] = items[i].getScore(subjectId);
+            max = Math.max(max, keys[i]);
+        }
+        apply(students, items, order(descending(keys, max), identity(items.length), max));
+    }
+
+    /**
+     * 학생 리스트를 학번 오름차순으로 정렬합니다.
+     * @param students 학생 리스트
+     */
+    @Override
+    public void sortBySno(List<Student> students) {
+        Student[] items = students.toArray(new Student[0]);
+        int[] order = snoOrder(items, identity(items.length));
+        if (order == null) {
+            students.sort(BY_SNO);
+            return;
+        }
+        apply(students, items, order);
+    }
+
+    /**
+     * 학생 리스트를 총점 내림차순, 동점이면 학번 오름차순으로 정렬합니다. (pageByTotal과 같은 순서)
+     * @param students 학생 리스트
+     */
+    public void sortByTotalThenSno(List<Student> students) {
+        Student[] items = students.toArray(new Student[0]);
+        int[] order = snoOrder(items, identity(items.length));
+        if (order == null) {
+            // 숫자가 아닌 학번이 있으면 학번 순서만 비교 정렬로 만든 뒤 총점으로 안정 정렬합니다.
+            List<Student> bySno = new ArrayList<>(students);
+            bySno.sort(BY_SNO);
+            items = bySno.toArray(new Student[0]);
+            order = identity(items.length);
+        }
+        apply(students, items, totalOrder(items, order));
+    }
+
+    /**
+     * 총점 내림차순(동점이면 학번 오름차순)으로 정렬된 N번째 페이지를 조회합니다.
+     * @param page 페이지 번호 (1부터 시작)
+     * @param pageSize 페이지 크기
+     * @return 해당 페이지의 학생 리스트
+     */
+    @Override
+    public List<Student> pageByTotal(int page, int pageSize) {
+        List<Student> students = new ArrayList<>(source.get());
+        sortByTotalThenSno(students);
+        return slice(students, page, pageSize);
+    }
+
+    /**
+     * 학번 오름차순으로 정렬된 N번째 페이지를 조회합니다.
+     * @param page 페이지 번호 (1부터 시작)
+     * @param pageSize 페이지 크기
+     * @return 해당 페이지의 학생 리스트
+     */
+    @Override
+    public List<Student> pageBySno(int page, int pageSize) {
+        List<Student> students = new ArrayList<>(source.get());
+        sortBySno(students);
+        return slice(students, page, pageSize);
+    }
+
+    /**
+     * 총점 내림차순으로 order를 안정 정렬합니다.
+     * @param items 학생 배열
+     * @param order 현재 순서 (학생 배열의 위치)
+     * @return 새 순서
+     */
+    private static int[] totalOrder(Student[] items, int[] order) {
+        long[] keys = new long[items.length];
+        long max = 0;
+        for (int i = 0; i < items.length; i++) {
+            keys[i] = items[i].getTotal();
+            max = Math.max(max, keys[i]);
+        }
+        return order(descending(keys, max), order, max);
+    }
+
+    /**
+     * 학번 오름차순으로 order를 안정 정렬합니다.
+     * @param items 학생 배열
+     * @param order 현재 순서
+     * @return 새 순서, 10자리 숫자가 아닌 학번이 있으면 null
+     */
+    private static int[] snoOrder(Student[] items, int[] order) {
+        long[] keys = new long[items.length];
+        long max = 0;
+        for (int i = 0; i < items.length; i++) {
+            keys[i] = SnoCodec.parse(items[i].getSno());
+            if (keys[i] == SnoCodec.INVALID) {
+                return null;
+            }
+            max = Math.max(max, keys[i]);
+        }
+        return order(keys, order, max);
+    }
+
+    /**
+     * 내림차순 정렬을 위해 키를 max - key로 바꿉니다. (음수 키는 0으로 취급)
+     * @param keys 키 배열 (제자리에서 변경)
+     * @param max 최대 키
+     * @return 바뀐 키 배열
+     */
+    private static long[] descending(long[] keys, long max) {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = max - Math.max(keys[i], 0);
+        }
+        return keys;
+    }
+
+    /**
+     * keys[위치] 오름차순으로 order를 안정 정렬합니다.
+     * 최대 키가 COUNTING_LIMIT보다 작으면 한 번의 계수 정렬, 아니면 RADIX_BITS씩 나누어 LSD 기수 정렬합니다.
+     * @param keys 학생 위치별 키 (0 이상)
+     * @param order 현재 순서
+     * @param max 최대 키
+     * @return 새 순서
+     */
+    private static int[] order(long[] keys, int[] order, long max) {
+        int[] from = order;
+        int[] to = new int[order.length];
+        if (max < COUNTING_LIMIT) {
+            countingPass(keys, from, to, 0, -1L, (int) max + 1);
+            return to;
+        }
+        int bits = 64 - Long.numberOfLeadingZeros(max);
+        for (int shift = 0; shift < bits; shift += RADIX_BITS) {
+            countingPass(keys, from, to, shift, RADIX - 1, RADIX);
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        return from;
+    }
+
+    /**
+     * (keys[위치] &gt;&gt;&gt; shift) &amp; mask 값으로 from을 to에 안정적으로 분배합니다.
+     * @param keys 학생 위치별 키
+     * @param from 현재 순서
+     * @param to 결과 순서
+     * @param shift 키에서 사용할 비트 위치
+     * @param mask 키에서 사용할 비트 마스크
+     * @param buckets 구간 수 (mask + 1 이하일 수 있음)
+     */
+    private static void countingPass(long[] keys, int[] from, int[] to, int shift, long mask, int buckets) {
+        int[] counts = new int[buckets + 1];
+        for (int index : from) {
+            counts[(int) ((keys[index] >>> shift) & mask) + 1]++;
+        }
+        for (int b = 0; b < buckets; b++) {
+            counts[b + 1] += counts[b];
+        }
+        for (int index : from) {
+            to[counts[(int) ((keys[index] >>> shift) & mask)]++] = index;
+        }
+    }
+
+    /**
+     * 정렬된 순서대로 리스트의 원소를 바꿉니다.
+     * @param students 대상 리스트
+     * @param items 학생 배열
+     * @param order 정렬된 순서
+     */
+    private static void apply(List<Student> students, Student[] items, int[] order) {
+        ListIterator<Student> it = students.listIterator();
+        for (int index : order) {
+            it.next();
+            it.set(items[index]);
+        }
+    }
+
+    private static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    /**
+     * 정렬된 리스트에서 N번째 페이지 구간을 잘라 반환합니다.
+     * @param sorted 정렬된 학생 리스트
+     * @param page 페이지 번호 (1부터 시작)
+     * @param pageSize 페이지 크기
+     * @return 해당 페이지의 학생 리스트
+     */
+    private static List<Student> slice(List<Student> sorted, int page, int pageSize) {
+        long from = (long) Math.max(page - 1, 0) * pageSize;
+        if (from >= sorted.size()) {
+            return List.of();
+        }
+        return new ArrayList<>(sorted.subList((int) from, (int) Math.min(sorted.size(), from + pageSize)));
+    }
+}
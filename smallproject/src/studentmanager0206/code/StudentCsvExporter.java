@@ -0,0 +1,269 @@
+package studentmanager0206.code;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * StudentCsvExporter 클래스는 학생 정보를 백업 CSV 형식으로 스트리밍 기록합니다.
+ * 행마다 재사용하는 char 버퍼에 직접 숫자를 써 넣고(String.format 미사용),
+ * 큰 ByteBuffer에 UTF-8로 인코딩한 뒤 NIO 채널로 한꺼번에 기록합니다. gzip 압축을 선택할 수 있습니다.
+ */
+public class StudentCsvExporter implements AutoCloseable {
+    public static final String HEADER = "sno,name,korean,english,math,science,total,average,grade";
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel fileChannel;
+    private final OutputStream gzipStream;
+    private final WritableByteChannel channel;
+    private final ByteBuffer byteBuffer;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private char[] row = new char[128];
+    private long rowCount;
+    private long byteCount;
+
+    /**
+     * StudentCsvExporter 생성자. 파일을 새로 만들거나 덮어씁니다.
+     * @param path 기록할 파일 경로
+     * @param gzip gzip 압축 여부
+     * @throws IOException 파일 열기 실패 시 예외 발생
+     */
+    public StudentCsvExporter(Path path, boolean gzip) throws IOException {
+        this(path, gzip, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * StudentCsvExporter 생성자. 파일을 새로 만들거나 덮어씁니다.
+     * @param path 기록할 파일 경로
+     * @param gzip gzip 압축 여부
+     * @param bufferSize 채널에 한 번에 기록할 바이트 버퍼 크기
+     * @throws IOException 파일 열기 실패 시 예외 발생
+     */
+    public StudentCsvExporter(Path path, boolean gzip, int bufferSize) throws IOException {
+        this.fileChannel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        if (gzip) {
+            this.gzipStream = new GZIPOutputStream(Channels.newOutputStream(fileChannel), bufferSize);
+            this.channel = Channels.newChannel(gzipStream);
+        } else {
+            this.gzipStream = null;
+            this.channel = fileChannel;
+        }
+        this.byteBuffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * 헤더 줄과 모든 학생 정보를 기록합니다.
+     * @param students 기록할 학생 반복자
+     * @return 기록한 학생 수
+     * @throws IOException 기록 실패 시 예외 발생
+     */
+    public long exportAll(Iterator<Student> students) throws IOException {
+        writeHeader();
+        while (students.hasNext()) {
+            write(students.next());
+        }
+        return rowCount;
+    }
+
+    /**
+     * 헤더 줄을 기록합니다.
+     * @throws IOException 기록 실패 시 예외 발생
+     */
+    public void writeHeader() throws IOException {
+        int len = HEADER.length();
+        HEADER.getChars(0, len, row, 0);
+        row[len++] = '\n';
+        encode(len);
+    }
+
+    /**
+     * 학생 한 명을 CSV 한 줄로 기록합니다.
+     * 형식: sno,name,korean,english,math,science,total,average(소수 둘째 자리),grade
+     * @param student 기록할 학생 객체
+     * @throws IOException 기록 실패 시 예외 발생
+     */
+    public void write(Student student) throws IOException {
+        String sno = student.getSno();
+        String name = student.getName();
+        ensureRowCapacity(sno.length() + name.length() + 64);
+
+        int pos = 0;
+        pos = putString(sno, pos);
+        row[pos++] = ',';
+        pos = putString(name, pos);
+        row[pos++] = ',';
+        pos = putInt(student.getScore(SubjectDictionary.KOREAN), pos);
+        row[pos++] = ',';
+        pos = putInt(student.getScore(SubjectDictionary.ENGLISH), pos);
+        row[pos++] = ',';
+        pos = putInt(student.getScore(SubjectDictionary.MATH), pos);
+        row[pos++] = ',';
+        pos = putInt(student.getScore(SubjectDictionary.SCIENCE), pos);
+        row[pos++] = ',';
+        pos = putInt(student.getTotal(), pos);
+        row[pos++] = ',';
+        pos = putFixed2(student.getAverage(), pos);
+        row[pos++] = ',';
+        pos = putString(student.computeGrade(), pos);
+        row[pos++] = '\n';
+        encode(pos);
+        rowCount++;
+    }
+
+    /**
+     * 학번의 삭제 표시 줄("!학번")을 기록합니다. StudentLogStore, StudentBackupMerger와 같은 형식이며
+     * 열이 6개 미만이므로 학생 CSV 리더는 이 줄을 건너뜁니다. 학생 수에는 포함하지 않습니다.
+     * @param sno 삭제할 학번
+     * @throws IOException 기록 실패 시 예외 발생
+     */
+    public void writeTombstone(String sno) throws IOException {
+        ensureRowCapacity(sno.length() + 2);
+        int pos = 0;
+        row[pos++] = '!';
+        pos = putString(sno, pos);
+        row[pos++] = '\n';
+        encode(pos);
+    }
+
+    /**
+     * 지금까지 기록한 학생 수를 반환합니다.
+     * @return 학생 수 (헤더 제외)
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 지금까지 인코딩한 (압축 전) 바이트 수를 반환합니다.
+     * @return 바이트 수
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    /**
+     * 남은 버퍼를 기록하고 파일을 닫습니다.
+     * @throws IOException 기록 실패 시 예외 발생
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            if (gzipStream != null) {
+                gzipStream.close();
+            }
+        } finally {
+            fileChannel.close();
+        }
+    }
+
+    /**
+     * 행 버퍼가 최소 크기 이상이 되도록 늘립니다.
+     * @param capacity 필요한 문자 수
+     */
+    private void ensureRowCapacity(int capacity) {
+        if (row.length < capacity) {
+            row = new char[Math.max(capacity, row.length * 2)];
+        }
+    }
+
+    /**
+     * 문자열을 행 버퍼에 복사합니다.
+     * @param value 복사할 문자열
+     * @param pos 기록 시작 위치
+     * @return 다음 기록 위치
+     */
+    private int putString(String value, int pos) {
+        int len = value.length();
+        value.getChars(0, len, row, pos);
+        return pos + len;
+    }
+
+    /**
+     * 정수를 10진수 문자로 행 버퍼에 기록합니다.
+     * @param value 기록할 값
+     * @param pos 기록 시작 위치
+     * @return 다음 기록 위치
+     */
+    private int putInt(int value, int pos) {
+        if (value < 0) {
+            row[pos++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int end = pos + digits;
+        for (int i = end - 1; i >= pos; i--) {
+            row[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+
+    /**
+     * 실수를 소수 둘째 자리까지 반올림하여(%.2f와 동일한 형태) 행 버퍼에 기록합니다.
+     * @param value 기록할 값 (0 이상)
+     * @param pos 기록 시작 위치
+     * @return 다음 기록 위치
+     */
+    private int putFixed2(double value, int pos) {
+        long scaled = Math.round(value * 100);
+        pos = putInt((int) (scaled / 100), pos);
+        int fraction = (int) (scaled % 100);
+        row[pos++] = '.';
+        row[pos++] = (char) ('0' + fraction / 10);
+        row[pos++] = (char) ('0' + fraction % 10);
+        return pos;
+    }
+
+    /**
+     * 행 버퍼의 문자를 UTF-8로 인코딩하여 바이트 버퍼에 넣습니다. 버퍼가 차면 채널로 기록합니다.
+     * @param len 인코딩할 문자 수
+     * @throws IOException 기록 실패 시 예외 발생
+     */
+    private void encode(int len) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(row, 0, len);
+        int before = byteBuffer.position();
+        while (true) {
+            CoderResult result = encoder.encode(chars, byteBuffer, false);
+            if (result.isOverflow()) {
+                byteCount += byteBuffer.position() - before;
+                flush();
+                before = 0;
+                continue;
+            }
+            if (result.isError()) {
+                result.throwException();
+            }
+            break;
+        }
+        byteCount += byteBuffer.position() - before;
+    }
+
+    /**
+     * 바이트 버퍼의 내용을 채널에 모두 기록합니다.
+     * @throws IOException 기록 실패 시 예외 발생
+     */
+    private void flush() throws IOException {
+        byteBuffer.flip();
+        while (byteBuffer.hasRemaining()) {
+            channel.write(byteBuffer);
+        }
+        byteBuffer.clear();
+    }
+}
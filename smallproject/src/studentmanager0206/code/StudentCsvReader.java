@@ -0,0 +1,319 @@
+package studentmanager0206.code;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * StudentCsvReader 클래스는 백업 CSV 파일을 메모리 매핑하여 여러 스레드로 병렬 파싱합니다.
+ * <p>
+ * 파일을 줄 경계에 맞춘 청크로 나누고, 각 청크를 ForkJoinPool 작업으로 매핑/파싱합니다.
+ * 파싱은 매핑된 바이트를 직접 훑어 쉼표 위치를 찾고 점수를 바이트에서 바로 정수로 변환하므로
+ * 줄 문자열이나 split 배열을 만들지 않습니다. 헤더 줄(sno,...), 열이 6개 미만인 줄,
+ * 점수가 정수가 아니거나 int 범위를 넘는 줄은 건너뜁니다.
+ */
+public class StudentCsvReader {
+    private static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+    private static final int MIN_FIELDS = 6;
+    private static final byte[] HEADER_PREFIX = "sno,".getBytes(StandardCharsets.US_ASCII);
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    /**
+     * 공용 ForkJoinPool과 기본 청크 크기(16MB)를 사용하는 리더를 생성합니다.
+     */
+    public StudentCsvReader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * StudentCsvReader 생성자
+     * @param pool 파싱 작업을 실행할 ForkJoinPool
+     * @param chunkSize 한 작업이 맡을 대략적인 바이트 수
+     */
+    public StudentCsvReader(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * CSV 파일의 모든 학생 정보를 파일 순서대로 읽어 반환합니다.
+     * @param path 읽을 CSV 파일 경로
+     * @return 학생 리스트
+     * @throws IOException 파일 읽기 실패 시 예외 발생
+     */
+    public List<Student> read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<long[]> chunks = split(channel);
+            List<ChunkTask> tasks = new ArrayList<>(chunks.size());
+            for (long[] chunk : chunks) {
+                tasks.add(new ChunkTask(channel, chunk[0], chunk[1]));
+            }
+            pool.invoke(new RecursiveTask<Void>() {
+                @Override
+                protected Void compute() {
+                    invokeAll(tasks);
+                    return null;
+                }
+            });
+
+            int total = 0;
+            for (ChunkTask task : tasks) {
+                total += task.getRawResult().size();
+            }
+            List<Student> students = new ArrayList<>(total);
+            for (ChunkTask task : tasks) {
+                students.addAll(task.getRawResult());
+            }
+            return students;
+        } catch (UncheckedChunkException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 파일을 줄바꿈 직후에서 끝나는 [시작, 끝) 구간들로 나눕니다.
+     * @param channel 파일 채널
+     * @return 청크 구간 리스트
+     * @throws IOException 읽기 실패 시 예외 발생
+     */
+    private List<long[]> split(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<long[]> chunks = new ArrayList<>();
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(size, start + chunkSize);
+            if (end < size) {
+                end = nextLineStart(channel, end, size);
+            }
+            chunks.add(new long[] { start, end });
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * position 이후 첫 줄바꿈의 다음 위치를 찾습니다.
+     * @param channel 파일 채널
+     * @param position 탐색 시작 위치
+     * @param size 파일 크기
+     * @return 다음 줄의 시작 위치 (줄바꿈이 없으면 파일 끝)
+     * @throws IOException 읽기 실패 시 예외 발생
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        while (position < size) {
+            int length = (int) Math.min(64 * 1024, size - position);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            for (int i = 0; i < length; i++) {
+                if (window.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += length;
+        }
+        return size;
+    }
+
+    /**
+     * 청크 하나를 매핑하여 파싱하는 ForkJoin 작업 (직렬화하지 않음)
+     */
+    @SuppressWarnings("serial")
+    private static final class ChunkTask extends RecursiveTask<List<Student>> {
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+
+        private ChunkTask(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected List<Student> compute() {
+            try {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                return parse(buffer, (int) (end - start));
+            } catch (IOException e) {
+                throw new UncheckedChunkException(e);
+            }
+        }
+    }
+
+    /**
+     * 매핑된 바이트에서 줄 단위로 학생 정보를 파싱합니다.
+     * @param buffer 청크가 매핑된 버퍼
+     * @param length 청크 길이
+     * @return 파싱된 학생 리스트
+     */
+    private static List<Student> parse(MappedByteBuffer buffer, int length) {
+        List<Student> students = new ArrayList<>(Math.max(16, length / 40));
+        // 앞쪽 여섯 개 쉼표의 위치: sno,name,korean,english,math,science[,...]
+        int[] commas = new int[MIN_FIELDS];
+        byte[] scratch = new byte[64];
+        int lineStart = 0;
+        while (lineStart < length) {
+            int commaCount = 0;
+            int lineEnd = lineStart;
+            while (lineEnd < length) {
+                byte b = buffer.get(lineEnd);
+                if (b == '\n') {
+                    break;
+                }
+                if (b == ',' && commaCount < MIN_FIELDS) {
+                    commas[commaCount++] = lineEnd;
+                }
+                lineEnd++;
+            }
+            int contentEnd = lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            int scienceEnd = commaCount == MIN_FIELDS ? commas[MIN_FIELDS - 1] : contentEnd;
+
+            // String.split(",")과 같이 끝의 빈 열은 열 수에 포함하지 않습니다.
+            // (a,b,1,2,3,,, 처럼 여섯 번째 열부터 모두 비어 있으면 열이 부족한 줄로 보고 건너뜁니다.)
+            int lastContent = contentEnd - 1;
+            while (lastContent >= lineStart && buffer.get(lastContent) == ',') {
+                lastContent--;
+            }
+            boolean enoughFields = commaCount >= MIN_FIELDS - 1 && lastContent > commas[MIN_FIELDS - 2];
+            if (enoughFields && !isHeader(buffer, lineStart, contentEnd)) {
+                try {
+                    int korean = parseInt(buffer, commas[1] + 1, commas[2]);
+                    int english = parseInt(buffer, commas[2] + 1, commas[3]);
+                    int math = parseInt(buffer, commas[3] + 1, commas[4]);
+                    int science = parseInt(buffer, commas[4] + 1, scienceEnd);
+                    scratch = ensureCapacity(scratch, commas[1] - lineStart);
+                    students.add(new Student.StudentBuilder()
+                            .sno(decode(buffer, lineStart, commas[0], scratch))
+                            .name(decode(buffer, commas[0] + 1, commas[1], scratch))
+                            .addSubject(SubjectDictionary.KOREAN, korean)
+                            .addSubject(SubjectDictionary.ENGLISH, english)
+                            .addSubject(SubjectDictionary.MATH, math)
+                            .addSubject(SubjectDictionary.SCIENCE, science)
+                            .build());
+                } catch (NumberFormatException e) {
+                    // 점수가 숫자가 아니거나 int 범위를 넘는 줄은 열이 부족한 줄과 같이 건너뜁니다.
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return students;
+    }
+
+    /**
+     * 줄이 헤더(sno,...)로 시작하는지 확인합니다.
+     * @param buffer 매핑된 버퍼
+     * @param from 줄 시작 위치
+     * @param to 줄 끝 위치
+     * @return 헤더 줄이면 true
+     */
+    private static boolean isHeader(MappedByteBuffer buffer, int from, int to) {
+        if (to - from < HEADER_PREFIX.length) {
+            return false;
+        }
+        for (int i = 0; i < HEADER_PREFIX.length; i++) {
+            if (buffer.get(from + i) != HEADER_PREFIX[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * [from, to) 구간의 바이트를 UTF-8 문자열로 변환합니다.
+     * @param buffer 매핑된 버퍼
+     * @param from 시작 위치
+     * @param to 끝 위치
+     * @param scratch 복사에 사용할 임시 배열 (구간 길이 이상)
+     * @return 변환된 문자열
+     */
+    private static String decode(MappedByteBuffer buffer, int from, int to, byte[] scratch) {
+        int length = to - from;
+        buffer.get(from, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * [from, to) 구간의 ASCII 숫자를 문자열 생성 없이 정수로 변환합니다.
+     * Integer.parseInt와 같이 음수로 누적하며 int 범위를 넘으면 예외를 던집니다. (자릿수가 많아도 값이 돌아가지 않음)
+     * @param buffer 매핑된 버퍼
+     * @param from 시작 위치
+     * @param to 끝 위치
+     * @return 변환된 정수
+     * @throws NumberFormatException 비어 있거나, 숫자가 아닌 문자가 있거나, int 범위를 넘으면 예외 발생
+     */
+    private static int parseInt(MappedByteBuffer buffer, int from, int to) {
+        if (from >= to) {
+            throw new NumberFormatException("empty score");
+        }
+        boolean negative = buffer.get(from) == '-';
+        int i = negative ? from + 1 : from;
+        if (i >= to) {
+            throw numberFormat(buffer, from, to);
+        }
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int multiplyLimit = limit / 10;
+        int value = 0;
+        for (; i < to; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9 || value < multiplyLimit) {
+                throw numberFormat(buffer, from, to);
+            }
+            value *= 10;
+            if (value < limit + digit) {
+                throw numberFormat(buffer, from, to);
+            }
+            value -= digit;
+        }
+        return negative ? value : -value;
+    }
+
+    /**
+     * [from, to) 구간을 입력값으로 담은 NumberFormatException을 만듭니다.
+     * @param buffer 매핑된 버퍼
+     * @param from 시작 위치
+     * @param to 끝 위치
+     * @return 예외 객체
+     */
+    private static NumberFormatException numberFormat(MappedByteBuffer buffer, int from, int to) {
+        byte[] raw = new byte[to - from];
+        buffer.get(from, raw, 0, raw.length);
+        return new NumberFormatException("For input string: \"" + new String(raw, StandardCharsets.UTF_8) + "\"");
+    }
+
+    /**
+     * 임시 배열이 length 이상이 되도록 필요하면 새로 만듭니다.
+     * @param scratch 현재 임시 배열
+     * @param length 필요한 길이
+     * @return length 이상 크기의 배열
+     */
+    private static byte[] ensureCapacity(byte[] scratch, int length) {
+        return scratch.length >= length ? scratch : new byte[Math.max(length, scratch.length * 2)];
+    }
+
+    /**
+     * ForkJoin 작업 안에서 발생한 IOException을 호출 스레드로 전달하기 위한 예외
+     */
+    private static final class UncheckedChunkException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private UncheckedChunkException(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+}
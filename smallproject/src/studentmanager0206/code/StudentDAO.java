@@ -1,28 +1,122 @@
 package studentmanager0206.code;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * StudentDAO 클래스는 데이터베이스와의 연동을 통해 학생 정보를 저장, 조회, 수정, 삭제하는 기능을 제공합니다.
+ * 커넥션은 StudentConnectionPool에서 대여하며, 사용 후 try-with-resources로 반환합니다.
+ * 모든 작업의 호출 수, 실패 수, 지연 시간, 처리 행 수를 StudentDAOMetrics에 기록합니다.
+ * 과목별 열이 있는 STUDENT 테이블 외에, 과목 수에 제한이 없는 정규화된 저장소(STUDENT_INFO, STUDENT_SCORE)를
+ * *Normalized 메서드로 사용할 수 있습니다.
  */
 public class StudentDAO {
-    private static final String URL = "jdbc:mysql://localhost:3306/SMS";
-    private static final String USERNAME = "root";
-    private static final String PASSWORD = "wjdaudco";
+    private static final String INSERT_SQL =
+            "INSERT INTO STUDENT (sno, name, korean, english, math, science, total, average, grade) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPSERT_SQL = INSERT_SQL
+            + " ON DUPLICATE KEY UPDATE name=VALUES(name), korean=VALUES(korean), english=VALUES(english),"
+            + " math=VALUES(math), science=VALUES(science), total=VALUES(total), average=VALUES(average), grade=VALUES(grade)";
+    private static final int DEFAULT_CHUNK_SIZE = 1_000;
+    private static final int DEFAULT_FETCH_SIZE = 500;
+
+    private static final int DEFAULT_CACHE_SIZE = 10_000;
+
+    private final StudentConnectionPool pool;
+    private final StudentCache cache = new StudentCache(DEFAULT_CACHE_SIZE);
+    private volatile boolean cacheEnabled = Boolean.parseBoolean(System.getProperty("student.cache.enabled", "true"));
+    private final List<StudentChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final StudentDAOMetrics metrics = new StudentDAOMetrics();
+
+    /**
+     * 공유 커넥션 풀을 사용하는 StudentDAO를 생성합니다.
+     */
+    public StudentDAO() {
+        this(StudentConnectionPool.getInstance());
+    }
+
+    /**
+     * 지정한 커넥션 풀을 사용하는 StudentDAO를 생성합니다.
+     * @param pool 커넥션을 대여할 풀
+     */
+    public StudentDAO(StudentConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * 작업별 실행 지표(호출 수, 실패 수, 지연 시간 분포, 행 수)를 반환합니다.
+     * registerMBeans로 등록하면 jconsole에서 볼 수 있습니다.
+     * @return 이 DAO의 지표
+     */
+    public StudentDAOMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 학번 조회 캐시 사용 여부를 설정합니다. 끄면 캐시를 비우고 매번 데이터베이스에서 조회합니다.
+     * (기본값은 시스템 속성 student.cache.enabled, 없으면 true)
+     * @param enabled 캐시 사용 여부
+     */
+    public void setCacheEnabled(boolean enabled) {
+        this.cacheEnabled = enabled;
+        if (!enabled) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * 학번 조회 캐시 사용 여부를 반환합니다.
+     * @return 캐시 사용 중이면 true
+     */
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
 
     /**
-     * 데이터베이스 연결을 생성합니다.
-     * @return 데이터베이스 Connection 객체
-     * @throws Exception 연결 실패 시 예외 발생
+     * 적중/미스/제거 통계를 확인할 수 있도록 학번 조회 캐시를 반환합니다.
+     * @return StudentCache 객체
      */
-    private Connection getConnection() throws Exception {
-        Class.forName("com.mysql.cj.jdbc.Driver");
-        return DriverManager.getConnection(URL, USERNAME, PASSWORD);
+    public StudentCache getCache() {
+        return cache;
+    }
+
+    /**
+     * 쓰기가 성공적으로 반영될 때마다 변경 내용을 전달받을 리스너를 등록합니다.
+     * @param listener 등록할 리스너
+     */
+    public void addChangeListener(StudentChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 등록된 변경 리스너를 제거합니다.
+     * @param listener 제거할 리스너
+     */
+    public void removeChangeListener(StudentChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 커넥션 풀에서 데이터베이스 연결을 대여합니다.
+     * @return 데이터베이스 Connection 객체 (close() 시 풀로 반환)
+     * @throws SQLException 연결 실패 시 예외 발생
+     */
+    private Connection getConnection() throws SQLException {
+        return pool.getConnection();
     }
 
     /**
@@ -30,64 +124,399 @@ public class StudentDAO {
      * @param student 저장할 학생 객체
      */
     public void save(Student student) {
-        int total = student.getTotal();
-        double average = student.getAverage();
-        String grade = student.computeGrade();
-        int korean = getSubjectScore(student, "korean");
-        int english = getSubjectScore(student, "english");
-        int math = getSubjectScore(student, "math");
-        int science = getSubjectScore(student, "science");
+        long start = System.nanoTime();
+        boolean failed = true;
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
+            bindInsert(pstmt, student);
+            pstmt.executeUpdate();
+            failed = false;
+            fireSaved(student);
+        } catch (Exception e) {
+            e.printStackTrace();
+        } finally {
+            cache.invalidate(student.getSno());
+            metrics.record(StudentDAOMetrics.Operation.SAVE, start, 1, failed);
+        }
+    }
 
+    /**
+     * 여러 학생 정보를 기본 청크 크기로 일괄 저장합니다.
+     * @param students 저장할 학생 컬렉션
+     * @return 청크별 실패 정보를 담은 일괄 저장 결과
+     */
+    public BatchResult saveAll(Collection<Student> students) {
+        return saveAll(students, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * 여러 학생 정보를 JDBC 배치로 일괄 저장합니다.
+     * 청크마다 하나의 트랜잭션으로 커밋하며, 실패한 청크는 롤백 후 기록하고 다음 청크를 계속 처리합니다.
+     * @param students 저장할 학생 컬렉션
+     * @param chunkSize 한 트랜잭션에 포함할 학생 수
+     * @return 청크별 실패 정보를 담은 일괄 저장 결과
+     */
+    public BatchResult saveAll(Collection<Student> students, int chunkSize) {
+        long start = System.nanoTime();
+        BatchResult result = null;
         try {
-            Connection conn = getConnection();
-            PreparedStatement pstmt = conn.prepareStatement(
-                    "INSERT INTO STUDENT (sno, name, korean, english, math, science, total, average, grade) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
-            pstmt.setString(1, student.getSno());
-            pstmt.setString(2, student.getName());
-            pstmt.setInt(3, korean);
-            pstmt.setInt(4, english);
-            pstmt.setInt(5, math);
-            pstmt.setInt(6, science);
-            pstmt.setInt(7, total);
-            pstmt.setDouble(8, average);
-            pstmt.setString(9, grade);
-            pstmt.executeUpdate();
+            result = executeInChunks(INSERT_SQL, students, chunkSize, this::bindInsert);
+            forEachSucceeded(students, result, this::fireSaved);
+            return result;
+        } finally {
+            students.forEach(student -> cache.invalidate(student.getSno()));
+            metrics.record(StudentDAOMetrics.Operation.SAVE_ALL, start, students.size(),
+                    result == null || result.getFailedCount() > 0);
+        }
+    }
+
+    /**
+     * 여러 학생 정보를 upsert 문의 JDBC 배치로 저장하거나 수정합니다.
+     * 행별 삽입/수정 여부가 필요 없는 경우(쓰기 지연 큐 등)에 사용하며, upsertAll보다 왕복 횟수가 적습니다.
+     * @param students 저장할 학생 컬렉션
+     * @param chunkSize 한 트랜잭션에 포함할 학생 수
+     * @return 청크별 실패 정보를 담은 일괄 처리 결과
+     */
+    public BatchResult upsertBatch(Collection<Student> students, int chunkSize) {
+        long start = System.nanoTime();
+        BatchResult result = null;
+        try {
+            result = executeInChunks(UPSERT_SQL, students, chunkSize, this::bindInsert);
+            forEachSucceeded(students, result, this::fireSaved);
+            return result;
+        } finally {
+            students.forEach(student -> cache.invalidate(student.getSno()));
+            metrics.record(StudentDAOMetrics.Operation.UPSERT_BATCH, start, students.size(),
+                    result == null || result.getFailedCount() > 0);
+        }
+    }
+
+    /**
+     * 여러 학번의 학생 정보를 JDBC 배치로 삭제합니다.
+     * @param snos 삭제할 학번 컬렉션
+     * @param chunkSize 한 트랜잭션에 포함할 학번 수
+     * @return 청크별 실패 정보를 담은 일괄 처리 결과
+     */
+    public BatchResult deleteAll(Collection<String> snos, int chunkSize) {
+        long start = System.nanoTime();
+        BatchResult result = null;
+        try {
+            result = executeInChunks("DELETE FROM STUDENT WHERE sno = ?", snos, chunkSize,
+                    (pstmt, sno) -> pstmt.setString(1, sno));
+            forEachSucceeded(snos, result, this::fireDeleted);
+            return result;
+        } finally {
+            snos.forEach(cache::invalidate);
+            metrics.record(StudentDAOMetrics.Operation.DELETE_ALL, start, snos.size(),
+                    result == null || result.getFailedCount() > 0);
+        }
+    }
+
+    /**
+     * 같은 SQL 문을 항목마다 배치에 추가하고 청크 단위로 실행/커밋합니다.
+     * 실패한 청크는 롤백 후 결과에 기록하고 다음 청크를 계속 처리합니다.
+     * @param sql 실행할 SQL 문
+     * @param items 바인딩할 항목 컬렉션
+     * @param chunkSize 한 트랜잭션에 포함할 항목 수
+     * @param binder 항목을 PreparedStatement에 바인딩하는 함수
+     * @param <T> 항목 타입
+     * @return 청크별 실패 정보를 담은 일괄 처리 결과
+     */
+    private <T> BatchResult executeInChunks(String sql, Collection<T> items, int chunkSize, Binder<T> binder) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        BatchResult result = new BatchResult();
+        int chunkIndex = 0;
+        int chunkStart = 0;
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            conn.setAutoCommit(false);
+            int inChunk = 0;
+            for (T item : items) {
+                binder.bind(pstmt, item);
+                pstmt.addBatch();
+                if (++inChunk == chunkSize) {
+                    flushChunk(conn, pstmt, result, chunkIndex++, chunkStart, inChunk);
+                    chunkStart += inChunk;
+                    inChunk = 0;
+                }
+            }
+            if (inChunk > 0) {
+                flushChunk(conn, pstmt, result, chunkIndex, chunkStart, inChunk);
+                chunkStart += inChunk;
+            }
+            conn.setAutoCommit(true);
+        } catch (Exception e) {
+            e.printStackTrace();
+            // 처리하지 못한 나머지 항목은 하나의 실패 청크로 기록합니다.
+            if (chunkStart < items.size()) {
+                result.failures.add(new ChunkFailure(chunkIndex, chunkStart, items.size() - chunkStart, e.getMessage()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Binder 인터페이스는 배치 항목 하나를 PreparedStatement 파라미터에 바인딩합니다.
+     * @param <T> 항목 타입
+     */
+    @FunctionalInterface
+    private interface Binder<T> {
+        void bind(PreparedStatement pstmt, T item) throws SQLException;
+    }
+
+    /**
+     * 학생 정보를 한 번의 INSERT ... ON DUPLICATE KEY UPDATE 문으로 저장하거나 수정합니다.
+     * @param student 저장할 학생 객체
+     * @return 삽입/수정 여부, 실패 시 null
+     */
+    public UpsertResult upsert(Student student) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UPSERT_SQL)) {
+            bindInsert(pstmt, student);
+            UpsertResult result = UpsertResult.fromUpdateCount(pstmt.executeUpdate());
+            failed = false;
+            fireSaved(student);
+            return result;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            cache.invalidate(student.getSno());
+            metrics.record(StudentDAOMetrics.Operation.UPSERT, start, 1, failed);
+        }
+    }
+
+    /**
+     * 여러 학생 정보를 기본 청크 크기로 저장하거나 수정합니다.
+     * @param students 저장할 학생 컬렉션
+     * @return 입력 순서대로의 삽입/수정 여부 (실패한 청크의 학생은 null)
+     */
+    public List<UpsertResult> upsertAll(Collection<Student> students) {
+        return upsertAll(students, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * 여러 학생 정보를 학생당 한 문장의 upsert로 저장하거나 수정합니다.
+     * 하나의 PreparedStatement를 재사용하고 청크마다 하나의 트랜잭션으로 커밋하며,
+     * 실패한 청크는 롤백 후 해당 학생들의 결과를 null로 남기고 다음 청크를 계속 처리합니다.
+     * 영향 건수가 0/1/2가 아닌 경우(연결 설정이 다른 경우 등)도 그 청크의 실패로 처리합니다.
+     * 행별 영향 건수로 삽입/수정을 구분해야 하므로 배치 재작성 대신 문장 단위로 실행합니다.
+     * @param students 저장할 학생 컬렉션
+     * @param chunkSize 한 트랜잭션에 포함할 학생 수
+     * @return 입력 순서대로의 삽입/수정 여부 (실패한 청크의 학생은 null)
+     */
+    public List<UpsertResult> upsertAll(Collection<Student> students, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        long start = System.nanoTime();
+        List<UpsertResult> results = new ArrayList<>(students.size());
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UPSERT_SQL)) {
+            conn.setAutoCommit(false);
+            List<UpsertResult> chunk = new ArrayList<>(Math.min(chunkSize, students.size()));
+            boolean failed = false;
+            for (Student student : students) {
+                if (!failed) {
+                    try {
+                        bindInsert(pstmt, student);
+                        chunk.add(UpsertResult.fromUpdateCount(pstmt.executeUpdate()));
+                    } catch (SQLException | IllegalStateException e) {
+                        // IllegalStateException: 드라이버가 예상하지 못한 영향 건수를 돌려준 경우 (fromUpdateCount)
+                        System.err.println("upsert 실패 (sno=" + student.getSno() + "): " + e.getMessage());
+                        failed = true;
+                    }
+                }
+                if (failed) {
+                    chunk.add(null);
+                }
+                if (chunk.size() == chunkSize) {
+                    commitChunk(conn, chunk, failed, results);
+                    failed = false;
+                }
+            }
+            if (!chunk.isEmpty()) {
+                commitChunk(conn, chunk, failed, results);
+            }
+            conn.setAutoCommit(true);
         } catch (Exception e) {
             e.printStackTrace();
+        } finally {
+            students.forEach(student -> cache.invalidate(student.getSno()));
+        }
+        while (results.size() < students.size()) {
+            results.add(null);
+        }
+        int index = 0;
+        for (Student student : students) {
+            if (results.get(index++) != null) {
+                fireSaved(student);
+            }
+        }
+        metrics.record(StudentDAOMetrics.Operation.UPSERT_ALL, start, students.size(), results.contains(null));
+        return results;
+    }
+
+    /**
+     * upsert 청크를 커밋하거나, 실패가 있었으면 롤백하고 청크 전체 결과를 null로 기록합니다.
+     * @param conn 트랜잭션을 수행 중인 커넥션
+     * @param chunk 현재 청크의 결과 (처리 후 비워짐)
+     * @param failed 청크 내 실패 여부
+     * @param results 전체 결과 리스트
+     * @throws SQLException 롤백 실패 시 예외 발생
+     */
+    private void commitChunk(Connection conn, List<UpsertResult> chunk, boolean failed,
+                             List<UpsertResult> results) throws SQLException {
+        if (!failed) {
+            try {
+                conn.commit();
+            } catch (SQLException e) {
+                System.err.println("upsert 커밋 실패: " + e.getMessage());
+                failed = true;
+            }
+        }
+        if (failed) {
+            conn.rollback();
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(null);
+            }
+        } else {
+            results.addAll(chunk);
         }
+        chunk.clear();
     }
 
     /**
-     * 주어진 학번으로 학생 정보를 조회합니다.
+     * 누적된 배치를 실행하고 커밋합니다. 실패 시 롤백하고 결과에 실패 청크를 기록합니다.
+     * @param conn 트랜잭션을 수행 중인 커넥션
+     * @param pstmt 배치가 누적된 PreparedStatement
+     * @param result 결과를 기록할 BatchResult
+     * @param chunkIndex 청크 번호 (0부터 시작)
+     * @param chunkStart 청크의 첫 학생 위치
+     * @param size 청크에 포함된 학생 수
+     * @throws SQLException 롤백 실패 시 예외 발생
+     */
+    private void flushChunk(Connection conn, PreparedStatement pstmt, BatchResult result,
+                            int chunkIndex, int chunkStart, int size) throws SQLException {
+        try {
+            pstmt.executeBatch();
+            conn.commit();
+            result.succeeded += size;
+        } catch (SQLException e) {
+            conn.rollback();
+            result.failures.add(new ChunkFailure(chunkIndex, chunkStart, size, e.getMessage()));
+        } finally {
+            pstmt.clearBatch();
+        }
+    }
+
+    /**
+     * 일괄 처리에서 실패한 청크를 제외한 항목마다 action을 실행합니다.
+     * @param items 일괄 처리에 넘긴 항목 컬렉션
+     * @param result 청크별 실패 정보를 담은 결과
+     * @param action 성공한 항목에 실행할 작업
+     * @param <T> 항목 타입
+     */
+    private <T> void forEachSucceeded(Collection<T> items, BatchResult result, Consumer<T> action) {
+        if (listeners.isEmpty() || result.getSucceeded() == 0) {
+            return;
+        }
+        boolean[] failed = new boolean[items.size()];
+        for (ChunkFailure failure : result.getFailures()) {
+            Arrays.fill(failed, failure.getStart(), failure.getStart() + failure.getSize(), true);
+        }
+        int index = 0;
+        for (T item : items) {
+            if (!failed[index++]) {
+                action.accept(item);
+            }
+        }
+    }
+
+    /**
+     * 등록된 리스너에 학생 저장을 알립니다. 리스너의 예외는 출력만 하고 쓰기 결과에 영향을 주지 않습니다.
+     * @param student 저장된 학생 객체
+     */
+    private void fireSaved(Student student) {
+        for (StudentChangeListener listener : listeners) {
+            try {
+                listener.onSaved(student);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * 등록된 리스너에 학생 삭제를 알립니다. 리스너의 예외는 출력만 하고 쓰기 결과에 영향을 주지 않습니다.
+     * @param sno 삭제된 학번
+     */
+    private void fireDeleted(String sno) {
+        for (StudentChangeListener listener : listeners) {
+            try {
+                listener.onDeleted(sno);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * INSERT 문에 학생 정보를 바인딩합니다.
+     * @param pstmt INSERT_SQL로 준비된 PreparedStatement
+     * @param student 저장할 학생 객체
+     * @throws SQLException 바인딩 실패 시 예외 발생
+     */
+    private void bindInsert(PreparedStatement pstmt, Student student) throws SQLException {
+        pstmt.setString(1, student.getSno());
+        pstmt.setString(2, student.getName());
+        pstmt.setInt(3, student.getScore(SubjectDictionary.KOREAN));
+        pstmt.setInt(4, student.getScore(SubjectDictionary.ENGLISH));
+        pstmt.setInt(5, student.getScore(SubjectDictionary.MATH));
+        pstmt.setInt(6, student.getScore(SubjectDictionary.SCIENCE));
+        pstmt.setInt(7, student.getTotal());
+        pstmt.setDouble(8, student.getAverage());
+        pstmt.setString(9, student.computeGrade());
+    }
+
+    /**
+     * 주어진 학번으로 학생 정보를 조회합니다. 캐시가 켜져 있으면 캐시를 먼저 확인합니다.
      * @param sno 조회할 학생의 학번
      * @return 조회된 Student 객체, 없으면 null 반환
      */
     public Student findStudentBySno(String sno) {
+        if (cacheEnabled) {
+            return cache.get(sno, this::loadStudentBySno);
+        }
+        return loadStudentBySno(sno);
+    }
+
+    /**
+     * 캐시를 거치지 않고 데이터베이스에서 학번으로 학생 정보를 조회합니다.
+     * @param sno 조회할 학생의 학번
+     * @return 조회된 Student 객체, 없으면 null 반환
+     */
+    private Student loadStudentBySno(String sno) {
+        long start = System.nanoTime();
+        boolean failed = true;
         Student student = null;
-        try {
-            Connection conn = getConnection();
-            PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM STUDENT WHERE sno = ?");
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM STUDENT WHERE sno = ?")) {
             pstmt.setString(1, sno);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    String name = rs.getString("name");
-                    int korean = rs.getInt("korean");
-                    int english = rs.getInt("english");
-                    int math = rs.getInt("math");
-                    int science = rs.getInt("science");
-
-                    Student.StudentBuilder builder = new Student.StudentBuilder()
-                            .sno(sno)
-                            .name(name);
-                    builder.addSubject("korean", korean);
-                    builder.addSubject("english", english);
-                    builder.addSubject("math", math);
-                    builder.addSubject("science", science);
-                    student = builder.build();
+                    student = mapStudent(rs);
                 }
             }
+            failed = false;
         } catch (Exception e) {
             e.printStackTrace();
+        } finally {
+            metrics.record(StudentDAOMetrics.Operation.FIND_BY_SNO, start, student == null ? 0 : 1, failed);
         }
         return student;
     }
@@ -97,13 +526,20 @@ public class StudentDAO {
      * @param sno 삭제할 학생의 학번
      */
     public void delete(String sno) {
-        try {
-            Connection conn = getConnection();
-            PreparedStatement pstmt = conn.prepareStatement("DELETE FROM STUDENT WHERE sno = ?");
+        long start = System.nanoTime();
+        boolean failed = true;
+        int deleted = 0;
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("DELETE FROM STUDENT WHERE sno = ?")) {
             pstmt.setString(1, sno);
-            pstmt.executeUpdate();
+            deleted = pstmt.executeUpdate();
+            failed = false;
+            fireDeleted(sno);
         } catch (Exception e) {
             e.printStackTrace();
+        } finally {
+            cache.invalidate(sno);
+            metrics.record(StudentDAOMetrics.Operation.DELETE, start, deleted, failed);
         }
     }
 
@@ -112,35 +548,281 @@ public class StudentDAO {
      * @return 모든 학생 정보 리스트
      */
     public List<Student> getAllStudents() {
+        long start = System.nanoTime();
+        boolean failed = true;
         List<Student> studentList = new ArrayList<>();
-        try {
-            Connection conn = getConnection();
-            PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM STUDENT");
-            ResultSet rs = pstmt.executeQuery();
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM STUDENT");
+             ResultSet rs = pstmt.executeQuery()) {
             while (rs.next()) {
-                String sno = rs.getString("sno");
-                String name = rs.getString("name");
-                int korean = rs.getInt("korean");
-                int english = rs.getInt("english");
-                int math = rs.getInt("math");
-                int science = rs.getInt("science");
-
-                Student student = new Student.StudentBuilder()
-                        .sno(sno)
-                        .name(name)
-                        .addSubject("korean", korean)
-                        .addSubject("english", english)
-                        .addSubject("math", math)
-                        .addSubject("science", science)
-                        .build();
-                studentList.add(student);
+                studentList.add(mapStudent(rs));
             }
+            failed = false;
         } catch (Exception e) {
             e.printStackTrace();
+        } finally {
+            metrics.record(StudentDAOMetrics.Operation.GET_ALL, start, studentList.size(), failed);
         }
         return studentList;
     }
 
+    /**
+     * 기본 fetch 크기로 모든 학생 정보를 스트림으로 조회합니다.
+     * @return 학생 스트림 (사용 후 반드시 close 필요)
+     */
+    public Stream<Student> streamAllStudents() {
+        return streamAllStudents(DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * 모든 학생 정보를 전진 전용(forward-only) 커서로 지연 조회하는 스트림을 반환합니다.
+     * 테이블 전체를 메모리에 올리지 않으며, 스트림을 닫으면 ResultSet, Statement, Connection이 함께 반환됩니다.
+     * 순회 도중의 조회 오류는 StreamException으로 전달되므로 호출자가 잡아 처리해야 합니다.
+     * @param fetchSize 한 번에 서버에서 가져올 행 수
+     * @return 학생 스트림 (try-with-resources로 close 필요)
+     */
+    public Stream<Student> streamAllStudents(int fetchSize) {
+        return streamQuery(StudentDAOMetrics.Operation.STREAM_ALL, "SELECT * FROM STUDENT", fetchSize,
+                pstmt -> { }, this::mapStudent);
+    }
+
+    /**
+     * 파라미터를 바인딩한 SELECT 문을 전진 전용 커서로 실행하고 각 행을 변환한 스트림을 반환합니다.
+     * 조회에 실패하면 오류를 출력하고 빈 스트림을 반환하며, 순회 도중의 오류는 StreamException으로 던집니다.
+     * 지표는 스트림을 닫을 때 연 시점부터의 시간과 읽은 행 수로 기록합니다.
+     * @param operation 지표를 기록할 작업
+     * @param sql 실행할 SELECT 문
+     * @param fetchSize 한 번에 서버에서 가져올 행 수
+     * @param parameters 파라미터를 바인딩하는 함수
+     * @param mapper 현재 행을 변환하는 함수
+     * @param <T> 행 타입
+     * @return 행 스트림 (사용 후 반드시 close 필요)
+     */
+    private <T> Stream<T> streamQuery(StudentDAOMetrics.Operation operation, String sql, int fetchSize,
+                                      ParameterBinder parameters, RowMapper<T> mapper) {
+        return streamQuery(operation, sql, fetchSize, parameters, mapper, false);
+    }
+
+    /**
+     * 파라미터를 바인딩한 SELECT 문을 전진 전용 커서로 실행하고 각 행을 변환한 스트림을 반환합니다.
+     * 빈 결과와 조회 실패를 구분해야 하는 경우(변경 로그 등) failOnOpen을 켜면 조회 실패도 StreamException으로 던집니다.
+     * @param operation 지표를 기록할 작업
+     * @param sql 실행할 SELECT 문
+     * @param fetchSize 한 번에 서버에서 가져올 행 수
+     * @param parameters 파라미터를 바인딩하는 함수
+     * @param mapper 현재 행을 변환하는 함수
+     * @param failOnOpen true이면 조회 실패 시 빈 스트림 대신 예외 발생
+     * @param <T> 행 타입
+     * @return 행 스트림 (사용 후 반드시 close 필요)
+     * @throws StreamException failOnOpen이고 커넥션 대여나 조회 실행에 실패하면 예외 발생
+     */
+    private <T> Stream<T> streamQuery(StudentDAOMetrics.Operation operation, String sql, int fetchSize,
+                                      ParameterBinder parameters, RowMapper<T> mapper, boolean failOnOpen) {
+        long start = System.nanoTime();
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            conn = getConnection();
+            pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstmt.setFetchSize(fetchSize);
+            parameters.bind(pstmt);
+            rs = pstmt.executeQuery();
+        } catch (SQLException | RuntimeException e) {
+            closeQuietly(rs, pstmt, conn);
+            metrics.record(operation, start, 0, true);
+            if (failOnOpen) {
+                throw e instanceof SQLException ? new StreamException((SQLException) e) : (RuntimeException) e;
+            }
+            e.printStackTrace();
+            return Stream.empty();
+        }
+
+        ResultSet cursor = rs;
+        long[] rows = new long[1];
+        boolean[] failed = new boolean[1];
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<T>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!cursor.next()) {
+                        return false;
+                    }
+                    rows[0]++;
+                    action.accept(mapper.map(cursor));
+                    return true;
+                } catch (SQLException e) {
+                    failed[0] = true;
+                    throw new StreamException(e);
+                }
+            }
+        };
+        PreparedStatement statement = pstmt;
+        Connection connection = conn;
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> {
+                    closeQuietly(cursor, statement, connection);
+                    metrics.record(operation, start, rows[0], failed[0]);
+                });
+    }
+
+    /**
+     * ParameterBinder 인터페이스는 조회 문의 파라미터를 바인딩합니다.
+     */
+    @FunctionalInterface
+    private interface ParameterBinder {
+        void bind(PreparedStatement pstmt) throws SQLException;
+    }
+
+    /**
+     * RowMapper 인터페이스는 ResultSet의 현재 행을 객체로 변환합니다.
+     * @param <T> 행 타입
+     */
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * 변경 로그(STUDENT_CHANGE)의 마지막 커밋된 순번을 조회합니다.
+     * 변경 로그는 STUDENT 테이블의 INSERT/UPDATE/DELETE 트리거가 기록합니다. (student_schema.sql 참고)
+     * 트리거는 STUDENT_CHANGE_SEQ 카운터 행을 잠근 채 순번을 받으므로 순번 순서가 커밋 순서와 같습니다.
+     * 카운터를 잠금 없이 읽으면 마지막으로 커밋된 값이 나오고, 그 이하의 변경은 모두 커밋되어 있으므로
+     * 이 값을 구간 경계로 쓰면 늦게 커밋된 변경을 놓치지 않습니다. (MAX(seq)는 작은 순번이 늦게 커밋되면 건너뜀)
+     * @return 마지막 변경 순번 (변경이 없으면 0), 조회 실패 시 -1
+     */
+    public long getLastChangeSeq() {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT seq FROM STUDENT_CHANGE_SEQ WHERE id = 1");
+             ResultSet rs = pstmt.executeQuery()) {
+            long seq = rs.next() ? rs.getLong(1) : 0;
+            failed = false;
+            return seq;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return -1;
+        } finally {
+            metrics.record(StudentDAOMetrics.Operation.LAST_CHANGE_SEQ, start, 0, failed);
+        }
+    }
+
+    /**
+     * 변경 순번 (afterSeq, uptoSeq] 구간에 바뀐 학생을 학번당 한 건씩, 마지막 변경 순서대로 조회합니다.
+     * 학생의 현재 행을 함께 읽으므로 여러 번 바뀐 학생도 최종 상태만 반환되고,
+     * 지금은 없는 학생은 삭제로 반환됩니다.
+     * 조회 시점에 uptoSeq 이후 변경까지 반영된 행이 나올 수 있지만, 그 변경은 다음 구간에 다시 포함되므로
+     * 구간을 순서대로 재생하면 같은 결과가 됩니다.
+     * 빈 구간과 조회 실패를 구분해야 하므로 다른 스트림 조회와 달리 조회 실패도 빈 스트림이 아닌 예외로 알립니다.
+     * @param afterSeq 이 순번 이후의 변경부터 (제외)
+     * @param uptoSeq 이 순번까지의 변경 (포함)
+     * @return 변경 스트림 (try-with-resources로 close 필요)
+     * @throws StreamException 조회를 시작하지 못하거나 순회 도중 실패하면 예외 발생
+     */
+    public Stream<Change> streamChanges(long afterSeq, long uptoSeq) {
+        return streamQuery(StudentDAOMetrics.Operation.STREAM_CHANGES, "SELECT c.sno AS changed_sno, s.* FROM"
+                        + " (SELECT sno, MAX(seq) AS last_seq FROM STUDENT_CHANGE WHERE seq > ? AND seq <= ? GROUP BY sno) c"
+                        + " LEFT JOIN STUDENT s ON s.sno = c.sno ORDER BY c.last_seq",
+                DEFAULT_FETCH_SIZE,
+                pstmt -> {
+                    pstmt.setLong(1, afterSeq);
+                    pstmt.setLong(2, uptoSeq);
+                },
+                rs -> new Change(rs.getString("changed_sno"), rs.getString("sno") == null ? null : mapStudent(rs)),
+                true);
+    }
+
+    /**
+     * 순번 uptoSeq까지의 변경 로그를 삭제합니다. 새 전체 백업을 만든 뒤 이전 변경을 정리할 때 사용합니다.
+     * @param uptoSeq 삭제할 마지막 변경 순번 (포함)
+     * @return 삭제한 변경 수, 실패 시 -1
+     */
+    public int purgeChanges(long uptoSeq) {
+        long start = System.nanoTime();
+        int purged = -1;
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("DELETE FROM STUDENT_CHANGE WHERE seq <= ?")) {
+            pstmt.setLong(1, uptoSeq);
+            purged = pstmt.executeUpdate();
+            return purged;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return -1;
+        } finally {
+            metrics.record(StudentDAOMetrics.Operation.PURGE_CHANGES, start, Math.max(purged, 0), purged < 0);
+        }
+    }
+
+    /**
+     * 정렬 기준에 따라 키셋(seek) 방식으로 한 페이지의 학생 정보를 조회합니다.
+     * OFFSET 없이 직전 페이지의 마지막 학생 키 다음부터 읽으므로, 페이지 번호와 무관하게
+     * (total, sno) 또는 sno 인덱스 범위 탐색 한 번으로 처리됩니다.
+     * @param sortKey 정렬 기준
+     * @param after 직전 페이지의 마지막 학생, 첫 페이지이면 null
+     * @param limit 페이지 크기
+     * @return 정렬된 학생 리스트 (최대 limit건)
+     */
+    public List<Student> findPage(SortKey sortKey, Student after, int limit) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        List<Student> page = new ArrayList<>(limit);
+        String sql = after == null ? sortKey.firstPageSql : sortKey.nextPageSql;
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            if (after != null) {
+                index = sortKey.bindAfter(pstmt, after);
+            }
+            pstmt.setInt(index, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    page.add(mapStudent(rs));
+                }
+            }
+            failed = false;
+        } catch (Exception e) {
+            e.printStackTrace();
+        } finally {
+            metrics.record(StudentDAOMetrics.Operation.FIND_PAGE, start, page.size(), failed);
+        }
+        return page;
+    }
+
+    /**
+     * 현재 ResultSet 행을 Student 객체로 변환합니다.
+     * @param rs STUDENT 테이블 행을 가리키는 ResultSet
+     * @return 변환된 Student 객체
+     * @throws SQLException 컬럼 조회 실패 시 예외 발생
+     */
+    private Student mapStudent(ResultSet rs) throws SQLException {
+        return new Student.StudentBuilder()
+                .sno(rs.getString("sno"))
+                .name(rs.getString("name"))
+                .addSubject(SubjectDictionary.KOREAN, rs.getInt("korean"))
+                .addSubject(SubjectDictionary.ENGLISH, rs.getInt("english"))
+                .addSubject(SubjectDictionary.MATH, rs.getInt("math"))
+                .addSubject(SubjectDictionary.SCIENCE, rs.getInt("science"))
+                .build();
+    }
+
+    /**
+     * 예외를 무시하고 JDBC 자원을 순서대로 닫습니다.
+     * @param resources 닫을 자원 (null 허용)
+     */
+    private static void closeQuietly(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
     /**
      * 데이터베이스의 학생 정보를 전체 업데이트합니다. (이름과 성적 모두 업데이트)
      * @param student 업데이트할 학생 객체
@@ -149,15 +831,17 @@ public class StudentDAO {
         int total = student.getTotal();
         double average = student.getAverage();
         String grade = student.computeGrade();
-        int korean = getSubjectScore(student, "korean");
-        int english = getSubjectScore(student, "english");
-        int math = getSubjectScore(student, "math");
-        int science = getSubjectScore(student, "science");
+        int korean = student.getScore(SubjectDictionary.KOREAN);
+        int english = student.getScore(SubjectDictionary.ENGLISH);
+        int math = student.getScore(SubjectDictionary.MATH);
+        int science = student.getScore(SubjectDictionary.SCIENCE);
 
-        try {
-            Connection conn = getConnection();
-            PreparedStatement pstmt = conn.prepareStatement(
-                    "UPDATE STUDENT SET name=?, korean=?, english=?, math=?, science=?, total=?, average=?, grade=? WHERE sno = ?");
+        long start = System.nanoTime();
+        boolean failed = true;
+        int updated = 0;
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "UPDATE STUDENT SET name=?, korean=?, english=?, math=?, science=?, total=?, average=?, grade=? WHERE sno = ?")) {
             pstmt.setString(1, student.getName());
             pstmt.setInt(2, korean);
             pstmt.setInt(3, english);
@@ -167,9 +851,16 @@ public class StudentDAO {
             pstmt.setDouble(7, average);
             pstmt.setString(8, grade);
             pstmt.setString(9, student.getSno());
-            pstmt.executeUpdate();
+            updated = pstmt.executeUpdate();
+            failed = false;
+            if (updated > 0) {
+                fireSaved(student);
+            }
         } catch (Exception e) {
             e.printStackTrace();
+        } finally {
+            cache.invalidate(student.getSno());
+            metrics.record(StudentDAOMetrics.Operation.UPDATE, start, updated, failed);
         }
     }
 
@@ -181,15 +872,17 @@ public class StudentDAO {
         int total = student.getTotal();
         double average = student.getAverage();
         String grade = student.computeGrade();
-        int korean = getSubjectScore(student, "korean");
-        int english = getSubjectScore(student, "english");
-        int math = getSubjectScore(student, "math");
-        int science = getSubjectScore(student, "science");
+        int korean = student.getScore(SubjectDictionary.KOREAN);
+        int english = student.getScore(SubjectDictionary.ENGLISH);
+        int math = student.getScore(SubjectDictionary.MATH);
+        int science = student.getScore(SubjectDictionary.SCIENCE);
 
-        try {
-            Connection conn = getConnection();
-            PreparedStatement pstmt = conn.prepareStatement(
-                    "UPDATE STUDENT SET korean=?, english=?, math=?, science=?, total=?, average=?, grade=? WHERE sno = ?");
+        long start = System.nanoTime();
+        boolean failed = true;
+        int updated = 0;
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "UPDATE STUDENT SET korean=?, english=?, math=?, science=?, total=?, average=?, grade=? WHERE sno = ?")) {
             pstmt.setInt(1, korean);
             pstmt.setInt(2, english);
             pstmt.setInt(3, math);
@@ -198,23 +891,503 @@ public class StudentDAO {
             pstmt.setDouble(6, average);
             pstmt.setString(7, grade);
             pstmt.setString(8, student.getSno());
-            pstmt.executeUpdate();
+            updated = pstmt.executeUpdate();
+            failed = false;
+            if (updated > 0) {
+                fireSaved(student);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        } finally {
+            cache.invalidate(student.getSno());
+            metrics.record(StudentDAOMetrics.Operation.UPDATE_SCORES, start, updated, failed);
+        }
+    }
+
+    /**
+     * 여러 학생 정보를 정규화된 저장소(STUDENT_INFO, STUDENT_SCORE)에 저장하거나 수정합니다.
+     * 과목 수에 제한이 없으며, 청크마다 한 트랜잭션에서 학생 upsert, 기존 점수 삭제, 점수 삽입을 각각 JDBC 배치로 실행합니다.
+     * (rewriteBatchedStatements로 여러 행 INSERT 문 하나로 전송됨)
+     * 넓은 테이블(STUDENT)과는 별개의 저장소이므로 캐시와 변경 리스너에는 영향을 주지 않습니다.
+     * 한 청크 안에 같은 학번이 여러 번 있으면 마지막 학생만 저장합니다. (청크가 다르면 뒤 청크가 덮어씀)
+     * 성공 수와 청크 실패 위치는 중복을 포함한 입력 기준입니다.
+     * @param students 저장할 학생 컬렉션
+     * @param chunkSize 한 트랜잭션에 포함할 학생 수
+     * @return 청크별 실패 정보를 담은 일괄 처리 결과
+     */
+    public BatchResult upsertAllNormalized(Collection<Student> students, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        long start = System.nanoTime();
+        BatchResult result = new BatchResult();
+        int chunkIndex = 0;
+        int chunkStart = 0;
+        try (Connection conn = getConnection();
+             PreparedStatement info = conn.prepareStatement(
+                     "INSERT INTO STUDENT_INFO (sno, name) VALUES (?, ?) ON DUPLICATE KEY UPDATE name=VALUES(name)");
+             PreparedStatement clear = conn.prepareStatement("DELETE FROM STUDENT_SCORE WHERE sno = ?");
+             PreparedStatement scores = conn.prepareStatement(
+                     "INSERT INTO STUDENT_SCORE (sno, ord, subject, score) VALUES (?, ?, ?, ?)")) {
+            conn.setAutoCommit(false);
+            // 같은 청크에 같은 학번이 두 번 나오면 점수 행이 (sno, ord) 기본 키에서 충돌하므로 마지막 학생만 남깁니다.
+            Map<String, Student> chunk = new HashMap<>();
+            int inChunk = 0;
+            for (Student student : students) {
+                chunk.put(student.getSno(), student);
+                if (++inChunk == chunkSize) {
+                    addNormalizedBatch(chunk.values(), info, clear, scores);
+                    chunk.clear();
+                    flushNormalizedChunk(conn, result, chunkIndex++, chunkStart, inChunk, info, clear, scores);
+                    chunkStart += inChunk;
+                    inChunk = 0;
+                }
+            }
+            if (inChunk > 0) {
+                addNormalizedBatch(chunk.values(), info, clear, scores);
+                flushNormalizedChunk(conn, result, chunkIndex, chunkStart, inChunk, info, clear, scores);
+                chunkStart += inChunk;
+            }
+            conn.setAutoCommit(true);
         } catch (Exception e) {
             e.printStackTrace();
+            if (chunkStart < students.size()) {
+                result.failures.add(new ChunkFailure(chunkIndex, chunkStart, students.size() - chunkStart, e.getMessage()));
+            }
+        } finally {
+            metrics.record(StudentDAOMetrics.Operation.UPSERT_NORMALIZED, start, students.size(),
+                    result.getFailedCount() > 0);
+        }
+        return result;
+    }
+
+    /**
+     * 학생들의 STUDENT_INFO upsert, 기존 점수 삭제, 점수 삽입을 각 배치에 추가합니다.
+     * @param students 추가할 학생 (학번이 서로 달라야 함)
+     * @param info STUDENT_INFO upsert 문
+     * @param clear STUDENT_SCORE 삭제 문
+     * @param scores STUDENT_SCORE 삽입 문
+     * @throws SQLException 파라미터 바인딩 실패 시 예외 발생
+     */
+    private static void addNormalizedBatch(Collection<Student> students, PreparedStatement info,
+                                           PreparedStatement clear, PreparedStatement scores) throws SQLException {
+        for (Student student : students) {
+            info.setString(1, student.getSno());
+            info.setString(2, student.getName());
+            info.addBatch();
+            clear.setString(1, student.getSno());
+            clear.addBatch();
+            for (int i = 0; i < student.getSubjectCount(); i++) {
+                int subjectId = student.getSubjectId(i);
+                scores.setString(1, student.getSno());
+                scores.setInt(2, i);
+                scores.setString(3, SubjectDictionary.nameOf(subjectId));
+                scores.setInt(4, student.getScore(subjectId));
+                scores.addBatch();
+            }
+        }
+    }
+
+    /**
+     * 정규화된 저장소의 청크 하나를 실행하고 커밋합니다. 실패하면 롤백 후 결과에 기록합니다.
+     * @param conn 트랜잭션 중인 커넥션
+     * @param result 결과를 기록할 BatchResult
+     * @param chunkIndex 청크 번호 (0부터 시작)
+     * @param chunkStart 청크의 첫 학생 위치
+     * @param size 청크에 포함된 학생 수
+     * @param statements 실행 순서대로의 배치 문
+     * @throws SQLException 롤백 실패 시 예외 발생
+     */
+    private void flushNormalizedChunk(Connection conn, BatchResult result, int chunkIndex, int chunkStart, int size,
+                                      PreparedStatement... statements) throws SQLException {
+        try {
+            for (PreparedStatement pstmt : statements) {
+                pstmt.executeBatch();
+            }
+            conn.commit();
+            result.succeeded += size;
+        } catch (SQLException e) {
+            conn.rollback();
+            result.failures.add(new ChunkFailure(chunkIndex, chunkStart, size, e.getMessage()));
+        } finally {
+            for (PreparedStatement pstmt : statements) {
+                pstmt.clearBatch();
+            }
         }
     }
 
     /**
-     * 학생 객체에서 특정 과목의 점수를 추출합니다.
-     * @param student 학생 객체
-     * @param subjectName 과목명
-     * @return 해당 과목의 점수, 없으면 0 반환
+     * 여러 학번의 학생 정보를 정규화된 저장소에서 삭제합니다. 점수 행은 외래 키(ON DELETE CASCADE)로 함께 삭제됩니다.
+     * @param snos 삭제할 학번 컬렉션
+     * @param chunkSize 한 트랜잭션에 포함할 학번 수
+     * @return 청크별 실패 정보를 담은 일괄 처리 결과
+     */
+    public BatchResult deleteAllNormalized(Collection<String> snos, int chunkSize) {
+        long start = System.nanoTime();
+        BatchResult result = null;
+        try {
+            result = executeInChunks("DELETE FROM STUDENT_INFO WHERE sno = ?", snos, chunkSize,
+                    (pstmt, sno) -> pstmt.setString(1, sno));
+            return result;
+        } finally {
+            metrics.record(StudentDAOMetrics.Operation.DELETE_NORMALIZED, start, snos.size(),
+                    result == null || result.getFailedCount() > 0);
+        }
+    }
+
+    /**
+     * 기본 fetch 크기로 정규화된 저장소의 모든 학생을 학번 순 스트림으로 조회합니다.
+     * @return 학생 스트림 (사용 후 반드시 close 필요)
+     */
+    public Stream<Student> streamAllNormalized() {
+        return streamAllNormalized(DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * 정규화된 저장소의 모든 학생을 학번 순으로 지연 조회하는 스트림을 반환합니다.
+     * 학생과 점수를 (sno, ord) 순서의 조인 한 번으로 읽고, 연속된 같은 학번의 행을 학생 하나로 묶으므로
+     * 학생마다 점수를 따로 조회하지 않으며(N+1 없음) 메모리에는 학생 한 명분의 행만 올라갑니다.
+     * 점수가 없는 학생은 과목 없이 반환됩니다.
+     * @param fetchSize 한 번에 서버에서 가져올 행 수 (학생 수가 아니라 점수 행 수)
+     * @return 학생 스트림 (try-with-resources로 close 필요)
      */
-    private int getSubjectScore(Student student, String subjectName) {
-        return student.getSubjects().stream()
-                .filter(subject -> subject.getName().equalsIgnoreCase(subjectName))
-                .mapToInt(Student.Subject::getScore)
-                .findFirst()
-                .orElse(0);
+    public Stream<Student> streamAllNormalized(int fetchSize) {
+        Stream<ScoreRow> rows = streamQuery(StudentDAOMetrics.Operation.STREAM_NORMALIZED,
+                "SELECT i.sno, i.name, s.subject, s.score FROM STUDENT_INFO i"
+                        + " LEFT JOIN STUDENT_SCORE s ON s.sno = i.sno ORDER BY i.sno, s.ord",
+                fetchSize, pstmt -> { },
+                rs -> new ScoreRow(rs.getString(1), rs.getString(2), rs.getString(3), rs.getInt(4)));
+        Iterator<ScoreRow> it = rows.iterator();
+        Map<String, Integer> subjectIds = new HashMap<>();
+        Spliterator<Student> spliterator = new Spliterators.AbstractSpliterator<Student>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private ScoreRow pending;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Student> action) {
+                if (pending == null) {
+                    if (!it.hasNext()) {
+                        return false;
+                    }
+                    pending = it.next();
+                }
+                String sno = pending.sno;
+                Student.StudentBuilder builder = new Student.StudentBuilder().sno(sno).name(pending.name);
+                do {
+                    if (pending.subject != null) {
+                        builder.addSubject(subjectIds.computeIfAbsent(pending.subject, SubjectDictionary::idOf),
+                                pending.score);
+                    }
+                    pending = it.hasNext() ? it.next() : null;
+                } while (pending != null && pending.sno.equals(sno));
+                action.accept(builder.build());
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(rows::close);
+    }
+
+    /**
+     * ScoreRow 클래스는 정규화된 저장소 조인 결과의 한 행(학생 한 명의 과목 하나)입니다.
+     */
+    private static final class ScoreRow {
+        private final String sno;
+        private final String name;
+        private final String subject;
+        private final int score;
+
+        ScoreRow(String sno, String name, String subject, int score) {
+            this.sno = sno;
+            this.name = name;
+            this.subject = subject;
+            this.score = score;
+        }
+    }
+
+    /**
+     * 넓은 테이블(STUDENT)의 모든 학생을 정규화된 저장소로 복사합니다.
+     * 행 단위로 읽어 쓰지 않고 INSERT ... SELECT 문으로 데이터베이스 안에서 한 트랜잭션에 처리합니다.
+     * 이미 있는 학생은 이름을 갱신하고 점수를 넓은 테이블의 네 과목으로 바꿉니다.
+     * @return 복사한 학생 수, 실패 시 -1
+     */
+    public int copyWideToNormalized() {
+        String[] columns = { "korean", "english", "math", "science" };
+        int[] subjectIds = {
+                SubjectDictionary.KOREAN, SubjectDictionary.ENGLISH, SubjectDictionary.MATH, SubjectDictionary.SCIENCE };
+        StringBuilder insertScores = new StringBuilder("INSERT INTO STUDENT_SCORE (sno, ord, subject, score) ");
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                insertScores.append(" UNION ALL ");
+            }
+            insertScores.append("SELECT sno, ").append(i).append(", '").append(SubjectDictionary.nameOf(subjectIds[i]))
+                    .append("', ").append(columns[i]).append(" FROM STUDENT");
+        }
+
+        long start = System.nanoTime();
+        int copied = -1;
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement info = conn.prepareStatement("INSERT INTO STUDENT_INFO (sno, name)"
+                         + " SELECT sno, name FROM STUDENT ON DUPLICATE KEY UPDATE name=VALUES(name)");
+                 PreparedStatement clear = conn.prepareStatement(
+                         "DELETE s FROM STUDENT_SCORE s JOIN STUDENT w ON w.sno = s.sno");
+                 PreparedStatement scores = conn.prepareStatement(insertScores.toString());
+                 PreparedStatement count = conn.prepareStatement("SELECT COUNT(*) FROM STUDENT")) {
+                info.executeUpdate();
+                clear.executeUpdate();
+                scores.executeUpdate();
+                try (ResultSet rs = count.executeQuery()) {
+                    rs.next();
+                    copied = rs.getInt(1);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                copied = -1;
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            return copied;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return -1;
+        } finally {
+            metrics.record(StudentDAOMetrics.Operation.COPY_TO_NORMALIZED, start, Math.max(copied, 0), copied < 0);
+        }
+    }
+
+    /**
+     * SortKey 열거형은 페이지 조회의 정렬 기준과 키셋 조건 SQL을 정의합니다.
+     * TOTAL은 (total DESC, sno), SNO는 sno 오름차순이며, 각각 idx_student_total_sno와 기본 키 인덱스를 사용합니다.
+     */
+    public enum SortKey {
+        TOTAL("SELECT * FROM STUDENT ORDER BY total DESC, sno LIMIT ?",
+                "SELECT * FROM STUDENT WHERE total < ? OR (total = ? AND sno > ?) ORDER BY total DESC, sno LIMIT ?") {
+            @Override
+            int bindAfter(PreparedStatement pstmt, Student after) throws SQLException {
+                pstmt.setInt(1, after.getTotal());
+                pstmt.setInt(2, after.getTotal());
+                pstmt.setString(3, after.getSno());
+                return 4;
+            }
+        },
+        SNO("SELECT * FROM STUDENT ORDER BY sno LIMIT ?",
+                "SELECT * FROM STUDENT WHERE sno > ? ORDER BY sno LIMIT ?") {
+            @Override
+            int bindAfter(PreparedStatement pstmt, Student after) throws SQLException {
+                pstmt.setString(1, after.getSno());
+                return 2;
+            }
+        };
+
+        private final String firstPageSql;
+        private final String nextPageSql;
+
+        SortKey(String firstPageSql, String nextPageSql) {
+            this.firstPageSql = firstPageSql;
+            this.nextPageSql = nextPageSql;
+        }
+
+        /**
+         * 직전 페이지 마지막 학생의 키를 키셋 조건에 바인딩합니다.
+         * @param pstmt nextPageSql로 준비된 PreparedStatement
+         * @param after 직전 페이지의 마지막 학생
+         * @return LIMIT 파라미터의 위치
+         * @throws SQLException 바인딩 실패 시 예외 발생
+         */
+        abstract int bindAfter(PreparedStatement pstmt, Student after) throws SQLException;
+    }
+
+    /**
+     * UpsertResult 열거형은 upsert 문이 새 행을 삽입했는지, 기존 행을 수정했는지를 표현합니다.
+     */
+    public enum UpsertResult {
+        INSERTED, UPDATED, UNCHANGED;
+
+        /**
+         * MySQL의 ON DUPLICATE KEY UPDATE 영향 건수를 결과로 변환합니다.
+         * (1: 삽입, 2: 수정, 0: 기존 값과 동일)
+         * 0은 실제로 바뀐 행 수를 돌려주는 연결(useAffectedRows=true, StudentConnectionPool.URL)에서만 나옵니다.
+         * 기본값(found rows)이면 값이 같은 행도 1로 세어져 INSERTED로 잘못 보고됩니다.
+         * @param count executeUpdate 반환값
+         * @return 대응하는 UpsertResult
+         */
+        static UpsertResult fromUpdateCount(int count) {
+            switch (count) {
+                case 1:
+                    return INSERTED;
+                case 2:
+                    return UPDATED;
+                case 0:
+                    return UNCHANGED;
+                default:
+                    throw new IllegalStateException("unexpected upsert update count: " + count);
+            }
+        }
+    }
+
+    /**
+     * Change 클래스는 변경 로그 구간에서 바뀐 학생 한 명(현재 상태 또는 삭제)을 표현합니다.
+     */
+    public static class Change {
+        private final String sno;
+        private final Student student;
+
+        Change(String sno, Student student) {
+            this.sno = sno;
+            this.student = student;
+        }
+
+        /**
+         * 바뀐 학생의 학번을 반환합니다.
+         * @return 학번
+         */
+        public String getSno() {
+            return sno;
+        }
+
+        /**
+         * 학생의 현재 상태를 반환합니다.
+         * @return 학생 객체, 삭제된 경우 null
+         */
+        public Student getStudent() {
+            return student;
+        }
+
+        /**
+         * 삭제된 학생인지 여부를 반환합니다.
+         * @return 삭제되었으면 true
+         */
+        public boolean isDeleted() {
+            return student == null;
+        }
+
+        @Override
+        public String toString() {
+            return isDeleted() ? "deleted " + sno : student.toString();
+        }
+    }
+
+    /**
+     * BatchResult 클래스는 배치 일괄 처리의 결과(성공한 건수와 실패한 청크 목록)를 표현합니다.
+     */
+    public static class BatchResult {
+        private int succeeded;
+        private final List<ChunkFailure> failures = new ArrayList<>();
+
+        /**
+         * 커밋에 성공한 항목 수를 반환합니다.
+         * @return 성공한 항목 수
+         */
+        public int getSucceeded() {
+            return succeeded;
+        }
+
+        /**
+         * 실패한 청크 목록을 반환합니다.
+         * @return 실패 청크 리스트
+         */
+        public List<ChunkFailure> getFailures() {
+            return failures;
+        }
+
+        /**
+         * 실패한 청크에 포함된 항목 수를 반환합니다.
+         * @return 반영되지 않은 항목 수
+         */
+        public int getFailedCount() {
+            return failures.stream().mapToInt(ChunkFailure::getSize).sum();
+        }
+
+        /**
+         * 일괄 저장 결과를 문자열로 반환합니다.
+         * @return 결과 문자열
+         */
+        @Override
+        public String toString() {
+            return "succeeded=" + succeeded + ", failed=" + getFailedCount() + ", failedChunks=" + failures.size();
+        }
+    }
+
+    /**
+     * ChunkFailure 클래스는 롤백된 청크의 위치와 원인을 표현합니다.
+     */
+    public static class ChunkFailure {
+        private final int chunkIndex;
+        private final int start;
+        private final int size;
+        private final String message;
+
+        /**
+         * ChunkFailure 생성자
+         * @param chunkIndex 청크 번호
+         * @param start 청크의 첫 학생 위치
+         * @param size 청크에 포함된 학생 수
+         * @param message 실패 원인 메시지
+         */
+        public ChunkFailure(int chunkIndex, int start, int size, String message) {
+            this.chunkIndex = chunkIndex;
+            this.start = start;
+            this.size = size;
+            this.message = message;
+        }
+
+        /**
+         * 청크 번호를 반환합니다.
+         * @return 청크 번호
+         */
+        public int getChunkIndex() {
+            return chunkIndex;
+        }
+
+        /**
+         * 청크의 첫 학생 위치를 반환합니다.
+         * @return 시작 위치
+         */
+        public int getStart() {
+            return start;
+        }
+
+        /**
+         * 청크에 포함된 학생 수를 반환합니다.
+         * @return 학생 수
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * 실패 원인 메시지를 반환합니다.
+         * @return 실패 원인
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * 실패 정보를 문자열로 반환합니다.
+         * @return 실패 정보 문자열
+         */
+        @Override
+        public String toString() {
+            return "chunk#" + chunkIndex + " [" + start + ", " + (start + size) + "): " + message;
+        }
+    }
+
+    /**
+     * 스트림 조회 도중(커서 이동, 행 변환) 발생한 SQLException을 스트림 사용자에게 전달하기 위한 예외
+     */
+    public static final class StreamException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        StreamException(SQLException cause) {
+            super("학생 조회 중 오류가 발생했습니다.", cause);
+        }
+
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
     }
 }
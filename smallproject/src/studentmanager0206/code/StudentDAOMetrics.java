@@ -0,0 +1,322 @@
+package studentmanager0206.code;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * StudentDAOMetrics 클래스는 StudentDAO 작업별 호출 수, 실패 수, 처리 행 수, 지연 시간 분포를 기록합니다.
+ * <p>
+ * 기록은 잠금 없이 이루어집니다. 횟수와 합계는 LongAdder, 최대값은 LongAccumulator,
+ * 지연 시간은 2의 거듭제곱 구간을 8개로 나눈 로그-선형 히스토그램(AtomicLongArray)에 누적하므로
+ * 호출 한 번에 드는 비용은 System.nanoTime 두 번과 원자적 덧셈 몇 번입니다.
+ * 백분위는 조회할 때 히스토그램을 훑어 계산합니다.
+ * <p>
+ * registerMBeans로 플랫폼 MBeanServer에 작업마다 StudentOperationMXBean을 등록하면
+ * 실행 중에 jconsole로 볼 수 있습니다.
+ */
+public class StudentDAOMetrics {
+    private static final String DOMAIN = "studentmanager0206";
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final List<ObjectName> registered = new ArrayList<>();
+
+    /**
+     * StudentDAOMetrics 생성자. 모든 작업의 지표를 0으로 시작합니다.
+     */
+    public StudentDAOMetrics() {
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    /**
+     * 작업 한 번을 기록합니다.
+     * @param operation 작업
+     * @param startNanos 작업 시작 시각 (System.nanoTime)
+     * @param rows 처리한 행 수
+     * @param failed 실패 여부
+     */
+    void record(Operation operation, long startNanos, long rows, boolean failed) {
+        stats.get(operation).record(System.nanoTime() - startNanos, rows, failed);
+    }
+
+    /**
+     * 작업의 지표를 반환합니다.
+     * @param operation 작업
+     * @return 작업 지표
+     */
+    public StudentOperationMXBean get(Operation operation) {
+        return stats.get(operation);
+    }
+
+    /**
+     * 작업마다 MXBean을 플랫폼 MBeanServer에 등록합니다.
+     * ObjectName은 studentmanager0206:type=StudentDAO,name=&lt;name&gt;,operation=&lt;작업&gt;입니다.
+     * @param name DAO 구분 이름
+     * @throws JMException 이름이 이미 등록되어 있거나 등록에 실패하면 예외 발생
+     */
+    public synchronized void registerMBeans(String name) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=StudentDAO,name=" + ObjectName.quote(name)
+                    + ",operation=" + entry.getKey().jmxName);
+            server.registerMBean(entry.getValue(), objectName);
+            registered.add(objectName);
+        }
+    }
+
+    /**
+     * 등록한 MXBean을 모두 해제합니다.
+     */
+    public synchronized void unregisterMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName objectName : registered) {
+            try {
+                server.unregisterMBean(objectName);
+            } catch (JMException e) {
+                e.printStackTrace();
+            }
+        }
+        registered.clear();
+    }
+
+    /**
+     * 호출이 있었던 작업의 지표를 한 줄씩 반환합니다.
+     * @return 작업별 요약
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        stats.forEach((operation, stat) -> {
+            if (stat.getCalls() > 0) {
+                sb.append(String.format("%-20s %s%n", operation.jmxName, stat));
+            }
+        });
+        return sb.toString();
+    }
+
+    /**
+     * Operation 열거형은 지표를 기록하는 StudentDAO 작업입니다.
+     */
+    public enum Operation {
+        SAVE("save"),
+        SAVE_ALL("saveAll"),
+        UPSERT("upsert"),
+        UPSERT_ALL("upsertAll"),
+        UPSERT_BATCH("upsertBatch"),
+        DELETE("delete"),
+        DELETE_ALL("deleteAll"),
+        FIND_BY_SNO("findStudentBySno"),
+        GET_ALL("getAllStudents"),
+        STREAM_ALL("streamAllStudents"),
+        FIND_PAGE("findPage"),
+        UPDATE("updateStudent"),
+        UPDATE_SCORES("updateStudentScores"),
+        LAST_CHANGE_SEQ("getLastChangeSeq"),
+        STREAM_CHANGES("streamChanges"),
+        PURGE_CHANGES("purgeChanges"),
+        UPSERT_NORMALIZED("upsertAllNormalized"),
+        DELETE_NORMALIZED("deleteAllNormalized"),
+        STREAM_NORMALIZED("streamAllNormalized"),
+        COPY_TO_NORMALIZED("copyWideToNormalized");
+
+        private final String jmxName;
+
+        Operation(String jmxName) {
+            this.jmxName = jmxName;
+        }
+    }
+
+    /**
+     * OperationStats 클래스는 작업 하나의 지표를 잠금 없이 누적합니다.
+     */
+    static final class OperationStats implements StudentOperationMXBean {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        void record(long nanos, long rowCount, boolean failed) {
+            nanos = Math.max(nanos, 0);
+            calls.increment();
+            if (failed) {
+                errors.increment();
+            }
+            if (rowCount > 0) {
+                rows.add(rowCount);
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            histogram.record(nanos);
+        }
+
+        @Override
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        @Override
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        @Override
+        public long getRows() {
+            return rows.sum();
+        }
+
+        @Override
+        public double getRowsPerCall() {
+            long count = calls.sum();
+            return count == 0 ? 0 : rows.sum() / (double) count;
+        }
+
+        @Override
+        public double getMeanMicros() {
+            long count = calls.sum();
+            return count == 0 ? 0 : totalNanos.sum() / 1_000.0 / count;
+        }
+
+        @Override
+        public double getP50Micros() {
+            return percentileMicros(0.50);
+        }
+
+        @Override
+        public double getP95Micros() {
+            return percentileMicros(0.95);
+        }
+
+        @Override
+        public double getP99Micros() {
+            return percentileMicros(0.99);
+        }
+
+        @Override
+        public double getMaxMicros() {
+            return maxNanos.get() / 1_000.0;
+        }
+
+        @Override
+        public void reset() {
+            calls.reset();
+            errors.reset();
+            rows.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+            histogram.reset();
+        }
+
+        /**
+         * 백분위 지연 시간을 구합니다. 구간 상한이 최대값보다 크면 최대값을 사용합니다.
+         * @param quantile 0~1 사이의 분위
+         * @return 지연 시간(µs)
+         */
+        private double percentileMicros(double quantile) {
+            return Math.min(histogram.percentile(quantile), maxNanos.get()) / 1_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("calls=%d errors=%d rows/call=%.1f mean=%.1fus p50=%.1fus p95=%.1fus p99=%.1fus max=%.1fus",
+                    getCalls(), getErrors(), getRowsPerCall(), getMeanMicros(),
+                    getP50Micros(), getP95Micros(), getP99Micros(), getMaxMicros());
+        }
+    }
+
+    /**
+     * LatencyHistogram 클래스는 나노초 값을 로그-선형 구간에 세는 잠금 없는 히스토그램입니다.
+     * 16 미만은 값 그대로, 그 이상은 2의 거듭제곱 구간마다 8개 구간으로 나누므로 구간 폭은 값의 12.5% 이하입니다.
+     */
+    static final class LatencyHistogram {
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        void record(long value) {
+            counts.incrementAndGet(indexOf(value));
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, 0);
+            }
+        }
+
+        /**
+         * 분위에 해당하는 구간의 상한을 구합니다. 기록 중에 조회해도 되며 그때는 근사값입니다.
+         * @param quantile 0~1 사이의 분위
+         * @return 구간 상한 (기록이 없으면 0)
+         */
+        long percentile(double quantile) {
+            long[] snapshot = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = counts.get(i);
+                total += snapshot[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * total));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return upperBound(i);
+                }
+            }
+            return upperBound(BUCKETS - 1);
+        }
+
+        /**
+         * 값이 속하는 구간 번호를 구합니다.
+         * @param value 0 이상의 값
+         * @return 구간 번호
+         */
+        static int indexOf(long value) {
+            if (value < 2 * SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int mantissa = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + mantissa;
+        }
+
+        /**
+         * 구간에 속하는 가장 작은 값을 구합니다.
+         * @param index 구간 번호
+         * @return 구간 하한
+         */
+        static long lowerBound(int index) {
+            if (index < 2 * SUB_BUCKETS) {
+                return index;
+            }
+            int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long mantissa = SUB_BUCKETS + index % SUB_BUCKETS;
+            return mantissa << (exponent - SUB_BUCKET_BITS);
+        }
+
+        /**
+         * 구간에 속하는 가장 큰 값을 구합니다.
+         * @param index 구간 번호
+         * @return 구간 상한
+         */
+        static long upperBound(int index) {
+            return index + 1 < BUCKETS ? lowerBound(index + 1) - 1 : Long.MAX_VALUE;
+        }
+    }
+}
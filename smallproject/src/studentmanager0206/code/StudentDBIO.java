@@ -42,6 +42,28 @@ public class StudentDBIO extends ObjectIO implements StudentIO {
     @Override
     public void sortBySno(List<Student> students) {}
 
+    /**
+     * 총점 기준으로 정렬된 N번째 페이지를 조회합니다.
+     * @param page 페이지 번호
+     * @param pageSize 페이지 크기
+     * @return 학생 리스트
+     */
+    @Override
+    public List<Student> pageByTotal(int page, int pageSize) {
+        return List.of();
+    }
+
+    /**
+     * 학번 기준으로 정렬된 N번째 페이지를 조회합니다.
+     * @param page 페이지 번호
+     * @param pageSize 페이지 크기
+     * @return 학생 리스트
+     */
+    @Override
+    public List<Student> pageBySno(int page, int pageSize) {
+        return List.of();
+    }
+
     /**
      * 학생 정보를 저장합니다.
      * @param student 저장할 학생 객체
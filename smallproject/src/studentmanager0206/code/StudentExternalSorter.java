@@ -0,0 +1,464 @@
+package studentmanager0206.code;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * StudentExternalSorter 클래스는 메모리에 다 올릴 수 없는 학생 데이터를 외부 병합 정렬로 정렬합니다.
+ * <p>
+ * 입력을 runSize명씩 메모리에서 정렬해 임시 파일(런)로 내보낸 뒤, 런들을 힙으로 k-way 병합합니다.
+ * 런이 fanIn개보다 많으면 앞에서부터 fanIn개씩 묶어 병합한 런을 다시 만드는 단계를 반복하고,
+ * 마지막 병합은 파일로 쓰지 않고 SortedStudents 반복자로 한 명씩 꺼내 줍니다.
+ * 따라서 메모리에는 런 하나(runSize명)와 병합 중인 런마다 한 명씩만 올라갑니다.
+ * 입력이 런 하나에 다 들어가면 파일을 만들지 않습니다.
+ * <p>
+ * 런 파일은 학생마다 학번(10자리 숫자면 가변 길이 정수), 이름(UTF), 과목 수와 과목 id/점수(가변 길이 정수)를
+ * 기록하는 압축된 바이너리 형식이며, 같은 프로세스 안에서만 읽습니다. (과목 id는 SubjectDictionary 기준)
+ * 병합에서 같은 순서의 학생은 앞선 런을 먼저 꺼내므로 정렬은 안정적입니다.
+ */
+public class StudentExternalSorter {
+    public static final int DEFAULT_RUN_SIZE = 200_000;
+    public static final int DEFAULT_FAN_IN = 64;
+    /**
+     * runSizeFor에서 사용하는 정렬 중인 학생 한 명당 힙 사용량 추정값 (네 과목 Student 객체와 리스트 참조)
+     */
+    static final long ESTIMATED_BYTES_PER_STUDENT = 200;
+
+    /**
+     * 런 파일 하나를 읽거나 쓸 때의 버퍼 크기 (StudentBackupMerger가 메모리 한도를 나눌 때도 사용)
+     */
+    static final int BUFFER_SIZE = 1 << 16;
+    private static final Comparator<Student> BY_TOTAL_THEN_SNO =
+            Comparator.comparingInt(Student::getTotal).reversed().thenComparing(Student::getSno);
+    private static final Comparator<Student> BY_SNO = Comparator.comparing(Student::getSno);
+
+    private final int runSize;
+    private final int fanIn;
+    private final Path tempDirectory;
+    private final StudentCountingSorter countingSorter = new StudentCountingSorter(List::of);
+
+    /**
+     * 기본 런 크기와 병합 수로 시스템 임시 디렉터리를 사용하는 StudentExternalSorter를 생성합니다.
+     */
+    public StudentExternalSorter() {
+        this(DEFAULT_RUN_SIZE, DEFAULT_FAN_IN, null);
+    }
+
+    /**
+     * StudentExternalSorter 생성자.
+     * @param runSize 메모리에서 한 번에 정렬할 최대 학생 수 (메모리 한도, runSizeFor 참고)
+     * @param fanIn 한 번에 병합할 최대 런 수 (2 이상, 동시에 여는 파일 수 한도)
+     * @param tempDirectory 런 파일을 만들 디렉터리 (null이면 시스템 임시 디렉터리)
+     * @throws IllegalArgumentException runSize가 1 미만이거나 fanIn이 2 미만이면 예외 발생
+     */
+    public StudentExternalSorter(int runSize, int fanIn, Path tempDirectory) {
+        if (runSize < 1) {
+            throw new IllegalArgumentException("runSize must be positive: " + runSize);
+        }
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("fanIn must be at least 2: " + fanIn);
+        }
+        this.runSize = runSize;
+        this.fanIn = fanIn;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * 정렬에 쓸 메모리 한도에 맞는 런 크기를 구합니다.
+     * @param memoryBytes 정렬에 쓸 힙 바이트 수
+     * @return 런 크기 (최소 1)
+     */
+    public static int runSizeFor(long memoryBytes) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8, memoryBytes / ESTIMATED_BYTES_PER_STUDENT));
+    }
+
+    /**
+     * 총점 내림차순, 동점이면 학번 오름차순으로 정렬합니다. (pageByTotal과 같은 순서)
+     * 런은 StudentCountingSorter로 정렬합니다.
+     * @param input 정렬할 학생 (한 번만 순회)
+     * @return 정렬 결과 반복자 (사용 후 close)
+     * @throws IOException 런 파일 기록/읽기 실패 시 예외 발생
+     */
+    public SortedStudents sortByTotal(Iterator<Student> input) throws IOException {
+        return sort(input, BY_TOTAL_THEN_SNO, countingSorter::sortByTotalThenSno);
+    }
+
+    /**
+     * 학번 오름차순으로 정렬합니다. 런은 StudentCountingSorter로 정렬합니다.
+     * @param input 정렬할 학생 (한 번만 순회)
+     * @return 정렬 결과 반복자 (사용 후 close)
+     * @throws IOException 런 파일 기록/읽기 실패 시 예외 발생
+     */
+    public SortedStudents sortBySno(Iterator<Student> input) throws IOException {
+        return sort(input, BY_SNO, countingSorter::sortBySno);
+    }
+
+    /**
+     * 비교자 순서로 정렬합니다.
+     * @param input 정렬할 학생 (한 번만 순회)
+     * @param order 정렬 순서
+     * @return 정렬 결과 반복자 (사용 후 close)
+     * @throws IOException 런 파일 기록/읽기 실패 시 예외 발생
+     */
+    public SortedStudents sort(Iterator<Student> input, Comparator<Student> order) throws IOException {
+        return sort(input, order, list -> list.sort(order));
+    }
+
+    /**
+     * 런을 만들고 병합합니다.
+     * @param input 정렬할 학생
+     * @param order 병합에 사용할 순서
+     * @param runSorter 런 하나를 order 순서로 안정 정렬하는 함수
+     * @return 정렬 결과 반복자
+     * @throws IOException 런 파일 기록/읽기 실패 시 예외 발생
+     */
+    private SortedStudents sort(Iterator<Student> input, Comparator<Student> order,
+                                Consumer<List<Student>> runSorter) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        SortedStudents result = null;
+        try {
+            List<Student> buffer = new ArrayList<>(Math.min(runSize, 1 << 16));
+            while (input.hasNext()) {
+                buffer.add(input.next());
+                if (buffer.size() == runSize) {
+                    runSorter.accept(buffer);
+                    runs.add(writeRun(buffer.iterator(), buffer.size()));
+                    buffer.clear();
+                }
+            }
+            runSorter.accept(buffer);
+            if (runs.isEmpty()) {
+                return new SortedStudents(buffer.iterator(), null, 0, 0);
+            }
+            if (!buffer.isEmpty()) {
+                runs.add(writeRun(buffer.iterator(), buffer.size()));
+            }
+            buffer = null;
+
+            int runCount = runs.size();
+            int passes = 0;
+            while (runs.size() > fanIn) {
+                runs = mergePass(runs, order);
+                passes++;
+            }
+            result = new SortedStudents(null, new MergeIterator(runs, order), runCount, passes + 1);
+            return result;
+        } finally {
+            if (result == null) {
+                runs.forEach(StudentExternalSorter::deleteQuietly);
+            }
+        }
+    }
+
+    /**
+     * 런을 앞에서부터 fanIn개씩 병합해 새 런 목록을 만듭니다. 병합한 런 파일은 MergeIterator가 닫힐 때 삭제됩니다.
+     * @param runs 런 파일 목록 (정렬 순서대로)
+     * @param order 정렬 순서
+     * @return 새 런 파일 목록
+     * @throws IOException 런 파일 기록/읽기 실패 시 예외 발생
+     */
+    private List<Path> mergePass(List<Path> runs, Comparator<Student> order) throws IOException {
+        List<Path> merged = new ArrayList<>();
+        try {
+            for (int from = 0; from < runs.size(); from += fanIn) {
+                List<Path> group = runs.subList(from, Math.min(runs.size(), from + fanIn));
+                if (group.size() == 1) {
+                    merged.add(group.get(0));
+                    continue;
+                }
+                try (MergeIterator iterator = new MergeIterator(group, order)) {
+                    merged.add(writeRun(iterator, iterator.remaining));
+                }
+            }
+            return merged;
+        } catch (IOException | UncheckedIOException e) {
+            merged.forEach(StudentExternalSorter::deleteQuietly);
+            throw e;
+        }
+    }
+
+    /**
+     * 정렬된 학생을 런 파일 하나로 기록합니다.
+     * @param students 정렬된 학생
+     * @param count 학생 수
+     * @return 런 파일 경로
+     * @throws IOException 기록 실패 시 예외 발생
+     */
+    private Path writeRun(Iterator<Student> students, long count) throws IOException {
+        Path path = tempDirectory == null
+                ? Files.createTempFile("students_run", ".bin")
+                : Files.createTempFile(tempDirectory, "students_run", ".bin");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE))) {
+            out.writeLong(count);
+            for (long i = 0; i < count; i++) {
+                writeStudent(out, students.next());
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(path);
+            throw e;
+        }
+        return path;
+    }
+
+    /**
+     * 학생 한 명을 런 형식으로 기록합니다.
+     * @param out 출력 스트림
+     * @param student 학생
+     * @throws IOException 기록 실패 시 예외 발생
+     */
+    static void writeStudent(DataOutputStream out, Student student) throws IOException {
+        long key = SnoCodec.parse(student.getSno());
+        if (key == SnoCodec.INVALID) {
+            writeVarLong(out, 0);
+            out.writeUTF(student.getSno());
+        } else {
+            writeVarLong(out, key + 1);
+        }
+        out.writeUTF(student.getName());
+        int subjects = student.getSubjectCount();
+        writeVarLong(out, subjects);
+        for (int i = 0; i < subjects; i++) {
+            int subjectId = student.getSubjectId(i);
+            writeVarLong(out, subjectId);
+            int score = student.getScore(subjectId);
+            writeVarLong(out, (score << 1) ^ (score >> 31));
+        }
+    }
+
+    /**
+     * 런 형식의 학생 한 명을 읽습니다.
+     * @param in 입력 스트림
+     * @return 학생
+     * @throws IOException 읽기 실패 시 예외 발생
+     */
+    static Student readStudent(DataInputStream in) throws IOException {
+        long key = readVarLong(in);
+        Student.StudentBuilder builder = new Student.StudentBuilder()
+                .sno(key == 0 ? in.readUTF() : SnoCodec.format(key - 1))
+                .name(in.readUTF());
+        int subjects = (int) readVarLong(in);
+        for (int i = 0; i < subjects; i++) {
+            int subjectId = (int) readVarLong(in);
+            int zigzag = (int) readVarLong(in);
+            builder.addSubject(subjectId, (zigzag >>> 1) ^ -(zigzag & 1));
+        }
+        return builder.build();
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("malformed varint in run file");
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * SortedStudents 클래스는 정렬 결과를 한 명씩 꺼내는 반복자입니다.
+     * 끝까지 읽거나 close하면 런 파일을 닫고 삭제합니다.
+     * 런 파일 읽기에 실패하면 next에서 UncheckedIOException이 발생합니다.
+     */
+    public static class SortedStudents implements Iterator<Student>, AutoCloseable {
+        private final Iterator<Student> inMemory;
+        private final MergeIterator merge;
+        private final int runCount;
+        private final int mergePasses;
+
+        private SortedStudents(Iterator<Student> inMemory, MergeIterator merge, int runCount, int mergePasses) {
+            this.inMemory = inMemory;
+            this.merge = merge;
+            this.runCount = runCount;
+            this.mergePasses = mergePasses;
+        }
+
+        /**
+         * 파일로 내보낸 런 수를 반환합니다.
+         * @return 런 수 (메모리에서 끝났으면 0)
+         */
+        public int getRunCount() {
+            return runCount;
+        }
+
+        /**
+         * 병합 단계 수를 반환합니다. (마지막 스트리밍 병합 포함)
+         * @return 병합 단계 수 (메모리에서 끝났으면 0)
+         */
+        public int getMergePasses() {
+            return mergePasses;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return merge == null ? inMemory.hasNext() : merge.hasNext();
+        }
+
+        @Override
+        public Student next() {
+            return merge == null ? inMemory.next() : merge.next();
+        }
+
+        @Override
+        public void close() {
+            if (merge != null) {
+                merge.close();
+            }
+        }
+    }
+
+    /**
+     * MergeIterator 클래스는 런 파일 여러 개를 힙으로 k-way 병합합니다.
+     * 힙에는 런마다 현재 학생 한 명이 들어 있고, 같은 순서면 런 번호가 작은 쪽을 먼저 꺼냅니다.
+     */
+    private static final class MergeIterator implements Iterator<Student>, AutoCloseable {
+        private final List<Path> runs;
+        private final List<RunCursor> cursors = new ArrayList<>();
+        private final PriorityQueue<RunCursor> heap;
+        private long remaining;
+        private boolean closed;
+
+        MergeIterator(List<Path> runs, Comparator<Student> order) throws IOException {
+            this.runs = new ArrayList<>(runs);
+            this.heap = new PriorityQueue<>(Math.max(1, runs.size()),
+                    (a, b) -> {
+                        int c = order.compare(a.current, b.current);
+                        return c != 0 ? c : Integer.compare(a.index, b.index);
+                    });
+            try {
+                for (int i = 0; i < runs.size(); i++) {
+                    RunCursor cursor = new RunCursor(i, runs.get(i));
+                    cursors.add(cursor);
+                    remaining += cursor.remaining;
+                    if (cursor.advance()) {
+                        heap.add(cursor);
+                    }
+                }
+            } catch (IOException e) {
+                closeCursors();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (heap.isEmpty()) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public Student next() {
+            RunCursor cursor = heap.poll();
+            if (cursor == null) {
+                throw new NoSuchElementException();
+            }
+            Student student = cursor.current;
+            try {
+                if (cursor.advance()) {
+                    heap.add(cursor);
+                }
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+            remaining--;
+            return student;
+        }
+
+        /**
+         * 런 파일을 닫고 삭제합니다. (여러 번 호출해도 됨)
+         */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            heap.clear();
+            closeCursors();
+            runs.forEach(StudentExternalSorter::deleteQuietly);
+        }
+
+        private void closeCursors() {
+            for (RunCursor cursor : cursors) {
+                try {
+                    cursor.in.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * RunCursor 클래스는 런 파일 하나를 순서대로 읽는 위치입니다.
+     */
+    private static final class RunCursor {
+        private final int index;
+        private final DataInputStream in;
+        private long remaining;
+        private Student current;
+
+        RunCursor(int index, Path path) throws IOException {
+            this.index = index;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE));
+            try {
+                this.remaining = in.readLong();
+            } catch (IOException e) {
+                in.close();
+                throw e instanceof EOFException ? new IOException("truncated run file: " + path, e) : e;
+            }
+        }
+
+        /**
+         * 다음 학생으로 이동합니다.
+         * @return 학생이 있으면 true, 런이 끝났으면 false
+         * @throws IOException 읽기 실패 시 예외 발생
+         */
+        boolean advance() throws IOException {
+            if (remaining == 0) {
+                current = null;
+                return false;
+            }
+            current = readStudent(in);
+            remaining--;
+            return true;
+        }
+    }
+}
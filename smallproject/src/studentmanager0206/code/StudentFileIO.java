@@ -1,11 +1,14 @@
 package studentmanager0206.code;
 
-import java.io.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * StudentFileIO 클래스는 파일 기반의 학생 I/O 기능을 구현합니다.
+ * 학생 백업 파일은 StudentLogStore로 관리하여 저장과 삭제가 파일 끝에 한 줄을 추가하는 것으로 끝납니다.
  * 단일 인스턴스 패턴(Singleton)을 사용하여 인스턴스를 관리합니다.
  */
 public class StudentFileIO extends StudentDBIO {
@@ -19,6 +22,21 @@ public class StudentFileIO extends StudentDBIO {
      */
     private static final String FILE_PATH = "students_backup.csv";
 
+    /**
+     * 바이너리 스냅샷 파일 확장자
+     */
+    private static final String SNAPSHOT_EXTENSION = ".snap";
+
+    /**
+     * 백업 CSV 파일을 병렬로 읽는 리더
+     */
+    private final StudentCsvReader csvReader = new StudentCsvReader();
+
+    /**
+     * 학생 백업 파일을 추가 전용 로그로 관리하는 저장소 (처음 사용할 때 열림)
+     */
+    private StudentLogStore store;
+
     /**
      * private 생성자: 외부에서 인스턴스 생성 불가
      */
@@ -34,106 +52,94 @@ public class StudentFileIO extends StudentDBIO {
     }
 
     /**
-     * 학생 정보를 CSV 형식으로 파일에 저장합니다.
+     * 로그 저장소를 반환합니다. 처음 호출 시 파일을 훑어 색인을 재구성합니다.
+     * @return StudentLogStore 객체
+     * @throws IOException 파일 열기 실패 시 예외 발생
+     */
+    private synchronized StudentLogStore store() throws IOException {
+        if (store == null) {
+            store = new StudentLogStore(Paths.get(FILE_PATH));
+        }
+        return store;
+    }
+
+    /**
+     * 학생 정보를 CSV 한 줄로 파일 끝에 추가합니다. 같은 학번이 있으면 새 줄이 이전 정보를 대체합니다.
      * @param student 저장할 학생 객체
      */
     @Override
     public void save(Student student) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(FILE_PATH, true))) {
-            String csvLine = String.format("%s,%s,%d,%d,%d,%d,%d,%.2f,%s",
-                    student.getSno(),
-                    student.getName(),
-                    getSubjectScore(student, "korean"),
-                    getSubjectScore(student, "english"),
-                    getSubjectScore(student, "math"),
-                    getSubjectScore(student, "science"),
-                    student.getTotal(),
-                    student.getAverage(),
-                    student.computeGrade());
-            writer.write(csvLine);
-            writer.newLine();
+        try {
+            store().put(student);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 색인을 이용해 파일에서 특정 학번의 학생 정보 한 줄만 읽어 반환합니다.
+     * @param sno 조회할 학번
+     * @return 학생 객체, 없으면 null
+     */
+    public Student findStudentBySno(String sno) {
+        try {
+            return store().get(sno);
         } catch (IOException e) {
             e.printStackTrace();
+            return null;
         }
     }
 
     /**
-     * 파일에서 모든 학생 정보를 읽어와 리스트로 반환합니다.
+     * 파일에서 살아 있는 모든 학생 정보를 읽어와 리스트로 반환합니다.
      * @return 학생 리스트
      */
     @Override
     public List<Student> getAllStudents() {
-        List<Student> studentList = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(FILE_PATH))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                // CSV 형식: sno,name,korean,english,math,science,total,average,grade
-                String[] tokens = line.split(",");
-                if (tokens.length >= 6) {
-                    String sno = tokens[0];
-                    String name = tokens[1];
-                    int korean = Integer.parseInt(tokens[2]);
-                    int english = Integer.parseInt(tokens[3]);
-                    int math = Integer.parseInt(tokens[4]);
-                    int science = Integer.parseInt(tokens[5]);
-                    Student student = new Student.StudentBuilder()
-                            .sno(sno)
-                            .name(name)
-                            .addSubject("korean", korean)
-                            .addSubject("english", english)
-                            .addSubject("math", math)
-                            .addSubject("science", science)
-                            .build();
-                    studentList.add(student);
-                }
-            }
+        try {
+            return store().getAll();
         } catch (IOException e) {
             e.printStackTrace();
+            return new ArrayList<>();
         }
-        return studentList;
     }
 
     /**
-     * 파일에서 특정 학번의 학생 정보를 삭제합니다.
-     * 전체 파일을 재작성합니다.
-     * @param sno 삭제할 학생의 학번
+     * 지정한 CSV 파일에서 학생 정보를 읽어와 리스트로 반환합니다.
+     * 파일을 메모리 매핑하여 병렬로 파싱하며, 백업 파일의 헤더 줄(sno,name,...),
+     * 열이 6개 미만인 줄, 점수가 정수가 아닌 줄은 건너뜁니다.
+     * 확장자가 .snap이면 StudentSnapshotReader로 바이너리 스냅샷을 읽습니다.
+     * @param path 읽을 CSV 또는 스냅샷 파일 경로
+     * @return 학생 리스트
      */
-    @Override
-    public void delete(String sno) {
-        List<Student> studentList = getAllStudents();
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(FILE_PATH))) {
-            for (Student s : studentList) {
-                if (!s.getSno().equals(sno)) {
-                    String csvLine = String.format("%s,%s,%d,%d,%d,%d,%d,%.2f,%s",
-                            s.getSno(),
-                            s.getName(),
-                            getSubjectScore(s, "korean"),
-                            getSubjectScore(s, "english"),
-                            getSubjectScore(s, "math"),
-                            getSubjectScore(s, "science"),
-                            s.getTotal(),
-                            s.getAverage(),
-                            s.computeGrade());
-                    writer.write(csvLine);
-                    writer.newLine();
-                }
+    public List<Student> readStudents(String path) {
+        if (path.endsWith(SNAPSHOT_EXTENSION)) {
+            try (StudentSnapshotReader reader = new StudentSnapshotReader(Paths.get(path))) {
+                return reader.readAll();
+            } catch (IOException | UncheckedIOException e) {
+                e.printStackTrace();
+                return new ArrayList<>();
             }
-        } catch (IOException e) {
+        }
+        try {
+            return csvReader.read(Paths.get(path));
+        } catch (IOException | NumberFormatException e) {
             e.printStackTrace();
+            return new ArrayList<>();
         }
     }
 
     /**
-     * Student 객체에서 특정 과목 점수를 추출합니다.
-     * @param student 학생 객체
-     * @param subjectName 과목명
-     * @return 해당 과목의 점수, 없으면 0 반환
+     * 파일에서 특정 학번의 학생 정보를 삭제합니다.
+     * 파일을 재작성하지 않고 삭제 표시 한 줄만 추가하며, 공간은 압축 시 회수됩니다.
+     * @param sno 삭제할 학생의 학번
      */
-    private int getSubjectScore(Student student, String subjectName) {
-        return student.getSubjects().stream()
-                .filter(subject -> subject.getName().equalsIgnoreCase(subjectName))
-                .mapToInt(Student.Subject::getScore)
-                .findFirst()
-                .orElse(0);
+    @Override
+    public void delete(String sno) {
+        try {
+            store().delete(sno);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
 }
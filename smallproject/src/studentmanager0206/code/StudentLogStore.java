@@ -0,0 +1,597 @@
+package studentmanager0206.code;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * StudentLogStore 클래스는 학생 정보를 추가 전용(append-only) 로그 파일에 기록하는 저장소입니다.
+ * <p>
+ * 저장은 CSV 한 줄을 파일 끝에 덧붙이고, 삭제는 "!학번" 형태의 삭제 표시(tombstone) 줄을 덧붙입니다.
+ * 메모리에는 학번 → (파일 위치, 길이) 색인을 두어 단건 조회와 삭제가 파일 전체를 읽지 않고 O(1) I/O로 처리됩니다.
+ * 색인은 시작 시 로그를 한 번 훑어 재구성하며, 덮어쓰이거나 삭제된 줄의 비율이 임계값을 넘으면
+ * 백그라운드에서 살아 있는 레코드만 새 파일로 옮겨 쓰는 압축(compaction)을 수행합니다.
+ * 압축은 색인 스냅샷을 기준으로 잠금 없이 복사하고, 복사 중에 덧붙은 꼬리 부분을 옮기고 파일을 교체할 때만 잠금을 잡으므로
+ * 압축 중에도 저장, 조회, 삭제가 계속 진행됩니다.
+ * 삭제 표시 줄은 열이 6개 미만이므로 기존 CSV 리더(tokens.length >= 6)는 이를 건너뜁니다.
+ */
+public class StudentLogStore implements AutoCloseable {
+    private static final char TOMBSTONE = '!';
+    private static final String HEADER_PREFIX = "sno,";
+    private static final double DEFAULT_GARBAGE_RATIO = 0.5;
+    private static final int MIN_RECORDS_FOR_COMPACTION = 1_000;
+    private static final int LENGTH_BITS = 20;
+    private static final long LENGTH_MASK = (1L << LENGTH_BITS) - 1;
+    /**
+     * 압축 마지막 단계에서 잠금을 잡고 옮길 꼬리 크기의 목표치
+     */
+    private static final long LOCKED_TAIL_BYTES = 64 * 1024;
+    private static final int MAX_CATCH_UP_ROUNDS = 8;
+
+    private final Path path;
+    private final double garbageRatioThreshold;
+    private final ExecutorService compactor;
+    /**
+     * 압축을 한 번에 하나만 실행하기 위한 잠금 (저장소 잠금과 별개)
+     */
+    private final Object compactionLock = new Object();
+
+    /**
+     * 학번 → (위치 << LENGTH_BITS | 줄 길이) 색인
+     */
+    private final Map<String, Long> index = new HashMap<>();
+    private FileChannel channel;
+    private long totalRecords;
+    private long garbageRecords;
+    private boolean compactionScheduled;
+
+    /**
+     * 기본 압축 임계값(50%)으로 로그 저장소를 엽니다.
+     * @param path 로그 파일 경로
+     * @throws IOException 파일 열기 또는 색인 재구성 실패 시 예외 발생
+     */
+    public StudentLogStore(Path path) throws IOException {
+        this(path, DEFAULT_GARBAGE_RATIO);
+    }
+
+    /**
+     * 로그 저장소를 열고 파일을 훑어 색인을 재구성합니다.
+     * @param path 로그 파일 경로
+     * @param garbageRatioThreshold 압축을 시작할 쓰레기 레코드 비율 (0~1)
+     * @throws IOException 파일 열기 또는 색인 재구성 실패 시 예외 발생
+     */
+    public StudentLogStore(Path path, double garbageRatioThreshold) throws IOException {
+        this.path = path;
+        this.garbageRatioThreshold = garbageRatioThreshold;
+        this.compactor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "student-log-compactor");
+            t.setDaemon(true);
+            return t;
+        });
+        this.channel = open(path);
+        terminateLastLine();
+        rebuildIndex();
+    }
+
+    /**
+     * 학생 정보를 로그 끝에 기록합니다. 같은 학번의 이전 레코드는 쓰레기가 됩니다.
+     * @param student 저장할 학생 객체
+     * @throws IOException 기록 실패 시 예외 발생
+     */
+    public synchronized void put(Student student) throws IOException {
+        long offset = append(toCsvLine(student));
+        Long previous = index.put(student.getSno(), offset);
+        totalRecords++;
+        if (previous != null) {
+            garbageRecords++;
+        }
+        maybeScheduleCompaction();
+    }
+
+    /**
+     * 학번의 삭제 표시를 로그 끝에 기록합니다.
+     * @param sno 삭제할 학번
+     * @return 삭제된 레코드가 있었으면 true
+     * @throws IOException 기록 실패 시 예외 발생
+     */
+    public synchronized boolean delete(String sno) throws IOException {
+        if (!index.containsKey(sno)) {
+            return false;
+        }
+        append(TOMBSTONE + sno + "\n");
+        index.remove(sno);
+        totalRecords++;
+        garbageRecords += 2;
+        maybeScheduleCompaction();
+        return true;
+    }
+
+    /**
+     * 색인에서 위치를 찾아 해당 줄 하나만 읽어 학생 정보를 반환합니다.
+     * @param sno 조회할 학번
+     * @return 학생 객체, 없으면 null
+     * @throws IOException 읽기 실패 시 예외 발생
+     */
+    public synchronized Student get(String sno) throws IOException {
+        Long entry = index.get(sno);
+        if (entry == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) (entry & LENGTH_MASK));
+        long position = entry >>> LENGTH_BITS;
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("unexpected end of log at " + position);
+            }
+        }
+        return parseLine(new String(buffer.array(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 살아 있는 모든 학생 정보를 파일 순서대로 반환합니다.
+     * @return 학생 리스트
+     * @throws IOException 읽기 실패 시 예외 발생
+     */
+    public synchronized List<Student> getAll() throws IOException {
+        List<Student> students = new ArrayList<>(index.size());
+        scan((offset, length, line) -> {
+            if (line.charAt(0) != TOMBSTONE) {
+                Student student = parseLine(line);
+                Long entry = student == null ? null : index.get(student.getSno());
+                if (entry != null && entry >>> LENGTH_BITS == offset) {
+                    students.add(student);
+                }
+            }
+        });
+        return students;
+    }
+
+    /**
+     * 살아 있는 학생 수를 반환합니다.
+     * @return 학생 수
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * 로그의 전체 레코드 중 쓰레기(덮어쓰임, 삭제, 삭제 표시) 비율을 반환합니다.
+     * @return 쓰레기 비율 (0~1)
+     */
+    public synchronized double getGarbageRatio() {
+        return totalRecords == 0 ? 0 : garbageRecords / (double) totalRecords;
+    }
+
+    /**
+     * 살아 있는 레코드만 임시 파일에 옮겨 쓴 뒤 원자적으로 교체하고 색인을 갱신합니다.
+     * <ol>
+     *     <li>잠금 안에서 색인을 복사하고 현재 파일 끝 위치를 기록합니다.</li>
+     *     <li>잠금 없이 그 위치까지 훑어 스냅샷 색인이 가리키는 줄만 임시 파일로 옮깁니다.
+     *     로그는 덧붙이기만 하므로 이 구간은 복사 중에 바뀌지 않습니다.</li>
+     *     <li>복사 중에 덧붙은 줄을 잠금 없이 따라잡아 이어 쓰고 색인에 반영합니다. 남은 꼬리가 작아질 때까지 반복합니다.</li>
+     *     <li>잠금 안에서 마지막 꼬리만 옮기고 파일과 색인을 교체합니다.</li>
+     * </ol>
+     * @throws IOException 압축 실패 시 예외 발생
+     */
+    public void compact() throws IOException {
+        synchronized (compactionLock) {
+            Path temp = path.resolveSibling(path.getFileName() + ".compact");
+            try {
+                compactInto(temp);
+            } finally {
+                Files.deleteIfExists(temp);
+                synchronized (this) {
+                    compactionScheduled = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * 압축된 로그를 임시 파일에 쓰고 원래 파일과 교체합니다. compactionLock을 잡은 상태에서 호출합니다.
+     * @param temp 압축된 로그를 쓸 임시 파일
+     * @throws IOException 압축 실패 시 예외 발생
+     */
+    private void compactInto(Path temp) throws IOException {
+        Map<String, Long> live;
+        FileChannel source;
+        long copiedEnd;
+        synchronized (this) {
+            live = new HashMap<>(index);
+            source = channel;
+            copiedEnd = channel.size();
+        }
+
+        Map<String, Long> compacted = new HashMap<>(live.size() * 2);
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            CompactionWriter writer = new CompactionWriter(out);
+            writer.write(StudentCsvExporter.HEADER);
+            scan(source, 0, copiedEnd, (offset, length, line) -> {
+                if (line.charAt(0) == TOMBSTONE) {
+                    return;
+                }
+                String sno = line.substring(0, Math.max(0, line.indexOf(',')));
+                Long entry = live.get(sno);
+                if (entry != null && entry >>> LENGTH_BITS == offset) {
+                    compacted.put(sno, writer.write(line));
+                }
+            });
+            live.clear();
+            writer.takeLineCount();
+            long records = compacted.size();
+            long garbage = 0;
+
+            // 복사하는 동안 덧붙은 줄을 잠금 없이 따라잡습니다. 파일 끝은 잠금 안에서 읽어야 줄 경계가 보장됩니다.
+            for (int round = 0; round < MAX_CATCH_UP_ROUNDS; round++) {
+                long end;
+                synchronized (this) {
+                    end = channel.size();
+                }
+                if (end - copiedEnd <= LOCKED_TAIL_BYTES) {
+                    break;
+                }
+                garbage += replay(source, copiedEnd, end, compacted, writer);
+                records += writer.takeLineCount();
+                copiedEnd = end;
+            }
+            writer.flush();
+            // 잠금 안에서는 마지막 꼬리만 디스크에 반영하도록 지금까지 복사한 부분을 먼저 기록합니다.
+            out.force(true);
+
+            synchronized (this) {
+                if (channel != source || !channel.isOpen()) {
+                    throw new IOException("log store closed during compaction: " + path);
+                }
+                garbage += replay(channel, copiedEnd, channel.size(), compacted, writer);
+                records += writer.takeLineCount();
+                writer.flush();
+                out.force(true);
+                channel.close();
+                try {
+                    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    // 교체에 실패하면 원래 로그가 그대로 남아 있으므로 다시 열어 기존 색인으로 계속 사용합니다.
+                    // (임시 파일은 compact()에서 삭제)
+                    channel = open(path);
+                }
+                index.clear();
+                index.putAll(compacted);
+                totalRecords = records;
+                garbageRecords = garbage;
+            }
+        }
+    }
+
+    /**
+     * 원래 로그의 [from, to) 구간 줄(저장, 삭제 표시)을 압축 파일에 그대로 이어 쓰고 압축 색인에 반영합니다.
+     * @param source 원래 로그 채널
+     * @param from 시작 위치
+     * @param to 끝 위치
+     * @param compacted 압축 파일 기준 색인
+     * @param writer 압축 파일 기록기
+     * @return 늘어난 쓰레기 레코드 수
+     * @throws IOException 읽기/쓰기 실패 시 예외 발생
+     */
+    private static long replay(FileChannel source, long from, long to, Map<String, Long> compacted,
+                               CompactionWriter writer) throws IOException {
+        long[] garbage = { 0 };
+        scan(source, from, to, (offset, length, line) -> {
+            long entry = writer.write(line);
+            garbage[0] += indexLine(compacted, entry >>> LENGTH_BITS, (int) (entry & LENGTH_MASK), line);
+        });
+        return garbage[0];
+    }
+
+    /**
+     * CompactionWriter 클래스는 압축 파일에 줄을 버퍼링하여 기록하고 각 줄의 색인 값을 계산합니다.
+     */
+    private static final class CompactionWriter {
+        private final FileChannel out;
+        private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        private long position;
+        private long lineCount;
+
+        CompactionWriter(FileChannel out) {
+            this.out = out;
+        }
+
+        /**
+         * 한 줄을 기록합니다.
+         * @param line 줄바꿈을 제외한 줄 내용
+         * @return 색인 값 (위치 << LENGTH_BITS | 줄바꿈을 제외한 바이트 길이)
+         * @throws IOException 기록 실패 시 예외 발생
+         */
+        long write(String line) throws IOException {
+            byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > buffer.remaining()) {
+                flush();
+            }
+            long entry = position << LENGTH_BITS | (bytes.length - 1);
+            if (bytes.length > buffer.capacity()) {
+                writeFully(out, bytes);
+            } else {
+                buffer.put(bytes);
+            }
+            position += bytes.length;
+            lineCount++;
+            return entry;
+        }
+
+        /**
+         * 마지막 호출 이후 기록한 줄 수를 반환하고 0으로 되돌립니다.
+         * @return 기록한 줄 수
+         */
+        long takeLineCount() {
+            long count = lineCount;
+            lineCount = 0;
+            return count;
+        }
+
+        /**
+         * 버퍼에 쌓인 내용을 채널에 기록합니다.
+         * @throws IOException 기록 실패 시 예외 발생
+         */
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * 압축 스레드를 멈추고 파일을 닫습니다.
+     * @throws IOException 닫기 실패 시 예외 발생
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        compactor.shutdownNow();
+        channel.close();
+    }
+
+    /**
+     * 쓰레기 비율이 임계값을 넘으면 백그라운드 압축을 예약합니다.
+     */
+    private void maybeScheduleCompaction() {
+        if (compactionScheduled || totalRecords < MIN_RECORDS_FOR_COMPACTION
+                || getGarbageRatio() < garbageRatioThreshold) {
+            return;
+        }
+        compactionScheduled = true;
+        compactor.execute(() -> {
+            try {
+                compact();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * 로그 파일을 읽기/쓰기용으로 엽니다. 없으면 새로 만듭니다.
+     * @param path 로그 파일 경로
+     * @return 열린 FileChannel
+     * @throws IOException 열기 실패 시 예외 발생
+     */
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * 채널의 현재 위치에 바이트 배열을 모두 기록합니다.
+     * @param out 기록할 채널
+     * @param bytes 기록할 바이트
+     * @return 기록한 바이트 수
+     * @throws IOException 기록 실패 시 예외 발생
+     */
+    private static int writeFully(FileChannel out, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        return bytes.length;
+    }
+
+    /**
+     * 한 줄을 파일 끝에 기록합니다.
+     * @param line 줄바꿈을 포함한 한 줄
+     * @return 색인 값 (위치 << LENGTH_BITS | 줄바꿈을 제외한 바이트 길이)
+     * @throws IOException 기록 실패 시 예외 발생
+     */
+    private long append(String line) throws IOException {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        long offset = channel.size();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, offset + buffer.position());
+        }
+        return offset << LENGTH_BITS | (bytes.length - 1);
+    }
+
+    /**
+     * 파일이 줄바꿈 없이 끝나면 줄바꿈을 덧붙여 다음 기록이 마지막 줄에 이어 붙지 않게 합니다.
+     * @throws IOException 읽기/쓰기 실패 시 예외 발생
+     */
+    private void terminateLastLine() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return;
+        }
+        ByteBuffer last = ByteBuffer.allocate(1);
+        channel.read(last, size - 1);
+        if (last.get(0) != '\n') {
+            channel.write(ByteBuffer.wrap(new byte[] { '\n' }), size);
+        }
+    }
+
+    /**
+     * 파일을 처음부터 훑어 색인과 레코드 수를 재구성합니다.
+     * @throws IOException 읽기 실패 시 예외 발생
+     */
+    private void rebuildIndex() throws IOException {
+        index.clear();
+        totalRecords = 0;
+        garbageRecords = 0;
+        scan((offset, length, line) -> {
+            totalRecords++;
+            garbageRecords += indexLine(index, offset, length, line);
+        });
+    }
+
+    /**
+     * 로그 한 줄을 색인에 반영합니다.
+     * @param target 갱신할 색인
+     * @param offset 줄의 시작 위치(바이트)
+     * @param length 줄바꿈을 제외한 줄의 길이(바이트)
+     * @param line 줄 내용
+     * @return 이 줄로 늘어난 쓰레기 레코드 수 (덮어쓴 이전 레코드, 삭제 표시, 잘못된 줄)
+     */
+    private static int indexLine(Map<String, Long> target, long offset, int length, String line) {
+        if (line.charAt(0) == TOMBSTONE) {
+            return target.remove(line.substring(1)) != null ? 2 : 1;
+        }
+        int comma = line.indexOf(',');
+        if (comma <= 0) {
+            return 1;
+        }
+        return target.put(line.substring(0, comma), offset << LENGTH_BITS | length) != null ? 1 : 0;
+    }
+
+    /**
+     * 로그의 한 줄을 전달받는 콜백
+     */
+    private interface LineVisitor {
+        /**
+         * 한 줄을 처리합니다.
+         * @param offset 줄의 시작 위치(바이트)
+         * @param length 줄바꿈을 제외한 줄의 길이(바이트)
+         * @param line 줄 내용 (비어 있지 않음)
+         * @throws IOException 처리 실패 시 예외 발생
+         */
+        void visit(long offset, int length, String line) throws IOException;
+    }
+
+    /**
+     * 헤더와 빈 줄을 제외한 모든 줄을 위치와 함께 순서대로 방문합니다.
+     * @param visitor 각 줄을 처리할 콜백
+     * @throws IOException 읽기 실패 시 예외 발생
+     */
+    private void scan(LineVisitor visitor) throws IOException {
+        scan(channel, 0, channel.size(), visitor);
+    }
+
+    /**
+     * 채널의 [from, to) 구간에서 헤더와 빈 줄을 제외한 줄을 위치와 함께 순서대로 방문합니다.
+     * @param source 읽을 채널
+     * @param from 시작 위치 (줄의 시작이어야 함)
+     * @param to 끝 위치 (줄의 끝이어야 함)
+     * @param visitor 각 줄을 처리할 콜백
+     * @throws IOException 읽기 실패 시 예외 발생
+     */
+    private static void scan(FileChannel source, long from, long to, LineVisitor visitor) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        byte[] lineBytes = new byte[256];
+        int lineLength = 0;
+        long lineStart = from;
+        long position = from;
+        while (position < to) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), to - position));
+            int read = source.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (b == '\n') {
+                    emit(visitor, lineStart, lineBytes, lineLength);
+                    lineLength = 0;
+                    lineStart = position + buffer.position();
+                } else {
+                    if (lineLength == lineBytes.length) {
+                        lineBytes = Arrays.copyOf(lineBytes, lineLength * 2);
+                    }
+                    lineBytes[lineLength++] = b;
+                }
+            }
+            position += read;
+        }
+        emit(visitor, lineStart, lineBytes, lineLength);
+    }
+
+    /**
+     * 헤더와 빈 줄이 아니면 줄을 문자열로 바꿔 콜백에 전달합니다.
+     * @param visitor 줄을 처리할 콜백
+     * @param offset 줄의 시작 위치(바이트)
+     * @param bytes 줄 내용이 담긴 버퍼
+     * @param length 버퍼에서 유효한 바이트 수
+     * @throws IOException 콜백 처리 실패 시 예외 발생
+     */
+    private static void emit(LineVisitor visitor, long offset, byte[] bytes, int length) throws IOException {
+        int end = length;
+        if (end > 0 && bytes[end - 1] == '\r') {
+            end--;
+        }
+        if (end == 0) {
+            return;
+        }
+        String line = new String(bytes, 0, end, StandardCharsets.UTF_8);
+        if (line.startsWith(HEADER_PREFIX)) {
+            return;
+        }
+        visitor.visit(offset, end, line);
+    }
+
+    /**
+     * CSV 한 줄을 학생 객체로 변환합니다.
+     * @param line CSV 줄 (sno,name,korean,english,math,science,...)
+     * @return 학생 객체, 열이 부족하면 null
+     */
+    private static Student parseLine(String line) {
+        String[] tokens = line.split(",");
+        if (tokens.length < 6) {
+            return null;
+        }
+        return new Student.StudentBuilder()
+                .sno(tokens[0])
+                .name(tokens[1])
+                .addSubject(SubjectDictionary.KOREAN, Integer.parseInt(tokens[2]))
+                .addSubject(SubjectDictionary.ENGLISH, Integer.parseInt(tokens[3]))
+                .addSubject(SubjectDictionary.MATH, Integer.parseInt(tokens[4]))
+                .addSubject(SubjectDictionary.SCIENCE, Integer.parseInt(tokens[5]))
+                .build();
+    }
+
+    /**
+     * 학생 객체를 백업 CSV와 같은 형식의 한 줄로 변환합니다.
+     * @param student 학생 객체
+     * @return 줄바꿈을 포함한 CSV 줄
+     */
+    private static String toCsvLine(Student student) {
+        long average = Math.round(student.getAverage() * 100);
+        long fraction = average % 100;
+        return student.getSno() + ',' + student.getName()
+                + ',' + student.getScore(SubjectDictionary.KOREAN)
+                + ',' + student.getScore(SubjectDictionary.ENGLISH)
+                + ',' + student.getScore(SubjectDictionary.MATH)
+                + ',' + student.getScore(SubjectDictionary.SCIENCE)
+                + ',' + student.getTotal()
+                + ',' + average / 100 + '.' + (fraction < 10 ? "0" : "") + fraction
+                + ',' + student.computeGrade() + '\n';
+    }
+}
@@ -1,11 +1,17 @@
 package studentmanager0206.code;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.function.IntFunction;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import javax.management.JMException;
 
 /**
  * StudentManager 클래스는 학생 정보를 관리하는 메뉴 기반의 애플리케이션을 구현합니다.
@@ -15,15 +21,54 @@ public class StudentManager extends StudentDBIO {
 
     private final Scanner scanner = new Scanner(System.in);
     private final StudentDAO studentDAO = new StudentDAO();
-    private static final Pattern SNO_PATTERN = Pattern.compile("^\\d{10}$");
-    private static final Pattern NAME_PATTERN = Pattern.compile("^[a-zA-Z가-힣]+$");
+    /**
+     * 전달받은 리스트 정렬용 (페이지 조회는 데이터베이스를 사용하므로 공급자는 쓰지 않음)
+     */
+    private final StudentCountingSorter sorter = new StudentCountingSorter(List::of);
+    static final Pattern SNO_PATTERN = Pattern.compile("^\\d{10}$");
+    static final Pattern NAME_PATTERN = Pattern.compile("^[a-zA-Z가-힣]+$");
+    private static final int PAGE_SIZE = 20;
     private final Map<Integer, Runnable> menuChoice = new HashMap<>();
+    private final Map<StudentDAO.SortKey, StudentPager> pagers = new EnumMap<>(StudentDAO.SortKey.class);
+    private static final int WRITE_BEHIND_MAX_PENDING = 1_000;
+    private static final long WRITE_BEHIND_FLUSH_INTERVAL_MS = 5_000;
+    /**
+     * 쓰기 지연 모드일 때의 변경 큐 (모드가 꺼져 있으면 null)
+     */
+    private StudentWriteBehindQueue writeBehindQueue;
+    private final StudentRanking ranking = new StudentRanking();
+    /**
+     * 순위 서비스를 데이터베이스 전체로 한 번 구성했는지 여부 (이후에는 DAO 쓰기로 갱신)
+     */
+    private boolean rankingLoaded;
+    private final StudentStatistics statistics = new StudentStatistics();
+    /**
+     * 과목 통계를 데이터베이스 전체로 한 번 집계했는지 여부 (이후에는 DAO 쓰기로 갱신)
+     */
+    private boolean statisticsLoaded;
+    private final StudentNameIndex nameIndex = new StudentNameIndex();
+    /**
+     * 이름 색인을 데이터베이스 전체로 한 번 구성했는지 여부 (이후에는 DAO 쓰기로 갱신)
+     */
+    private boolean nameIndexLoaded;
+    private static final int NAME_SEARCH_LIMIT = 50;
+    private final StudentBackupChain backupChain = new StudentBackupChain(studentDAO, Paths.get("."));
+    private final StudentExternalSorter externalSorter = new StudentExternalSorter();
 
     /**
      * StudentManager 생성자.
-     * 메뉴 초기화를 수행합니다.
+     * 메뉴 초기화를 수행하고 순위 서비스, 과목 통계, 이름 색인을 DAO 변경 리스너로 등록합니다.
+     * DAO 작업 지표는 JMX(studentmanager0206:type=StudentDAO)로 공개합니다.
      */
     public StudentManager() {
+        studentDAO.addChangeListener(ranking);
+        studentDAO.addChangeListener(statistics);
+        studentDAO.addChangeListener(nameIndex);
+        try {
+            studentDAO.getMetrics().registerMBeans("StudentManager");
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
         mainMenu();
     }
 
@@ -36,7 +81,13 @@ public class StudentManager extends StudentDBIO {
         menuChoice.put(3, this::searchBySno);
         menuChoice.put(4, this::sortStudents);
         menuChoice.put(5, this::backupToFile);
-        menuChoice.put(6, this::exitApp);
+        menuChoice.put(6, this::bulkLoad);
+        menuChoice.put(7, this::toggleWriteBehind);
+        menuChoice.put(8, this::showRanking);
+        menuChoice.put(9, this::showStatistics);
+        menuChoice.put(10, this::restoreFromBackup);
+        menuChoice.put(11, this::searchByName);
+        menuChoice.put(12, this::exitApp);
     }
 
     /**
@@ -48,7 +99,13 @@ public class StudentManager extends StudentDBIO {
         System.out.println("3. search student info");
         System.out.println("4. sort student info");
         System.out.println("5. backup to file");
-        System.out.println("6. exit");
+        System.out.println("6. bulk load from file");
+        System.out.println("7. write-behind mode on/off");
+        System.out.println("8. ranking (top-N / rank / percentile)");
+        System.out.println("9. subject statistics");
+        System.out.println("10. restore from backup files");
+        System.out.println("11. search student by name");
+        System.out.println("12. exit");
         System.out.println("choice menu");
     }
 
@@ -145,15 +202,17 @@ public class StudentManager extends StudentDBIO {
         return new Student.StudentBuilder()
                 .sno(sno)
                 .name(name)
-                .addSubject("korean", korean)
-                .addSubject("english", english)
-                .addSubject("math", math)
-                .addSubject("science", science)
+                .addSubject(SubjectDictionary.KOREAN, korean)
+                .addSubject(SubjectDictionary.ENGLISH, english)
+                .addSubject(SubjectDictionary.MATH, math)
+                .addSubject(SubjectDictionary.SCIENCE, science)
                 .build();
     }
 
     /**
      * 학생 정보를 입력받아 추가하거나, 기존 정보가 있으면 수정합니다.
+     * 이미 등록된 학번이면 전체 수정, 점수만 수정(기존 이름 유지), 추가 종료 중에서 고릅니다.
+     * 조회는 안내용이며 저장은 upsert 한 문장으로 처리하므로, 조회와 저장 사이에 다른 입력이 끼어들어도 중복 키 오류가 나지 않습니다.
      */
     @Override
     public void inputStudent() {
@@ -161,50 +220,74 @@ public class StudentManager extends StudentDBIO {
         String sno = readValidatedString(
                 "sno (10자리수): ", SNO_PATTERN, "정확히 10자리 수 재입력");
 
-        Student existingStudent = studentDAO.findStudentBySno(sno);
+        Student existingStudent = findStudent(sno);
         if (existingStudent == null) {
             String name = readValidatedString("name (한, 영): ", NAME_PATTERN, "한, 영문으로 재입력");
             int[] scores = readSubjectScores();
-            Student student = createStudent(sno, name, scores[0], scores[1], scores[2], scores[3]);
+            saveInputStudent(createStudent(sno, name, scores[0], scores[1], scores[2], scores[3]));
+            return;
+        }
 
-            studentDAO.save(student);
-            students.add(student);
-        } else {
-            System.out.println("already regist sno, student name: " + existingStudent.getName());
-            System.out.println("1.edit all info");
-            System.out.println("2.edit subject score");
-            System.out.println("3.exit add");
-            String option = scanner.nextLine().trim();
-            if ("1".equals(option)) {
-                String name = readValidatedString("name (한, 영): ", NAME_PATTERN, "한, 영문으로 재입력");
-                int[] scores = readSubjectScores();
-                Student student = createStudent(sno, name, scores[0], scores[1], scores[2], scores[3]);
-
-                studentDAO.updateStudent(student);
-                updateInMemoryStudent(student);
-            } else if ("2".equals(option)) {
-                int[] scores = readSubjectScores();
-                Student student = createStudent(sno, existingStudent.getName(), scores[0], scores[1], scores[2], scores[3]);
-
-                studentDAO.updateStudentScores(student);
-                updateInMemoryStudent(student);
-            } else if ("3".equals(option)){
-                System.out.println("exit");
+        System.out.println("already regist sno, student name: " + existingStudent.getName());
+        System.out.println("1.edit all info");
+        System.out.println("2.edit subject score");
+        System.out.println("3.exit add");
+        String option = scanner.nextLine().trim();
+        if ("1".equals(option)) {
+            String name = readValidatedString("name (한, 영): ", NAME_PATTERN, "한, 영문으로 재입력");
+            int[] scores = readSubjectScores();
+            saveInputStudent(createStudent(sno, name, scores[0], scores[1], scores[2], scores[3]));
+        } else if ("2".equals(option)) {
+            int[] scores = readSubjectScores();
+            Student student = createStudent(sno, existingStudent.getName(), scores[0], scores[1], scores[2], scores[3]);
+            if (writeBehindQueue != null) {
+                saveInputStudent(student);
                 return;
-            } else {
-                System.out.println("잘못된 입력");
             }
+            studentDAO.updateStudentScores(student);
+            System.out.println("success");
+        } else if ("3".equals(option)) {
+            System.out.println("exit");
+        } else {
+            System.out.println("잘못된 입력");
+        }
+    }
+
+    /**
+     * 입력받은 학생을 upsert 한 문장으로 저장하고 결과를 출력합니다. write-behind 모드이면 대기열에 넣습니다.
+     * @param student 저장할 학생 객체
+     */
+    private void saveInputStudent(Student student) {
+        if (writeBehindQueue != null) {
+            writeBehindQueue.enqueueUpsert(student);
+            System.out.println("queued (write-behind, 대기 " + writeBehindQueue.getQueueDepth() + "건)");
+            return;
+        }
+
+        StudentDAO.UpsertResult result = studentDAO.upsert(student);
+        if (result == null) {
+            System.out.println("저장 실패");
+            return;
+        }
+        if (result == StudentDAO.UpsertResult.INSERTED) {
+            System.out.println("new student registered");
+        } else if (result == StudentDAO.UpsertResult.UPDATED) {
+            System.out.println("already regist sno, student info updated");
+        } else {
+            System.out.println("already regist sno, no changes");
         }
         System.out.println("success");
     }
 
     /**
-     * 메모리 내 학생 리스트를 업데이트합니다.
-     * @param student 업데이트할 학생 객체
+     * 학번으로 학생을 찾습니다. write-behind 대기 중인 변경이 있으면 데이터베이스보다 우선합니다.
+     * @param sno 학번
+     * @return 학생 객체, 없거나 삭제 대기 중이면 null
      */
-    private void updateInMemoryStudent(Student student) {
-        students.removeIf(s -> s.getSno().equals(student.getSno()));
-        students.add(student);
+    private Student findStudent(String sno) {
+        return writeBehindQueue != null && writeBehindQueue.isPending(sno)
+                ? writeBehindQueue.getPending(sno)
+                : studentDAO.findStudentBySno(sno);
     }
 
     /**
@@ -212,7 +295,13 @@ public class StudentManager extends StudentDBIO {
      */
     @Override
     public void outputStudent() {
-        studentDAO.getAllStudents().forEach(System.out::println);
+        flushWriteBehind();
+        try (Stream<Student> stream = studentDAO.streamAllStudents()) {
+            stream.forEach(System.out::println);
+        } catch (StudentDAO.StreamException e) {
+            e.printStackTrace();
+            return;
+        }
         deleteStudentInfo();
     }
 
@@ -231,12 +320,15 @@ public class StudentManager extends StudentDBIO {
     }
 
     /**
-     * 데이터베이스와 메모리에서 해당 학번의 학생 정보를 삭제합니다.
+     * 데이터베이스에서 해당 학번의 학생 정보를 삭제합니다. (write-behind 모드이면 삭제를 대기열에 넣음)
      * @param sno 삭제할 학생의 학번
      */
     private void deleteStudent(String sno) {
-        studentDAO.delete(sno);
-        students.removeIf(s -> s.getSno().equals(sno));
+        if (writeBehindQueue != null) {
+            writeBehindQueue.enqueueDelete(sno);
+        } else {
+            studentDAO.delete(sno);
+        }
         System.out.println("삭제 완료");
     }
 
@@ -248,7 +340,7 @@ public class StudentManager extends StudentDBIO {
         System.out.print("enter (sno 기준검색) :");
         String searchSno = scanner.nextLine().trim();
 
-        Student foundStudent = studentDAO.findStudentBySno(searchSno);
+        Student foundStudent = findStudent(searchSno);
 
         if (foundStudent == null) {
             System.out.println("no " + searchSno);
@@ -259,13 +351,62 @@ public class StudentManager extends StudentDBIO {
     }
 
     /**
-     * 정렬 옵션에 따라 학생 정보를 정렬합니다.
+     * 이름 접두어 또는 부분 문자열로 학생을 검색합니다. (한글/영문, 영문은 대소문자 구분 없음)
+     * 메모리 내 n-gram 색인을 사용하므로 테이블 전체를 훑지 않습니다.
+     */
+    private void searchByName() {
+        System.out.println("1. 이름 접두어  2. 이름 포함");
+        String mode = scanner.nextLine().trim();
+        if (!"1".equals(mode) && !"2".equals(mode)) {
+            System.out.println("잘못된 입력");
+            return;
+        }
+        String query = readValidatedString("name (한, 영): ", NAME_PATTERN, "한, 영문으로 재입력");
+
+        flushWriteBehind();
+        if (!nameIndexLoaded) {
+            try (Stream<Student> stream = studentDAO.streamAllStudents()) {
+                nameIndex.rebuild(stream.iterator());
+            } catch (StudentDAO.StreamException e) {
+                e.printStackTrace();
+                return;
+            }
+            nameIndexLoaded = true;
+        }
+        long start = System.nanoTime();
+        List<StudentNameIndex.Match> matches = "1".equals(mode)
+                ? nameIndex.searchPrefix(query, NAME_SEARCH_LIMIT)
+                : nameIndex.searchSubstring(query, NAME_SEARCH_LIMIT);
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+
+        if (matches.isEmpty()) {
+            System.out.println("no " + query);
+            return;
+        }
+        for (StudentNameIndex.Match match : matches) {
+            Student student = studentDAO.findStudentBySno(match.getSno());
+            System.out.println(student != null ? student : match);
+        }
+        System.out.println(matches.size() + "건" + (matches.size() == NAME_SEARCH_LIMIT ? " (최대 " + NAME_SEARCH_LIMIT + "건까지 표시)" : "")
+                + ", 색인 검색 " + elapsedMicros + "µs");
+    }
+
+    /**
+     * 정렬 옵션에 따라 학생 정보를 페이지 단위로 출력합니다.
+     * 정렬은 데이터베이스에서 수행하며, 한 번에 한 페이지만 조회합니다.
+     * 3, 4번은 전체 정렬 결과를 외부 정렬로 CSV 파일에 내보냅니다.
      */
     public void sortStudents() {
         System.out.println("select");
         System.out.println("1. Sort by total score ");
         System.out.println("2. Sort by sno ");
+        System.out.println("3. Export sorted by total score (external sort) ");
+        System.out.println("4. Export sorted by sno (external sort) ");
         String option = scanner.nextLine().trim();
+        if ("3".equals(option) || "4".equals(option)) {
+            exportSorted("3".equals(option));
+            return;
+        }
 
         int sortChoice;
         try {
@@ -275,25 +416,210 @@ public class StudentManager extends StudentDBIO {
             return;
         }
 
-        List<Student> studentList = studentDAO.getAllStudents();
-        if (studentList.isEmpty()) {
-            System.out.println("DB에 저장된 학생 데이터가 없습니다.");
+        Map<Integer, IntFunction<List<Student>>> sortActions = new HashMap<>();
+        sortActions.put(1, page -> pageByTotal(page, PAGE_SIZE));
+        sortActions.put(2, page -> pageBySno(page, PAGE_SIZE));
+
+        IntFunction<List<Student>> pageAction = sortActions.get(sortChoice);
+        if (pageAction == null) {
+            System.out.println("잘못된 입력");
             return;
         }
 
-        Map<Integer, Runnable> sortActions = new HashMap<>();
-        sortActions.put(1, () -> sortByTotal(studentList));
-        sortActions.put(2, () -> sortBySno(studentList));
+        flushWriteBehind();
+        resetPagers();
+        int page = 1;
+        while (true) {
+            List<Student> studentList = pageAction.apply(page);
+            if (studentList.isEmpty()) {
+                System.out.println(page == 1 ? "DB에 저장된 학생 데이터가 없습니다." : "마지막 페이지입니다.");
+                if (page == 1) {
+                    return;
+                }
+            } else {
+                System.out.println("Sorted Students (page " + page + "):");
+                studentList.forEach(System.out::println);
+            }
+            System.out.print("n: next, p: prev, 숫자: 페이지 이동, 엔터: 종료 > ");
+            String command = scanner.nextLine().trim();
+            if (command.isEmpty()) {
+                return;
+            } else if ("n".equalsIgnoreCase(command)) {
+                if (!studentList.isEmpty()) {
+                    page++;
+                }
+            } else if ("p".equalsIgnoreCase(command)) {
+                page = Math.max(1, page - 1);
+            } else {
+                try {
+                    page = Math.max(1, Integer.parseInt(command));
+                } catch (NumberFormatException e) {
+                    System.out.println("잘못된 입력");
+                }
+            }
+        }
+    }
+
+    /**
+     * 데이터베이스의 전체 학생을 정렬해 CSV 파일로 내보냅니다.
+     * 커서 기반 스트림을 StudentExternalSorter로 정렬하므로 학생 수가 메모리보다 많아도 됩니다.
+     * @param byTotal true면 총점 내림차순(동점이면 학번 순), false면 학번 오름차순
+     */
+    private void exportSorted(boolean byTotal) {
+        flushWriteBehind();
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        String fileName = "students_sorted_" + (byTotal ? "total_" : "sno_") + timestamp + ".csv";
+        try (Stream<Student> stream = studentDAO.streamAllStudents();
+             StudentExternalSorter.SortedStudents sorted = byTotal
+                     ? externalSorter.sortByTotal(stream.iterator())
+                     : externalSorter.sortBySno(stream.iterator());
+             StudentCsvExporter exporter = new StudentCsvExporter(Paths.get(fileName), false)) {
+            long rows = exporter.exportAll(sorted);
+            System.out.println("정렬 결과 저장 완료: " + fileName + " (" + rows + "명, 런 " + sorted.getRunCount() + "개)");
+        } catch (IOException | UncheckedIOException | StudentDAO.StreamException e) {
+            e.printStackTrace();
+            deletePartialFile(Paths.get(fileName));
+        }
+    }
+
+    /**
+     * 중간에 실패한 내보내기 파일을 삭제합니다. 일부만 기록된 파일이 완전한 결과로 오인되지 않도록 합니다.
+     * @param file 삭제할 파일
+     */
+    private static void deletePartialFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 총점 순위를 조회합니다. 상위 N명 또는 학번의 순위/백분위를 정렬 없이 순위 서비스에서 바로 구합니다.
+     */
+    private void showRanking() {
+        System.out.println("1. 상위 N명  2. 학번 순위/백분위");
+        String choice = scanner.nextLine().trim();
+        flushWriteBehind();
+        if (!loadRanking()) {
+            return;
+        }
+        if (ranking.size() == 0) {
+            System.out.println("DB에 저장된 학생 데이터가 없습니다.");
+            return;
+        }
 
-        Runnable sortAction = sortActions.get(sortChoice);
-        if (sortAction == null) {
+        if ("1".equals(choice)) {
+            int n = readValidatedInt("N (1-" + ranking.size() + "): ", 1, ranking.size());
+            int rank = 0;
+            int previousTotal = -1;
+            List<StudentRanking.Entry> top = ranking.topN(n);
+            for (int i = 0; i < top.size(); i++) {
+                StudentRanking.Entry entry = top.get(i);
+                if (entry.getTotal() != previousTotal) {
+                    rank = i + 1;
+                    previousTotal = entry.getTotal();
+                }
+                System.out.println(rank + ". " + entry);
+            }
+        } else if ("2".equals(choice)) {
+            String sno = readValidatedString("sno (10자리수): ", SNO_PATTERN, "정확히 10자리 수 재입력");
+            int rank = ranking.rankOf(sno);
+            if (rank < 0) {
+                System.out.println("no " + sno);
+                return;
+            }
+            System.out.printf("%s: %d위 / %d명, 백분위 %.1f%n", sno, rank, ranking.size(), ranking.percentileOf(sno));
+        } else {
             System.out.println("잘못된 입력");
+        }
+    }
+
+    /**
+     * 처음 조회할 때 데이터베이스 전체를 스트리밍하여 순위 서비스를 구성합니다.
+     * @return 순위 서비스를 사용할 수 있으면 true, 조회 실패 시 false
+     */
+    private boolean loadRanking() {
+        if (rankingLoaded) {
+            return true;
+        }
+        try (Stream<Student> stream = studentDAO.streamAllStudents()) {
+            ranking.rebuild(stream.iterator());
+        } catch (StudentDAO.StreamException e) {
+            e.printStackTrace();
+            return false;
+        }
+        rankingLoaded = true;
+        return true;
+    }
+
+    /**
+     * 과목별 평균/분산/최소/최대와 학점 분포를 출력합니다. 통계는 쓰기마다 갱신되므로 학생 전체를 다시 읽지 않습니다.
+     */
+    private void showStatistics() {
+        flushWriteBehind();
+        if (!statisticsLoaded) {
+            try (Stream<Student> stream = studentDAO.streamAllStudents()) {
+                statistics.rebuild(stream);
+            } catch (StudentDAO.StreamException e) {
+                e.printStackTrace();
+                return;
+            }
+            statisticsLoaded = true;
+        }
+        if (statistics.size() == 0) {
+            System.out.println("DB에 저장된 학생 데이터가 없습니다.");
             return;
         }
-        sortAction.run();
+        System.out.println("students=" + statistics.size() + ", grades=" + statistics.getGradeDistribution());
+        for (int subjectId : new int[] { SubjectDictionary.KOREAN, SubjectDictionary.ENGLISH,
+                SubjectDictionary.MATH, SubjectDictionary.SCIENCE }) {
+            System.out.println(statistics.getSubjectStats(subjectId));
+        }
+    }
+
+    /**
+     * 총점 내림차순(동점이면 학번 순)으로 정렬된 N번째 페이지를 데이터베이스에서 조회합니다.
+     * @param page 페이지 번호 (1부터 시작)
+     * @param pageSize 페이지 크기
+     * @return 해당 페이지의 학생 리스트
+     */
+    @Override
+    public List<Student> pageByTotal(int page, int pageSize) {
+        return pager(StudentDAO.SortKey.TOTAL, pageSize).page(page);
+    }
 
-        System.out.println("Sorted Students:");
-        studentList.forEach(System.out::println);
+    /**
+     * 학번 오름차순으로 정렬된 N번째 페이지를 데이터베이스에서 조회합니다.
+     * @param page 페이지 번호 (1부터 시작)
+     * @param pageSize 페이지 크기
+     * @return 해당 페이지의 학생 리스트
+     */
+    @Override
+    public List<Student> pageBySno(int page, int pageSize) {
+        return pager(StudentDAO.SortKey.SNO, pageSize).page(page);
+    }
+
+    /**
+     * 정렬 기준별 페이지 조회기를 반환합니다. 페이지 크기가 바뀌면 새로 만듭니다.
+     * @param sortKey 정렬 기준
+     * @param pageSize 페이지 크기
+     * @return StudentPager 객체
+     */
+    private StudentPager pager(StudentDAO.SortKey sortKey, int pageSize) {
+        StudentPager pager = pagers.get(sortKey);
+        if (pager == null || pager.getPageSize() != pageSize) {
+            pager = new StudentPager(studentDAO, sortKey, pageSize);
+            pagers.put(sortKey, pager);
+        }
+        return pager;
+    }
+
+    /**
+     * 기억해 둔 페이지 경계를 초기화합니다. 정렬 조회를 새로 시작할 때 호출합니다.
+     */
+    private void resetPagers() {
+        pagers.values().forEach(StudentPager::reset);
     }
 
     /**
@@ -302,7 +628,7 @@ public class StudentManager extends StudentDBIO {
      */
     @Override
     public void sortByTotal(List<Student> studentList) {
-        studentList.sort(Comparator.comparingInt(Student::getTotal).reversed());
+        sorter.sortByTotal(studentList);
         System.out.println("Sorted by total score (descending):");
     }
 
@@ -312,66 +638,289 @@ public class StudentManager extends StudentDBIO {
      */
     @Override
     public void sortBySno(List<Student> studentList) {
-        studentList.sort(Comparator.comparing(Student::getSno));
+        sorter.sortBySno(studentList);
         System.out.println("Sorted by sno:");
     }
 
     /**
      * 데이터베이스의 학생 데이터를 백업 파일로 저장합니다.
+     * 커서 기반 스트림을 StudentCsvExporter로 바로 기록하므로 테이블 크기와 무관하게 메모리 사용량이 일정합니다.
+     * 전체 백업은 새 증분 백업 체인(매니페스트)을 시작하고, 증분 백업은 마지막 백업 이후 바뀐 학생만 기록합니다.
+     * 백업 병합은 데이터베이스 대신 현재 디렉터리의 백업 파일들을 학번마다 최신 레코드 하나로 합칩니다.
      */
     private void backupToFile() {
-        List<Student> studentList = studentDAO.getAllStudents();
-        if (studentList.isEmpty()) {
-            System.out.println("백업할 데이터가 없습니다.");
+        System.out.print("백업 형식 (1. CSV, 2. CSV gzip, 3. 바이너리 스냅샷, 4. 증분 백업, 5. 백업 파일 병합): ");
+        String format = scanner.nextLine().trim();
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        if ("5".equals(format)) {
+            mergeBackups(timestamp);
             return;
         }
+        flushWriteBehind();
 
-        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-        String fileName = "students_backup_" + timestamp + ".csv";
-
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
-            String header = "sno,name,korean,english,math,science,total,average,grade";
-            writer.write(header);
-            writer.newLine();
-
-            for (Student s : studentList) {
-                String csvLine = String.format("%s,%s,%d,%d,%d,%d,%d,%.2f,%s",
-                        s.getSno(),
-                        s.getName(),
-                        getSubjectScore(s, "korean"),
-                        getSubjectScore(s, "english"),
-                        getSubjectScore(s, "math"),
-                        getSubjectScore(s, "science"),
-                        s.getTotal(),
-                        s.getAverage(),
-                        s.computeGrade());
-                writer.write(csvLine);
-                writer.newLine();
+        if ("4".equals(format)) {
+            try {
+                System.out.println("증분 백업 완료: " + backupChain.writeDelta(timestamp));
+            } catch (IllegalStateException e) {
+                System.out.println("증분 백업의 기준이 될 전체 백업이 없습니다. 먼저 전체 백업을 실행하세요.");
+            } catch (IOException | StudentDAO.StreamException e) {
+                e.printStackTrace();
+                System.out.println("증분 백업 실패: 매니페스트를 바꾸지 않았으므로 다시 실행하면 같은 구간부터 백업합니다.");
+            }
+            return;
+        }
+
+        // 전체 백업을 읽기 전의 변경 순번을 기록해 두어야 백업 중의 변경이 다음 증분에 포함됩니다.
+        long changeSeq = studentDAO.getLastChangeSeq();
+        try (Stream<Student> stream = studentDAO.streamAllStudents()) {
+            Iterator<Student> it = stream.iterator();
+            if (!it.hasNext()) {
+                System.out.println("백업할 데이터가 없습니다.");
+                return;
+            }
+
+            String fileName;
+            long rows;
+            if ("3".equals(format)) {
+                fileName = "students_backup_" + timestamp + ".snap";
+                // 도중에 실패하면 writer가 임시 파일을 지우므로 일부만 담긴 스냅샷이 남지 않습니다.
+                try (StudentSnapshotWriter writer = new StudentSnapshotWriter(Paths.get(fileName))) {
+                    writer.addAll(it);
+                    writer.commit();
+                    rows = writer.getRowCount();
+                } catch (IOException | IllegalArgumentException e) {
+                    e.printStackTrace();
+                    return;
+                }
+            } else {
+                boolean gzip = "2".equals(format);
+                fileName = "students_backup_" + timestamp + (gzip ? ".csv.gz" : ".csv");
+                try (StudentCsvExporter exporter = new StudentCsvExporter(Paths.get(fileName), gzip)) {
+                    exporter.exportAll(it);
+                    rows = exporter.getRowCount();
+                } catch (IOException | StudentDAO.StreamException e) {
+                    e.printStackTrace();
+                    deletePartialFile(Paths.get(fileName));
+                    return;
+                }
+            }
+            System.out.println("파일 백업 완료: " + fileName + " (" + rows + "명)");
+
+            if (changeSeq < 0) {
+                System.out.println("변경 로그를 읽을 수 없어 증분 백업 체인을 시작하지 않았습니다.");
+                return;
+            }
+            try {
+                System.out.println("증분 백업 매니페스트: " + backupChain.startChain(Paths.get(fileName), changeSeq, rows));
+            } catch (IOException e) {
+                e.printStackTrace();
             }
-            System.out.println("파일 백업 완료: " + fileName);
+        } catch (StudentDAO.StreamException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 현재 디렉터리의 students_backup*.csv(.gz, .snap) 파일을 시간순으로 병합해 학번마다 최신 레코드만 남긴 스냅샷을 만듭니다.
+     * @param timestamp 결과 파일 이름에 붙일 시각
+     */
+    private void mergeBackups(String timestamp) {
+        try {
+            List<Path> files = StudentBackupMerger.findBackups(Paths.get("."));
+            if (files.isEmpty()) {
+                System.out.println("병합할 백업 파일이 없습니다.");
+                return;
+            }
+            files.forEach(file -> System.out.println("merge: " + file));
+            Path target = Paths.get("students_merged_" + timestamp + ".snap");
+            StudentBackupMerger.MergeReport report = new StudentBackupMerger().merge(files, target);
+            System.out.println("백업 병합 완료: " + target + " (" + report + ")");
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
     /**
-     * 특정 과목의 점수를 반환하는 헬퍼 메서드.
-     * @param student 학생 객체
-     * @param subjectName 과목명
-     * @return 과목 점수, 없으면 0 반환
+     * CSV 파일의 학생 명단을 일괄 저장합니다.
+     * 삽입 전용(JDBC 배치) 또는 upsert 모드를 선택할 수 있으며,
+     * 청크 단위로 커밋하고 실패한 청크는 건너뛰고 결과만 출력합니다.
+     * 직접 입력과 같은 규칙(SNO_PATTERN, NAME_PATTERN, 과목 점수 0~100)을 통과하지 못한 학생은 저장하지 않고 세기만 합니다.
      */
-    private int getSubjectScore(Student student, String subjectName) {
-        return student.getSubjects().stream()
-                .filter(subject -> subject.getName().equalsIgnoreCase(subjectName))
-                .mapToInt(Student.Subject::getScore)
-                .findFirst()
-                .orElse(0);
+    private void bulkLoad() {
+        System.out.print("file path: ");
+        String path = scanner.nextLine().trim();
+        List<Student> roster = new ArrayList<>();
+        int invalid = 0;
+        for (Student student : StudentFileIO.getInstance().readStudents(path)) {
+            if (isValidRosterStudent(student)) {
+                roster.add(student);
+            } else if (++invalid <= 5) {
+                System.out.println("잘못된 학생 정보 건너뜀: " + student.getSno() + "," + student.getName());
+            }
+        }
+        if (invalid > 0) {
+            System.out.println("검증에 실패하여 건너뛴 학생: " + invalid + "명");
+        }
+        if (roster.isEmpty()) {
+            System.out.println("불러올 데이터가 없습니다.");
+            return;
+        }
+        int chunkSize = readValidatedInt("chunk size (1~10000): ", 1, 10_000);
+        System.out.println("1. insert only (batch)");
+        System.out.println("2. insert or update (upsert)");
+        int mode = readValidatedInt("mode: ", 1, 2);
+
+        if (mode == 1) {
+            StudentDAO.BatchResult result = studentDAO.saveAll(roster, chunkSize);
+            result.getFailures().forEach(failure -> System.out.println("실패: " + failure));
+            System.out.println("일괄 저장 완료: " + result);
+        } else {
+            Map<StudentDAO.UpsertResult, Integer> counts = new EnumMap<>(StudentDAO.UpsertResult.class);
+            int failed = 0;
+            for (StudentDAO.UpsertResult result : studentDAO.upsertAll(roster, chunkSize)) {
+                if (result == null) {
+                    failed++;
+                } else {
+                    counts.merge(result, 1, Integer::sum);
+                }
+            }
+            System.out.println("일괄 upsert 완료: " + counts + ", failed=" + failed);
+        }
+    }
+
+    /**
+     * 파일에서 읽은 학생이 직접 입력과 같은 규칙을 만족하는지 확인합니다.
+     * @param student 확인할 학생
+     * @return 학번이 10자리 숫자, 이름이 한/영문이고 모든 과목 점수가 0~100이면 true
+     */
+    private static boolean isValidRosterStudent(Student student) {
+        if (!SNO_PATTERN.matcher(student.getSno()).matches() || !NAME_PATTERN.matcher(student.getName()).matches()) {
+            return false;
+        }
+        for (int i = 0; i < student.getSubjectCount(); i++) {
+            int score = student.getScore(student.getSubjectId(i));
+            if (score < 0 || score > 100) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
-     * 애플리케이션을 종료합니다.
+     * students_backup_*.csv(.gz) 백업 파일을 데이터베이스로 복원합니다.
+     * 경로를 입력하지 않으면 현재 디렉터리의 백업 파일을 모두 시간순(파일명 순)으로 복원하므로 같은 학번은 최신 백업의 값이 남습니다.
+     * 매니페스트(.manifest)를 입력하면 전체 백업과 증분 백업을 순서대로 재생합니다.
+     */
+    private void restoreFromBackup() {
+        System.out.print("backup file or .manifest path (엔터: 현재 디렉터리의 students_backup_* 전체): ");
+        String input = scanner.nextLine().trim();
+        List<Path> files = new ArrayList<>();
+        if (input.isEmpty()) {
+            try (DirectoryStream<Path> dir = Files.newDirectoryStream(Paths.get("."), "students_backup_*.{csv,csv.gz}")) {
+                dir.forEach(files::add);
+            } catch (IOException e) {
+                e.printStackTrace();
+                return;
+            }
+            files.sort(Comparator.comparing(path -> path.getFileName().toString()));
+        } else {
+            files.add(Paths.get(input));
+        }
+        if (files.isEmpty()) {
+            System.out.println("복원할 백업 파일이 없습니다.");
+            return;
+        }
+        files.forEach(file -> System.out.println("restore: " + file));
+        int batchSize = readValidatedInt("batch size (1~10000): ", 1, 10_000);
+
+        if (files.size() == 1 && files.get(0).toString().endsWith(".manifest")) {
+            flushWriteBehind();
+            try {
+                StudentBackupChain.ReplayReport report = backupChain.replay(files.get(0), batchSize);
+                report.getApplied().forEach(file -> System.out.println("적용: " + file));
+                report.getErrors().forEach(error -> System.out.println("오류: " + error));
+                System.out.println("복원 완료: " + report);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            return;
+        }
+
+        flushWriteBehind();
+        StudentRestorePipeline pipeline = new StudentRestorePipeline(studentDAO, batchSize);
+        StudentRestorePipeline.RestoreReport report =
+                pipeline.restore(files, progress -> System.out.println("진행: " + progress), 1_000);
+        report.getRejectSamples().forEach(sample -> System.out.println("거부: " + sample));
+        report.getErrors().forEach(error -> System.out.println("오류: " + error));
+        System.out.println("복원 완료: " + report);
+    }
+
+    /**
+     * 쓰기 지연 모드를 켜거나 끕니다.
+     * 켜면 입력/삭제가 학번별로 병합되어 일정 건수 또는 일정 시간마다 JDBC 배치로 반영되고,
+     * 끄면 남은 변경을 모두 반영한 뒤 즉시 쓰기로 돌아갑니다.
+     * 반영하지 못한 변경을 파일로도 저장하지 못하면 큐를 버리지 않고 쓰기 지연 모드를 유지합니다.
+     */
+    private void toggleWriteBehind() {
+        if (writeBehindQueue == null) {
+            writeBehindQueue = new StudentWriteBehindQueue(
+                    studentDAO, WRITE_BEHIND_MAX_PENDING, WRITE_BEHIND_FLUSH_INTERVAL_MS);
+            System.out.println("write-behind on");
+        } else if (closeWriteBehind()) {
+            writeBehindQueue = null;
+            System.out.println("write-behind off");
+        } else {
+            System.out.println("반영하지 못한 변경이 남아 write-behind를 유지합니다.");
+        }
+    }
+
+    /**
+     * 쓰기 지연 모드이면 대기 중인 변경을 모두 반영합니다. 전체 조회 전에 호출합니다.
+     */
+    private void flushWriteBehind() {
+        if (writeBehindQueue != null) {
+            writeBehindQueue.flush();
+        }
+    }
+
+    /**
+     * 쓰기 지연 큐를 닫아 남은 변경을 반영하고, 그래도 반영하지 못한 변경은 CSV 파일로 저장합니다.
+     * 저장/수정은 일괄 저장(upsert 모드)으로 다시 반영할 수 있고, 삭제는 "!학번" 줄로 기록됩니다.
+     * @return 모든 변경이 DB나 파일에 남았으면 true, 파일 저장까지 실패했으면 false
+     */
+    private boolean closeWriteBehind() {
+        writeBehindQueue.close();
+        System.out.println("write-behind flushed: " + writeBehindQueue.getMetrics());
+        int unsaved = writeBehindQueue.getUnsavedCount();
+        if (unsaved == 0) {
+            return true;
+        }
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        Path file = Paths.get("students_unsaved_" + timestamp + ".csv");
+        try {
+            writeBehindQueue.exportUnsaved(file);
+            System.out.println("DB에 반영하지 못한 변경 " + unsaved + "건을 " + file + "에 저장했습니다."
+                    + " (일괄 저장 upsert 모드로 다시 반영, !학번 줄은 삭제)");
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.out.println("DB에 반영하지 못한 변경 " + unsaved + "건을 파일로도 저장하지 못했습니다.");
+            return false;
+        }
+    }
+
+    /**
+     * 애플리케이션을 종료합니다. 쓰기 지연 모드이면 남은 변경을 반영하고, 반영하지 못한 변경은 파일로 저장한 뒤 종료합니다.
+     * 파일 저장도 실패하면 변경을 버린다는 확인을 받아야 종료합니다.
      */
     private void exitApp() {
+        if (writeBehindQueue != null && !closeWriteBehind()) {
+            System.out.print("변경을 버리고 종료하려면 yes 입력: ");
+            if (!"yes".equals(scanner.nextLine().trim())) {
+                System.out.println("종료 취소");
+                return;
+            }
+        }
         System.exit(0);
     }
 }
\ No newline at end of file
@@ -0,0 +1,378 @@
+package studentmanager0206.code;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * StudentMemoryIO 클래스는 학생 정보를 메모리에 보관하는 StudentIO 구현입니다.
+ * <p>
+ * 학번은 항상 10자리 숫자(SNO_PATTERN)이므로 String 대신 long 키로 바꾸어 선형 탐사 방식의 개방 주소 해시 테이블에 저장합니다.
+ * 학생마다 Student 객체를 보관하지 않고 학번(long[]), 이름(String[]), 네 과목 점수를 8비트씩 묶은 int[]의 열 배열로 저장하므로
+ * 박싱이나 학번 문자열, 과목 배열이 없어 ArrayList&lt;Student&gt;보다 학생당 힙 사용량이 작습니다. (MemoryStoreBenchmark 참고)
+ * Student 객체는 조회할 때 만들어 반환합니다.
+ * <p>
+ * 쓰기는 StampedLock의 쓰기 잠금으로 직렬화되고, 읽기는 낙관적 읽기로 잠금 없이 수행한 뒤
+ * 그 사이 쓰기가 있었으면 읽기 잠금으로 다시 읽으므로 여러 스레드가 동시에 안전하게 조회할 수 있습니다.
+ * 국어/영어/수학/과학 네 과목(0~255점)만 보관합니다.
+ */
+public class StudentMemoryIO extends StudentDBIO {
+    private static final long EMPTY = SnoCodec.INVALID;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int[] SUBJECTS = {
+            SubjectDictionary.KOREAN, SubjectDictionary.ENGLISH, SubjectDictionary.MATH, SubjectDictionary.SCIENCE };
+
+    private final StampedLock lock = new StampedLock();
+    private final StudentCountingSorter sorter = new StudentCountingSorter(this::getAllStudents);
+    /**
+     * 현재 테이블 (쓰기 잠금 안에서만 교체)
+     */
+    private Table table;
+    private int size;
+
+    /**
+     * 비어 있는 저장소를 생성합니다.
+     */
+    public StudentMemoryIO() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 예상 학생 수에 맞춰 테이블을 미리 할당한 저장소를 생성합니다.
+     * @param expectedSize 예상 학생 수
+     */
+    public StudentMemoryIO(int expectedSize) {
+        this.table = new Table(capacityFor(expectedSize));
+    }
+
+    /**
+     * 학생 정보를 저장합니다. 같은 학번이 있으면 대체합니다.
+     * @param student 저장할 학생 객체
+     * @throws IllegalArgumentException 학번이 10자리 숫자가 아니거나 점수가 0~255를 벗어나면 예외 발생
+     */
+    @Override
+    public void save(Student student) {
+        long key = SnoCodec.parseOrThrow(student.getSno());
+        int packed = packScores(student);
+        long stamp = lock.writeLock();
+        try {
+            Table t = table;
+            int slot = t.slotOf(key);
+            if (t.keys[slot] == key) {
+                t.names[slot] = student.getName();
+                t.scores[slot] = packed;
+                return;
+            }
+            if ((size + 1) * 4L > t.keys.length * 3L) {
+                t = resize(t.keys.length * 2);
+                slot = t.slotOf(key);
+            }
+            t.names[slot] = student.getName();
+            t.scores[slot] = packed;
+            t.keys[slot] = key;
+            size++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 주어진 학번의 학생 정보를 삭제합니다. 빈자리 뒤의 항목을 앞으로 당겨 삭제 표시 없이 탐사 순서를 유지합니다.
+     * @param sno 삭제할 학생의 학번
+     */
+    @Override
+    public void delete(String sno) {
+        long key = SnoCodec.parse(sno);
+        if (key == EMPTY) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            Table t = table;
+            int gap = t.slotOf(key);
+            if (t.keys[gap] != key) {
+                return;
+            }
+            int j = gap;
+            while (true) {
+                j = (j + 1) & t.mask;
+                long moved = t.keys[j];
+                if (moved == EMPTY) {
+                    break;
+                }
+                int home = hash(moved) & t.mask;
+                // j의 항목이 원래 자리(home)에서 gap을 지나 j까지 밀려났다면 gap으로 당깁니다.
+                if (((j - home) & t.mask) >= ((j - gap) & t.mask)) {
+                    t.names[gap] = t.names[j];
+                    t.scores[gap] = t.scores[j];
+                    t.keys[gap] = moved;
+                    gap = j;
+                }
+            }
+            t.keys[gap] = EMPTY;
+            t.names[gap] = null;
+            t.scores[gap] = 0;
+            size--;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 학번으로 학생 정보를 조회합니다.
+     * @param sno 조회할 학번
+     * @return 학생 객체, 없으면 null
+     */
+    public Student findStudentBySno(String sno) {
+        long key = SnoCodec.parse(sno);
+        return key == EMPTY ? null : findStudentBySno(key);
+    }
+
+    /**
+     * 숫자 학번으로 학생 정보를 조회합니다. 잠금 없이 읽은 뒤 그 사이 쓰기가 있었으면 읽기 잠금으로 다시 읽습니다.
+     * @param key 학번을 숫자로 바꾼 값
+     * @return 학생 객체, 없으면 null
+     */
+    public Student findStudentBySno(long key) {
+        long stamp = lock.tryOptimisticRead();
+        Table t = table;
+        int slot = t.find(key);
+        String name = slot < 0 ? null : t.names[slot];
+        int packed = slot < 0 ? 0 : t.scores[slot];
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                t = table;
+                slot = t.find(key);
+                name = slot < 0 ? null : t.names[slot];
+                packed = slot < 0 ? 0 : t.scores[slot];
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return slot < 0 ? null : toStudent(key, name, packed);
+    }
+
+    /**
+     * 주어진 학번의 학생이 있는지 확인합니다.
+     * @param sno 학번
+     * @return 있으면 true
+     */
+    public boolean contains(String sno) {
+        long key = SnoCodec.parse(sno);
+        if (key == EMPTY) {
+            return false;
+        }
+        long stamp = lock.tryOptimisticRead();
+        boolean found = table.find(key) >= 0;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                found = table.find(key) >= 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * 저장된 학생 수를 반환합니다.
+     * @return 학생 수
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 모든 학생 정보를 조회합니다. (순서 없음)
+     * @return 새로 만든 학생 리스트
+     */
+    @Override
+    public List<Student> getAllStudents() {
+        long stamp = lock.readLock();
+        try {
+            Table t = table;
+            List<Student> students = new ArrayList<>(size);
+            for (int slot = 0; slot < t.keys.length; slot++) {
+                if (t.keys[slot] != EMPTY) {
+                    students.add(toStudent(t.keys[slot], t.names[slot], t.scores[slot]));
+                }
+            }
+            return students;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 총점 내림차순(동점이면 학번 오름차순)으로 정렬된 N번째 페이지를 조회합니다.
+     * @param page 페이지 번호 (1부터 시작)
+     * @param pageSize 페이지 크기
+     * @return 해당 페이지의 학생 리스트
+     */
+    @Override
+    public List<Student> pageByTotal(int page, int pageSize) {
+        return sorter.pageByTotal(page, pageSize);
+    }
+
+    /**
+     * 학번 오름차순으로 정렬된 N번째 페이지를 조회합니다.
+     * @param page 페이지 번호 (1부터 시작)
+     * @param pageSize 페이지 크기
+     * @return 해당 페이지의 학생 리스트
+     */
+    @Override
+    public List<Student> pageBySno(int page, int pageSize) {
+        return sorter.pageBySno(page, pageSize);
+    }
+
+    /**
+     * 학생 리스트를 총점 기준 내림차순으로 정렬합니다.
+     * @param students 학생 리스트
+     */
+    @Override
+    public void sortByTotal(List<Student> students) {
+        sorter.sortByTotal(students);
+    }
+
+    /**
+     * 학생 리스트를 학번 기준으로 정렬합니다.
+     * @param students 학생 리스트
+     */
+    @Override
+    public void sortBySno(List<Student> students) {
+        sorter.sortBySno(students);
+    }
+
+    /**
+     * 더 큰 테이블을 만들어 모든 항목을 다시 배치하고 현재 테이블로 교체합니다. (쓰기 잠금 안에서 호출)
+     * @param capacity 새 테이블 크기 (2의 거듭제곱)
+     * @return 새 테이블
+     */
+    private Table resize(int capacity) {
+        Table old = table;
+        Table grown = new Table(capacity);
+        for (int slot = 0; slot < old.keys.length; slot++) {
+            long key = old.keys[slot];
+            if (key != EMPTY) {
+                int target = grown.slotOf(key);
+                grown.keys[target] = key;
+                grown.names[target] = old.names[slot];
+                grown.scores[target] = old.scores[slot];
+            }
+        }
+        table = grown;
+        return grown;
+    }
+
+    /**
+     * 열 배열로 구성된 해시 테이블. 키가 EMPTY인 칸은 비어 있습니다.
+     */
+    private static final class Table {
+        private final long[] keys;
+        private final String[] names;
+        private final int[] scores;
+        private final int mask;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.names = new String[capacity];
+            this.scores = new int[capacity];
+            this.mask = capacity - 1;
+            Arrays.fill(keys, EMPTY);
+        }
+
+        /**
+         * 키가 있는 칸 또는 키를 넣을 빈칸의 위치를 반환합니다.
+         */
+        private int slotOf(long key) {
+            int slot = hash(key) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        /**
+         * 키가 있는 칸의 위치를 반환합니다. 동시 쓰기 중에 읽어도 끝나도록 탐사 횟수를 테이블 크기로 제한합니다.
+         * @return 칸 위치, 없으면 -1
+         */
+        private int find(long key) {
+            int slot = hash(key) & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                long k = keys[slot];
+                if (k == key) {
+                    return slot;
+                }
+                if (k == EMPTY) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * 연속된 학번도 테이블 전체에 고르게 퍼지도록 키를 섞습니다. (피보나치 해싱)
+     * @param key 숫자 학번
+     * @return 해시 값
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * 예상 학생 수를 사용률 0.75 이하로 담을 수 있는 2의 거듭제곱 크기를 구합니다.
+     * @param expectedSize 예상 학생 수
+     * @return 테이블 크기
+     */
+    private static int capacityFor(int expectedSize) {
+        long needed = Math.max(DEFAULT_CAPACITY, (long) Math.ceil(Math.max(expectedSize, 0) / 0.75) + 1);
+        if (needed > (1 << 30)) {
+            throw new IllegalArgumentException("expectedSize too large: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    /**
+     * 네 과목 점수를 8비트씩 하나의 int로 묶습니다.
+     * @param student 학생 객체
+     * @return 묶인 점수
+     * @throws IllegalArgumentException 점수가 0~255를 벗어나면 예외 발생
+     */
+    private static int packScores(Student student) {
+        int packed = 0;
+        for (int i = 0; i < SUBJECTS.length; i++) {
+            int score = student.getScore(SUBJECTS[i]);
+            if (score < 0 || score > 0xFF) {
+                throw new IllegalArgumentException("score out of range (0~255): " + score);
+            }
+            packed |= score << (i * 8);
+        }
+        return packed;
+    }
+
+    /**
+     * 저장된 열 값으로 Student 객체를 만듭니다.
+     * @param key 숫자 학번
+     * @param name 이름
+     * @param packed 묶인 점수
+     * @return 학생 객체
+     */
+    private static Student toStudent(long key, String name, int packed) {
+        Student.StudentBuilder builder = new Student.StudentBuilder().sno(SnoCodec.format(key)).name(name);
+        for (int i = 0; i < SUBJECTS.length; i++) {
+            builder.addSubject(SUBJECTS[i], (packed >>> (i * 8)) & 0xFF);
+        }
+        return builder.build();
+    }
+}
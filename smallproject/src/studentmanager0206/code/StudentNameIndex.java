@@ -0,0 +1,326 @@
+package studentmanager0206.code;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * StudentNameIndex 클래스는 학생 이름의 접두어/부분 문자열 검색을 위한 메모리 내 n-gram 색인입니다.
+ * <p>
+ * 이름(영문은 소문자로 정규화)마다 글자 하나(1-gram), 연속한 두 글자(2-gram), 그리고 이름 시작을 표시한
+ * 앞 한두 글자("^김", "^김철")를 gram으로 뽑아 gram → 학생 번호 목록(int 배열)으로 색인합니다.
+ * 한글 이름은 음절 단위로, 영문 이름은 알파벳 단위로 나뉩니다.
+ * 검색은 질의의 gram 중 목록이 가장 짧은 것을 후보로 삼아 실제 이름과 비교하므로,
+ * 테이블 전체를 LIKE '%x%'로 훑지 않고 후보 수에 비례한 시간만 듭니다.
+ * <p>
+ * 삭제나 이름 변경 시 목록에서 바로 지우지 않고 학생 번호를 무효로 표시하며(검증 단계에서 걸러짐),
+ * 무효 번호가 유효 번호보다 많아지면 색인을 다시 만듭니다.
+ * StudentChangeListener로 StudentDAO에 등록하면 저장/수정/삭제 시 자동으로 갱신됩니다.
+ */
+public class StudentNameIndex implements StudentChangeListener {
+    /**
+     * 이름 시작을 나타내는 표시 문자 (NAME_PATTERN에 포함되지 않는 문자)
+     */
+    private static final char ANCHOR = '^';
+    private static final int MIN_COMPACT_DEAD = 1_024;
+
+    /**
+     * 학번 → 학생 번호
+     */
+    private final Map<String, Integer> docOf = new HashMap<>();
+    /**
+     * gram → 해당 gram을 포함하는 학생 번호 목록
+     */
+    private final Map<String, IntList> postings = new HashMap<>();
+    private String[] snos = new String[1_024];
+    private String[] names = new String[1_024];
+    /**
+     * 정규화한 이름 (null이면 무효 번호)
+     */
+    private String[] keys = new String[1_024];
+    private int nextDoc;
+    private int dead;
+
+    /**
+     * 학생 이름을 색인합니다. 이름이 바뀌지 않은 수정(성적 수정 등)은 색인을 건드리지 않습니다.
+     * @param student 저장된 학생 객체
+     */
+    @Override
+    public synchronized void onSaved(Student student) {
+        Integer doc = docOf.get(student.getSno());
+        if (doc != null) {
+            if (names[doc].equals(student.getName())) {
+                return;
+            }
+            kill(doc);
+        }
+        add(student.getSno(), student.getName());
+        maybeCompact();
+    }
+
+    /**
+     * 학번의 학생을 색인에서 제외합니다.
+     * @param sno 삭제된 학번
+     */
+    @Override
+    public synchronized void onDeleted(String sno) {
+        Integer doc = docOf.remove(sno);
+        if (doc != null) {
+            kill(doc);
+            maybeCompact();
+        }
+    }
+
+    /**
+     * 기존 색인을 지우고 주어진 학생들로 다시 만듭니다.
+     * @param students 전체 학생 (스트리밍 커서의 iterator 등)
+     */
+    public synchronized void rebuild(Iterator<Student> students) {
+        clear();
+        while (students.hasNext()) {
+            Student student = students.next();
+            Integer doc = docOf.get(student.getSno());
+            if (doc != null) {
+                kill(doc);
+            }
+            add(student.getSno(), student.getName());
+        }
+        maybeCompact();
+    }
+
+    /**
+     * 색인된 학생 수를 반환합니다.
+     * @return 학생 수
+     */
+    public synchronized int size() {
+        return docOf.size();
+    }
+
+    /**
+     * 이름이 prefix로 시작하는 학생을 찾습니다. (영문은 대소문자 구분 없음)
+     * @param prefix 이름 접두어
+     * @param limit 최대 결과 수
+     * @return 일치하는 학생의 학번과 이름 (색인된 순서)
+     */
+    public synchronized List<Match> searchPrefix(String prefix, int limit) {
+        String query = normalize(prefix);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        grams.add(ANCHOR + query.substring(0, Math.min(2, query.length())));
+        addBigrams(query, grams);
+        return search(grams, query, true, limit);
+    }
+
+    /**
+     * 이름에 text가 포함된 학생을 찾습니다. (영문은 대소문자 구분 없음)
+     * @param text 찾을 부분 문자열
+     * @param limit 최대 결과 수
+     * @return 일치하는 학생의 학번과 이름 (색인된 순서)
+     */
+    public synchronized List<Match> searchSubstring(String text, int limit) {
+        String query = normalize(text);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        if (query.length() == 1) {
+            grams.add(query);
+        } else {
+            addBigrams(query, grams);
+        }
+        return search(grams, query, false, limit);
+    }
+
+    /**
+     * 가장 짧은 후보 목록을 골라 실제 이름과 비교합니다.
+     * @param grams 질의의 gram
+     * @param query 정규화한 질의
+     * @param prefix true면 접두어, false면 부분 문자열 비교
+     * @param limit 최대 결과 수
+     * @return 일치하는 학생 리스트
+     */
+    private List<Match> search(Set<String> grams, String query, boolean prefix, int limit) {
+        IntList candidates = null;
+        for (String gram : grams) {
+            IntList posting = postings.get(gram);
+            if (posting == null) {
+                return List.of();
+            }
+            if (candidates == null || posting.size < candidates.size) {
+                candidates = posting;
+            }
+        }
+        List<Match> matches = new ArrayList<>(Math.min(limit, candidates.size));
+        for (int i = 0; i < candidates.size && matches.size() < limit; i++) {
+            int doc = candidates.data[i];
+            String key = keys[doc];
+            if (key != null && (prefix ? key.startsWith(query) : key.contains(query))) {
+                matches.add(new Match(snos[doc], names[doc]));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * 새 학생 번호를 할당하고 이름의 gram을 색인합니다.
+     * @param sno 학번
+     * @param name 이름
+     */
+    private void add(String sno, String name) {
+        if (nextDoc == keys.length) {
+            int capacity = keys.length * 2;
+            snos = Arrays.copyOf(snos, capacity);
+            names = Arrays.copyOf(names, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+        }
+        int doc = nextDoc++;
+        String key = normalize(name);
+        snos[doc] = sno;
+        names[doc] = name;
+        keys[doc] = key;
+        docOf.put(sno, doc);
+        for (String gram : gramsOf(key)) {
+            postings.computeIfAbsent(gram, g -> new IntList()).add(doc);
+        }
+    }
+
+    /**
+     * 학생 번호를 무효로 표시합니다. 목록에 남은 번호는 검색 시 걸러집니다.
+     * @param doc 학생 번호
+     */
+    private void kill(int doc) {
+        snos[doc] = null;
+        names[doc] = null;
+        keys[doc] = null;
+        dead++;
+    }
+
+    /**
+     * 무효 번호가 유효 번호보다 많으면 유효한 학생만으로 색인을 다시 만듭니다.
+     */
+    private void maybeCompact() {
+        if (dead < MIN_COMPACT_DEAD || dead <= docOf.size()) {
+            return;
+        }
+        String[] liveSnos = snos;
+        String[] liveNames = names;
+        int count = nextDoc;
+        clear();
+        for (int doc = 0; doc < count; doc++) {
+            if (liveSnos[doc] != null) {
+                add(liveSnos[doc], liveNames[doc]);
+            }
+        }
+    }
+
+    /**
+     * 색인을 비웁니다.
+     */
+    private void clear() {
+        docOf.clear();
+        postings.clear();
+        snos = new String[snos.length];
+        names = new String[names.length];
+        keys = new String[keys.length];
+        nextDoc = 0;
+        dead = 0;
+    }
+
+    /**
+     * 이름의 중복 없는 gram(1-gram, 2-gram, 시작 표시 gram)을 구합니다.
+     * @param key 정규화한 이름
+     * @return gram 집합
+     */
+    private static Set<String> gramsOf(String key) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (key.isEmpty()) {
+            return grams;
+        }
+        grams.add(ANCHOR + key.substring(0, 1));
+        if (key.length() > 1) {
+            grams.add(ANCHOR + key.substring(0, 2));
+        }
+        for (int i = 0; i < key.length(); i++) {
+            grams.add(key.substring(i, i + 1));
+        }
+        addBigrams(key, grams);
+        return grams;
+    }
+
+    /**
+     * 문자열의 연속한 두 글자를 모두 gram 집합에 추가합니다.
+     * @param key 정규화한 문자열
+     * @param grams gram 집합
+     */
+    private static void addBigrams(String key, Set<String> grams) {
+        for (int i = 0; i + 1 < key.length(); i++) {
+            grams.add(key.substring(i, i + 2));
+        }
+    }
+
+    /**
+     * 검색용으로 이름을 정규화합니다. (앞뒤 공백 제거, 영문 소문자화)
+     * @param name 이름
+     * @return 정규화한 이름
+     */
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 크기가 늘어나는 int 목록
+     */
+    private static final class IntList {
+        private int[] data = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+    }
+
+    /**
+     * Match 클래스는 이름 검색 결과 하나(학번과 이름)를 나타냅니다.
+     */
+    public static final class Match {
+        private final String sno;
+        private final String name;
+
+        private Match(String sno, String name) {
+            this.sno = sno;
+            this.name = name;
+        }
+
+        /**
+         * 학번을 반환합니다.
+         * @return 학번
+         */
+        public String getSno() {
+            return sno;
+        }
+
+        /**
+         * 이름을 반환합니다.
+         * @return 이름
+         */
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return sno + " " + name;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package studentmanager0206.code;
+
+/**
+ * StudentOperationMXBean 인터페이스는 StudentDAO 작업 하나의 실행 지표를 JMX로 공개합니다.
+ * jconsole의 MBeans 탭에서 studentmanager0206 &gt; StudentDAO &gt; 작업 이름 아래에 표시됩니다.
+ * 지연 시간은 마이크로초 단위이며, 백분위 값은 히스토그램 구간의 상한(오차 12.5% 이내)입니다.
+ */
+public interface StudentOperationMXBean {
+    /**
+     * 호출 횟수를 반환합니다.
+     * @return 호출 횟수
+     */
+    long getCalls();
+
+    /**
+     * 실패한 호출 횟수를 반환합니다. (예외 발생 또는 일괄 처리 중 실패 청크가 있는 경우)
+     * @return 실패 횟수
+     */
+    long getErrors();
+
+    /**
+     * 처리한 행 수의 합을 반환합니다.
+     * @return 행 수
+     */
+    long getRows();
+
+    /**
+     * 호출당 평균 행 수를 반환합니다.
+     * @return 호출당 행 수
+     */
+    double getRowsPerCall();
+
+    /**
+     * 평균 지연 시간을 반환합니다.
+     * @return 평균(µs)
+     */
+    double getMeanMicros();
+
+    /**
+     * 지연 시간 중앙값을 반환합니다.
+     * @return p50(µs)
+     */
+    double getP50Micros();
+
+    /**
+     * 지연 시간 95 백분위를 반환합니다.
+     * @return p95(µs)
+     */
+    double getP95Micros();
+
+    /**
+     * 지연 시간 99 백분위를 반환합니다.
+     * @return p99(µs)
+     */
+    double getP99Micros();
+
+    /**
+     * 최대 지연 시간을 반환합니다.
+     * @return 최대(µs)
+     */
+    double getMaxMicros();
+
+    /**
+     * 모든 지표를 0으로 되돌립니다.
+     */
+    void reset();
+}
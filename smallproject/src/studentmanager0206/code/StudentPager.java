@@ -0,0 +1,109 @@
+package studentmanager0206.code;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * StudentPager 클래스는 StudentDAO의 키셋 페이지 조회를 페이지 번호로 접근할 수 있게 해줍니다.
+ * 방문한 페이지의 마지막 학생(경계 키)을 기억해 두고, N번째 페이지 요청 시 가장 가까운
+ * 이전 경계에서부터 이어 읽으므로 테이블 전체를 불러오거나 OFFSET으로 건너뛰지 않습니다.
+ */
+public class StudentPager {
+    private final StudentDAO studentDAO;
+    private final StudentDAO.SortKey sortKey;
+    private final int pageSize;
+
+    /**
+     * boundaries.get(i)는 (i+1)번째 페이지의 마지막 학생입니다.
+     */
+    private final List<Student> boundaries = new ArrayList<>();
+    private boolean reachedEnd;
+
+    /**
+     * StudentPager 생성자
+     * @param studentDAO 페이지를 조회할 DAO
+     * @param sortKey 정렬 기준
+     * @param pageSize 페이지 크기
+     */
+    public StudentPager(StudentDAO studentDAO, StudentDAO.SortKey sortKey, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+        }
+        this.studentDAO = studentDAO;
+        this.sortKey = sortKey;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * N번째 페이지(1부터 시작)의 학생 리스트를 반환합니다.
+     * @param page 페이지 번호
+     * @return 해당 페이지의 학생 리스트, 범위를 벗어나면 빈 리스트
+     */
+    public List<Student> page(int page) {
+        if (page < 1) {
+            throw new IllegalArgumentException("page must be >= 1: " + page);
+        }
+        while (boundaries.size() < page - 1) {
+            if (reachedEnd) {
+                return List.of();
+            }
+            if (fetchAfter(lastBoundary()).isEmpty()) {
+                return List.of();
+            }
+        }
+        if (boundaries.size() == page - 1) {
+            return fetchAfter(lastBoundary());
+        }
+        Student after = page == 1 ? null : boundaries.get(page - 2);
+        return studentDAO.findPage(sortKey, after, pageSize);
+    }
+
+    /**
+     * 마지막으로 알려진 경계 다음 페이지를 읽고 경계와 끝 도달 여부를 갱신합니다.
+     * @param after 마지막 경계 학생, 첫 페이지이면 null
+     * @return 읽은 페이지
+     */
+    private List<Student> fetchAfter(Student after) {
+        List<Student> current = studentDAO.findPage(sortKey, after, pageSize);
+        if (current.size() < pageSize) {
+            reachedEnd = true;
+        }
+        if (!current.isEmpty()) {
+            boundaries.add(current.get(current.size() - 1));
+        }
+        return current;
+    }
+
+    /**
+     * 마지막으로 알려진 페이지 경계를 반환합니다.
+     * @return 경계 학생, 아직 없으면 null
+     */
+    private Student lastBoundary() {
+        return boundaries.isEmpty() ? null : boundaries.get(boundaries.size() - 1);
+    }
+
+    /**
+     * 주어진 페이지 다음에 페이지가 더 있을 수 있는지 반환합니다.
+     * @param page 현재 페이지 번호
+     * @return 다음 페이지가 없다고 확인되었으면 false
+     */
+    public boolean hasNext(int page) {
+        return !(reachedEnd && page >= boundaries.size());
+    }
+
+    /**
+     * 기억해 둔 페이지 경계를 모두 지웁니다. 데이터가 변경된 뒤 호출합니다.
+     */
+    public void reset() {
+        boundaries.clear();
+        reachedEnd = false;
+    }
+
+    /**
+     * 페이지 크기를 반환합니다.
+     * @return 페이지 크기
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+}
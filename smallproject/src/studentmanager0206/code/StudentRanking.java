@@ -0,0 +1,259 @@
+package studentmanager0206.code;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * StudentRanking 클래스는 총점 순위를 전체 정렬 없이 유지하는 순위 서비스입니다.
+ * <p>
+ * 총점 범위(0~MAX_TOTAL)가 작다는 점을 이용해 총점별 인원수를 펜윅 트리(Binary Indexed Tree)로 관리합니다.
+ * 트리는 높은 총점이 앞에 오도록 색인되어 있어 "나보다 총점이 높은 학생 수"를 O(log R)에 구할 수 있습니다. (R = 총점 범위)
+ * 학생마다 학번(long 키)과 총점만 SnoLongMap에 보관하고 Student 객체는 보관하지 않으므로 테이블 사본을 메모리에 두지 않습니다.
+ * 상위 N명 조회는 트리로 N등의 총점을 구한 뒤 그 이상인 학생만 골라 정렬하며,
+ * 순서는 SortKey.TOTAL과 같습니다(총점 내림차순, 학번 오름차순).
+ * StudentChangeListener로 StudentDAO에 등록하면 저장/수정/삭제 시 자동으로 갱신됩니다.
+ */
+public class StudentRanking implements StudentChangeListener {
+    /**
+     * 순위 대상 총점의 최대값 (4과목 × 100점). 범위를 벗어난 총점은 가장 가까운 경계값으로 취급합니다.
+     */
+    public static final int MAX_TOTAL = 400;
+
+    /**
+     * 펜윅 트리 (1부터 시작, 색인 = MAX_TOTAL - total + 1)
+     */
+    private final int[] tree = new int[MAX_TOTAL + 2];
+    /**
+     * 학번 → 총점 (0~MAX_TOTAL로 제한한 값)
+     */
+    private final SnoLongMap totals = new SnoLongMap();
+
+    /**
+     * 숫자 학번(10자리 < 2^34)과 총점을 정렬용 long 하나로 묶을 때 학번이 차지하는 비트 수
+     */
+    private static final int SNO_BITS = 34;
+    private static final long SNO_MASK = (1L << SNO_BITS) - 1;
+
+    /**
+     * 학생 정보를 추가하거나, 이미 있는 학번이면 새 총점으로 옮깁니다.
+     * @param student 저장된 학생 객체
+     */
+    @Override
+    public synchronized void onSaved(Student student) {
+        int total = clamp(student.getTotal());
+        long previous = totals.put(student.getSno(), total);
+        if (previous != SnoLongMap.NONE) {
+            add(indexOf((int) previous), -1);
+        }
+        add(indexOf(total), 1);
+    }
+
+    /**
+     * 학번의 학생을 순위에서 제외합니다.
+     * @param sno 삭제된 학번
+     */
+    @Override
+    public synchronized void onDeleted(String sno) {
+        long previous = totals.remove(sno);
+        if (previous != SnoLongMap.NONE) {
+            add(indexOf((int) previous), -1);
+        }
+    }
+
+    /**
+     * 기존 내용을 지우고 주어진 학생들로 순위를 다시 구성합니다.
+     * 총점별 인원수를 센 뒤 펜윅 트리를 O(R)에 한 번에 만듭니다.
+     * @param students 전체 학생 (스트리밍 커서의 iterator 등)
+     */
+    public synchronized void rebuild(Iterator<Student> students) {
+        totals.clear();
+        int[] counts = new int[MAX_TOTAL + 1];
+        while (students.hasNext()) {
+            Student student = students.next();
+            int total = clamp(student.getTotal());
+            long previous = totals.put(student.getSno(), total);
+            if (previous != SnoLongMap.NONE) {
+                counts[(int) previous]--;
+            }
+            counts[total]++;
+        }
+        Arrays.fill(tree, 0);
+        for (int total = 0; total <= MAX_TOTAL; total++) {
+            tree[indexOf(total)] = counts[total];
+        }
+        for (int i = 1; i < tree.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * 순위에 포함된 학생 수를 반환합니다.
+     * @return 학생 수
+     */
+    public synchronized int size() {
+        return totals.size();
+    }
+
+    /**
+     * 총점 상위 N명의 학번과 총점을 총점 내림차순(동점이면 학번 오름차순)으로 반환합니다.
+     * N등의 총점 이상인 학생만 골라 정렬하므로 O(학생 수 + K log K)입니다. (K = N등 총점 이상인 학생 수)
+     * @param n 조회할 인원수
+     * @return 상위 학생 리스트 (학생 수가 N보다 적으면 전체)
+     */
+    public synchronized List<Entry> topN(int n) {
+        int count = Math.min(Math.max(n, 0), totals.size());
+        List<Entry> top = new ArrayList<>(count);
+        if (count == 0) {
+            return top;
+        }
+        int threshold = totalAtRank(count);
+        int candidates = countAtLeast(threshold);
+
+        if (!totals.hasNonNumericKeys()) {
+            // (MAX_TOTAL - 총점, 학번)을 long 하나로 묶어 기본형 배열로 정렬합니다.
+            long[] sortKeys = new long[candidates];
+            int[] filled = { 0 };
+            totals.forEach((key, sno, total) -> {
+                if (total >= threshold) {
+                    sortKeys[filled[0]++] = (MAX_TOTAL - total) << SNO_BITS | key;
+                }
+            });
+            Arrays.sort(sortKeys);
+            for (int i = 0; i < count; i++) {
+                top.add(new Entry(SnoCodec.format(sortKeys[i] & SNO_MASK), MAX_TOTAL - (int) (sortKeys[i] >>> SNO_BITS)));
+            }
+            return top;
+        }
+
+        List<Entry> selected = new ArrayList<>(candidates);
+        totals.forEach((key, sno, total) -> {
+            if (total >= threshold) {
+                selected.add(new Entry(sno != null ? sno : SnoCodec.format(key), (int) total));
+            }
+        });
+        selected.sort(Comparator.comparingInt(Entry::getTotal).reversed().thenComparing(Entry::getSno));
+        top.addAll(selected.subList(0, count));
+        return top;
+    }
+
+    /**
+     * 학번의 총점 순위를 반환합니다. 동점자는 같은 순위입니다. (1, 2, 2, 4 ...)
+     * @param sno 학번
+     * @return 1부터 시작하는 순위, 순위에 없는 학번이면 -1
+     */
+    public synchronized int rankOf(String sno) {
+        long total = totals.get(sno);
+        if (total == SnoLongMap.NONE) {
+            return -1;
+        }
+        return countAtLeast((int) total + 1) + 1;
+    }
+
+    /**
+     * 학번의 백분위를 반환합니다. 총점이 이 학생보다 낮은 학생의 비율입니다.
+     * @param sno 학번
+     * @return 0 이상 100 미만의 백분위, 순위에 없는 학번이면 -1
+     */
+    public synchronized double percentileOf(String sno) {
+        long total = totals.get(sno);
+        if (total == SnoLongMap.NONE) {
+            return -1;
+        }
+        int below = totals.size() - countAtLeast((int) total);
+        return below * 100.0 / totals.size();
+    }
+
+    /**
+     * 주어진 순위에 해당하는 총점을 반환합니다. (예: 상위 k명 안에 들기 위한 최소 총점)
+     * @param rank 1부터 시작하는 순위
+     * @return 해당 순위 학생의 총점, 순위가 범위를 벗어나면 -1
+     */
+    public synchronized int totalAtRank(int rank) {
+        if (rank < 1 || rank > totals.size()) {
+            return -1;
+        }
+        // 누적 인원이 rank 이상이 되는 가장 작은 색인을 이진 탐색합니다.
+        int index = 0;
+        int remaining = rank;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next < tree.length && tree[next] < remaining) {
+                index = next;
+                remaining -= tree[next];
+            }
+        }
+        return MAX_TOTAL - index;
+    }
+
+    /**
+     * 총점이 total 이상인 학생 수를 구합니다.
+     * @param total 기준 총점 (MAX_TOTAL + 1이면 0)
+     * @return 학생 수
+     */
+    private int countAtLeast(int total) {
+        int count = 0;
+        for (int i = MAX_TOTAL - total + 1; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    /**
+     * 펜윅 트리의 한 색인에 delta를 더합니다.
+     * @param index 1부터 시작하는 색인
+     * @param delta 더할 값
+     */
+    private void add(int index, int delta) {
+        for (int i = index; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private static int indexOf(int total) {
+        return MAX_TOTAL - total + 1;
+    }
+
+    private static int clamp(int total) {
+        return Math.max(0, Math.min(MAX_TOTAL, total));
+    }
+
+    /**
+     * Entry 클래스는 순위 조회 결과 한 명(학번과 총점)을 나타냅니다.
+     */
+    public static final class Entry {
+        private final String sno;
+        private final int total;
+
+        Entry(String sno, int total) {
+            this.sno = sno;
+            this.total = total;
+        }
+
+        /**
+         * 학번을 반환합니다.
+         * @return 학번
+         */
+        public String getSno() {
+            return sno;
+        }
+
+        /**
+         * 총점을 반환합니다.
+         * @return 총점 (0~MAX_TOTAL로 제한한 값)
+         */
+        public int getTotal() {
+            return total;
+        }
+
+        @Override
+        public String toString() {
+            return "sno='" + sno + "', total=" + total;
+        }
+    }
+}
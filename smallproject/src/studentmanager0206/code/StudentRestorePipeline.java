@@ -0,0 +1,527 @@
+package studentmanager0206.code;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * StudentRestorePipeline 클래스는 students_backup_*.csv(.gz) 백업 파일을 STUDENT 테이블로 복원하는 다단계 파이프라인입니다.
+ * <p>
+ * 읽기(파일당 스레드 1개, 줄 묶음 단위) → 파싱/검증(여러 스레드) → 저장(여러 스레드, upsert JDBC 배치)의 세 단계가
+ * 크기 제한 큐로 연결되어 있어, 저장이 느리면 앞 단계가 대기하므로 메모리 사용량이 큐 크기로 제한됩니다.
+ * 검증은 StudentManager의 입력 규칙(SNO_PATTERN, NAME_PATTERN, 과목 점수 0~100)과 같으며 통과하지 못한 줄은 사유별로 집계합니다.
+ * 여러 파일은 주어진 순서대로 하나씩 복원하므로 같은 학번은 나중 파일의 값이 남습니다.
+ */
+public class StudentRestorePipeline {
+    private static final int MAX_SCORE = 100;
+    private static final int MAX_REJECT_SAMPLES = 20;
+    private static final String HEADER_PREFIX = "sno,";
+
+    /**
+     * 단계 종료를 알리는 표시 묶음
+     */
+    private static final Block END_OF_LINES = new Block(null, 0, Collections.emptyList());
+    private static final List<Student> END_OF_STUDENTS = Collections.emptyList();
+
+    private final StudentDAO studentDAO;
+    private final int workerThreads;
+    private final int writerThreads;
+    private final int queueCapacity;
+    private final int blockSize;
+    private final int batchSize;
+
+    /**
+     * 기본 설정(파싱 스레드 = CPU 수, 저장 스레드 2개, 큐 64묶음, 묶음 1000줄)의 파이프라인을 생성합니다.
+     * @param studentDAO 복원한 학생을 저장할 DAO
+     * @param batchSize 한 번의 JDBC 배치/트랜잭션에 포함할 학생 수
+     */
+    public StudentRestorePipeline(StudentDAO studentDAO, int batchSize) {
+        this(studentDAO, Runtime.getRuntime().availableProcessors(), 2, 64, 1_000, batchSize);
+    }
+
+    /**
+     * StudentRestorePipeline 생성자
+     * @param studentDAO 복원한 학생을 저장할 DAO
+     * @param workerThreads 파싱/검증 스레드 수
+     * @param writerThreads 저장 스레드 수 (각자 커넥션 하나를 사용)
+     * @param queueCapacity 단계 사이 큐에 대기할 수 있는 최대 묶음 수
+     * @param blockSize 읽기 단계가 한 묶음으로 넘기는 줄 수
+     * @param batchSize 한 번의 JDBC 배치/트랜잭션에 포함할 학생 수
+     */
+    public StudentRestorePipeline(StudentDAO studentDAO, int workerThreads, int writerThreads,
+                                  int queueCapacity, int blockSize, int batchSize) {
+        if (workerThreads <= 0 || writerThreads <= 0 || queueCapacity <= 0 || blockSize <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("pipeline sizes must be positive");
+        }
+        this.studentDAO = studentDAO;
+        this.workerThreads = workerThreads;
+        this.writerThreads = writerThreads;
+        this.queueCapacity = queueCapacity;
+        this.blockSize = blockSize;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 백업 파일들을 순서대로 복원합니다.
+     * @param files 복원할 파일 목록 (.gz로 끝나면 gzip으로 읽음)
+     * @param progress 진행 상황을 받을 콜백 (null이면 보고하지 않음)
+     * @param progressIntervalMs 진행 상황 보고 간격(ms)
+     * @return 전체 복원 결과
+     */
+    public RestoreReport restore(List<Path> files, Consumer<RestoreReport> progress, long progressIntervalMs) {
+        RestoreReport report = new RestoreReport();
+        ScheduledExecutorService reporter = null;
+        if (progress != null) {
+            reporter = Executors.newSingleThreadScheduledExecutor(daemon("student-restore-progress"));
+            reporter.scheduleAtFixedRate(() -> progress.accept(report),
+                    progressIntervalMs, progressIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        try {
+            for (Path file : files) {
+                restoreFile(file, report);
+            }
+        } finally {
+            report.finish();
+            if (reporter != null) {
+                reporter.shutdownNow();
+            }
+        }
+        return report;
+    }
+
+    /**
+     * 파일 하나를 세 단계로 복원하고 모든 단계가 끝날 때까지 기다립니다.
+     * @param file 복원할 파일
+     * @param report 결과를 누적할 RestoreReport
+     */
+    private void restoreFile(Path file, RestoreReport report) {
+        BlockingQueue<Block> lines = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<List<Student>> students = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger runningWorkers = new AtomicInteger(workerThreads);
+
+        ExecutorService executor = Executors.newFixedThreadPool(1 + workerThreads + writerThreads,
+                daemon("student-restore"));
+        CompletionService<Void> stages = new ExecutorCompletionService<>(executor);
+        try {
+            stages.submit(() -> {
+                read(file, lines, report);
+                return null;
+            });
+            for (int i = 0; i < workerThreads; i++) {
+                stages.submit(() -> {
+                    validate(lines, students, report);
+                    // 마지막으로 끝난 파싱 스레드가 저장 단계에 종료를 알립니다.
+                    if (runningWorkers.decrementAndGet() == 0) {
+                        for (int w = 0; w < writerThreads; w++) {
+                            students.put(END_OF_STUDENTS);
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (int i = 0; i < writerThreads; i++) {
+                stages.submit(() -> {
+                    write(students, report);
+                    return null;
+                });
+            }
+            // 한 단계라도 실패하면 나머지 단계가 큐에서 영원히 대기하지 않도록 전체를 중단합니다.
+            for (int i = 0; i < 1 + workerThreads + writerThreads; i++) {
+                stages.take().get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            report.error(file + ": 복원 중단 (인터럽트)");
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+            report.error(file + ": " + e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 읽기 단계: 파일을 줄 묶음으로 나누어 큐에 넣고, 끝나면 파싱 스레드 수만큼 종료 표시를 넣습니다.
+     * @param file 읽을 파일
+     * @param lines 줄 묶음 큐
+     * @param report 결과를 누적할 RestoreReport
+     * @throws InterruptedException 큐 대기 중 인터럽트 시 예외 발생
+     */
+    private void read(Path file, BlockingQueue<Block> lines, RestoreReport report) throws InterruptedException {
+        try (BufferedReader reader = open(file)) {
+            long lineNumber = 0;
+            long blockStart = 1;
+            List<String> block = new ArrayList<>(blockSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                block.add(line);
+                if (block.size() == blockSize) {
+                    lines.put(new Block(file, blockStart, block));
+                    report.linesRead.addAndGet(block.size());
+                    block = new ArrayList<>(blockSize);
+                    blockStart = lineNumber + 1;
+                }
+            }
+            if (!block.isEmpty()) {
+                lines.put(new Block(file, blockStart, block));
+                report.linesRead.addAndGet(block.size());
+            }
+            report.filesRead.incrementAndGet();
+        } catch (IOException e) {
+            e.printStackTrace();
+            report.error(file + ": " + e.getMessage());
+        } finally {
+            for (int i = 0; i < workerThreads; i++) {
+                lines.put(END_OF_LINES);
+            }
+        }
+    }
+
+    /**
+     * 파싱/검증 단계: 줄 묶음을 학생 객체로 변환하고 규칙을 통과한 학생 묶음을 저장 큐에 넣습니다.
+     * @param lines 줄 묶음 큐
+     * @param students 학생 묶음 큐
+     * @param report 결과를 누적할 RestoreReport
+     * @throws InterruptedException 큐 대기 중 인터럽트 시 예외 발생
+     */
+    private void validate(BlockingQueue<Block> lines, BlockingQueue<List<Student>> students,
+                          RestoreReport report) throws InterruptedException {
+        while (true) {
+            Block block = lines.take();
+            if (block == END_OF_LINES) {
+                return;
+            }
+            List<Student> valid = new ArrayList<>(block.lines.size());
+            long lineNumber = block.firstLine;
+            for (String line : block.lines) {
+                if (!line.isEmpty() && !line.startsWith(HEADER_PREFIX)) {
+                    Student student = parse(line, block.file, lineNumber, report);
+                    if (student != null) {
+                        valid.add(student);
+                    }
+                }
+                lineNumber++;
+            }
+            if (!valid.isEmpty()) {
+                report.validated.addAndGet(valid.size());
+                students.put(valid);
+            }
+        }
+    }
+
+    /**
+     * 한 줄을 검증하여 학생 객체로 변환합니다. 실패하면 사유를 기록하고 null을 반환합니다.
+     * @param line CSV 한 줄 (sno,name,korean,english,math,science[,...])
+     * @param file 줄이 속한 파일
+     * @param lineNumber 줄 번호 (1부터 시작)
+     * @param report 거부 사유를 기록할 RestoreReport
+     * @return 변환된 학생 객체, 규칙 위반 시 null
+     */
+    private Student parse(String line, Path file, long lineNumber, RestoreReport report) {
+        String[] fields = line.split(",");
+        if (fields.length < 6) {
+            report.reject(RejectReason.MALFORMED, file, lineNumber, line);
+            return null;
+        }
+        String sno = fields[0].trim();
+        String name = fields[1].trim();
+        if (!StudentManager.SNO_PATTERN.matcher(sno).matches()) {
+            report.reject(RejectReason.INVALID_SNO, file, lineNumber, line);
+            return null;
+        }
+        if (!StudentManager.NAME_PATTERN.matcher(name).matches()) {
+            report.reject(RejectReason.INVALID_NAME, file, lineNumber, line);
+            return null;
+        }
+        int[] scores = new int[4];
+        for (int i = 0; i < scores.length; i++) {
+            try {
+                scores[i] = Integer.parseInt(fields[2 + i].trim());
+            } catch (NumberFormatException e) {
+                report.reject(RejectReason.MALFORMED, file, lineNumber, line);
+                return null;
+            }
+            if (scores[i] < 0 || scores[i] > MAX_SCORE) {
+                report.reject(RejectReason.INVALID_SCORE, file, lineNumber, line);
+                return null;
+            }
+        }
+        return new Student.StudentBuilder()
+                .sno(sno)
+                .name(name)
+                .addSubject(SubjectDictionary.KOREAN, scores[0])
+                .addSubject(SubjectDictionary.ENGLISH, scores[1])
+                .addSubject(SubjectDictionary.MATH, scores[2])
+                .addSubject(SubjectDictionary.SCIENCE, scores[3])
+                .build();
+    }
+
+    /**
+     * 저장 단계: 학생 묶음을 batchSize만큼 모아 upsert JDBC 배치로 저장합니다.
+     * @param students 학생 묶음 큐
+     * @param report 결과를 누적할 RestoreReport
+     * @throws InterruptedException 큐 대기 중 인터럽트 시 예외 발생
+     */
+    private void write(BlockingQueue<List<Student>> students, RestoreReport report) throws InterruptedException {
+        List<Student> batch = new ArrayList<>(batchSize);
+        while (true) {
+            List<Student> block = students.take();
+            if (block == END_OF_STUDENTS) {
+                break;
+            }
+            batch.addAll(block);
+            if (batch.size() >= batchSize) {
+                flush(batch, report);
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch, report);
+        }
+    }
+
+    /**
+     * 모아 둔 학생을 저장하고 결과를 집계합니다.
+     * @param batch 저장할 학생 (처리 후 비워짐)
+     * @param report 결과를 누적할 RestoreReport
+     */
+    private void flush(List<Student> batch, RestoreReport report) {
+        StudentDAO.BatchResult result = studentDAO.upsertBatch(batch, batchSize);
+        report.written.addAndGet(result.getSucceeded());
+        report.writeFailed.addAndGet(result.getFailedCount());
+        result.getFailures().forEach(failure -> report.error("저장 실패: " + failure));
+        batch.clear();
+    }
+
+    /**
+     * 파일을 UTF-8 텍스트로 엽니다. 이름이 .gz로 끝나면 gzip 압축을 해제하며 읽습니다.
+     * @param file 열 파일
+     * @return BufferedReader 객체
+     * @throws IOException 파일 열기 실패 시 예외 발생
+     */
+    private static BufferedReader open(Path file) throws IOException {
+        if (file.getFileName().toString().endsWith(".gz")) {
+            return new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(file), 64 * 1024), StandardCharsets.UTF_8));
+        }
+        return Files.newBufferedReader(file, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 이름에 일련번호를 붙인 데몬 스레드를 만드는 ThreadFactory를 반환합니다.
+     * @param name 스레드 이름 접두사
+     * @return ThreadFactory 객체
+     */
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + sequence.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * 읽기 단계가 넘기는 줄 묶음
+     */
+    private static final class Block {
+        private final Path file;
+        private final long firstLine;
+        private final List<String> lines;
+
+        private Block(Path file, long firstLine, List<String> lines) {
+            this.file = file;
+            this.firstLine = firstLine;
+            this.lines = lines;
+        }
+    }
+
+    /**
+     * RejectReason 열거형은 검증에서 거부된 줄의 사유를 나타냅니다.
+     */
+    public enum RejectReason {
+        /** 열이 6개 미만이거나 점수가 숫자가 아님 */
+        MALFORMED,
+        /** 학번이 10자리 숫자가 아님 */
+        INVALID_SNO,
+        /** 이름이 한글/영문자가 아님 */
+        INVALID_NAME,
+        /** 점수가 0~100 범위를 벗어남 */
+        INVALID_SCORE
+    }
+
+    /**
+     * RestoreReport 클래스는 복원 진행 상황과 결과(처리량, 사유별 거부 건수, 오류)를 담습니다.
+     * 복원 중에도 다른 스레드에서 읽을 수 있습니다.
+     */
+    public static class RestoreReport {
+        private final long startedAt = System.nanoTime();
+        private volatile long finishedAt;
+        private final AtomicInteger filesRead = new AtomicInteger();
+        private final AtomicLong linesRead = new AtomicLong();
+        private final AtomicLong validated = new AtomicLong();
+        private final AtomicLong written = new AtomicLong();
+        private final AtomicLong writeFailed = new AtomicLong();
+        private final AtomicLong[] rejected = new AtomicLong[RejectReason.values().length];
+        private final List<String> rejectSamples = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+        private RestoreReport() {
+            for (int i = 0; i < rejected.length; i++) {
+                rejected[i] = new AtomicLong();
+            }
+        }
+
+        private void reject(RejectReason reason, Path file, long lineNumber, String line) {
+            rejected[reason.ordinal()].incrementAndGet();
+            if (rejectSamples.size() < MAX_REJECT_SAMPLES) {
+                rejectSamples.add(file.getFileName() + ":" + lineNumber + " " + reason + " [" + line + "]");
+            }
+        }
+
+        private void error(String message) {
+            errors.add(message);
+        }
+
+        private void finish() {
+            finishedAt = System.nanoTime();
+        }
+
+        /**
+         * 끝까지 읽은 파일 수를 반환합니다.
+         * @return 파일 수
+         */
+        public int getFilesRead() {
+            return filesRead.get();
+        }
+
+        /**
+         * 읽은 줄 수(헤더 포함)를 반환합니다.
+         * @return 줄 수
+         */
+        public long getLinesRead() {
+            return linesRead.get();
+        }
+
+        /**
+         * 검증을 통과한 학생 수를 반환합니다.
+         * @return 학생 수
+         */
+        public long getValidated() {
+            return validated.get();
+        }
+
+        /**
+         * 데이터베이스에 저장된 학생 수를 반환합니다.
+         * @return 학생 수
+         */
+        public long getWritten() {
+            return written.get();
+        }
+
+        /**
+         * 저장에 실패한 학생 수를 반환합니다.
+         * @return 학생 수
+         */
+        public long getWriteFailed() {
+            return writeFailed.get();
+        }
+
+        /**
+         * 사유별 거부 건수를 반환합니다.
+         * @param reason 거부 사유
+         * @return 거부된 줄 수
+         */
+        public long getRejected(RejectReason reason) {
+            return rejected[reason.ordinal()].get();
+        }
+
+        /**
+         * 전체 거부 건수를 반환합니다.
+         * @return 거부된 줄 수
+         */
+        public long getRejectedTotal() {
+            long total = 0;
+            for (AtomicLong count : rejected) {
+                total += count.get();
+            }
+            return total;
+        }
+
+        /**
+         * 거부된 줄의 예시를 반환합니다. (최대 MAX_REJECT_SAMPLES개)
+         * @return "파일:줄번호 사유 [내용]" 형식의 문자열 리스트
+         */
+        public List<String> getRejectSamples() {
+            synchronized (rejectSamples) {
+                return new ArrayList<>(rejectSamples);
+            }
+        }
+
+        /**
+         * 파일 읽기/저장 중 발생한 오류 메시지를 반환합니다.
+         * @return 오류 메시지 리스트
+         */
+        public List<String> getErrors() {
+            synchronized (errors) {
+                return new ArrayList<>(errors);
+            }
+        }
+
+        /**
+         * 시작부터 지금(끝났으면 종료 시점)까지의 경과 시간을 반환합니다.
+         * @return 경과 시간(ms)
+         */
+        public long getElapsedMillis() {
+            long end = finishedAt == 0 ? System.nanoTime() : finishedAt;
+            return TimeUnit.NANOSECONDS.toMillis(end - startedAt);
+        }
+
+        /**
+         * 초당 저장한 학생 수를 반환합니다.
+         * @return 저장 처리량(rows/s)
+         */
+        public double getThroughput() {
+            long elapsed = getElapsedMillis();
+            return elapsed == 0 ? 0 : written.get() * 1000.0 / elapsed;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("files=").append(getFilesRead())
+                    .append(", lines=").append(getLinesRead())
+                    .append(", valid=").append(getValidated())
+                    .append(", written=").append(getWritten())
+                    .append(", writeFailed=").append(getWriteFailed())
+                    .append(", rejected=").append(getRejectedTotal()).append(" {");
+            RejectReason[] reasons = RejectReason.values();
+            for (int i = 0; i < reasons.length; i++) {
+                sb.append(i == 0 ? "" : ", ").append(reasons[i]).append('=').append(rejected[i].get());
+            }
+            sb.append("}, elapsed=").append(getElapsedMillis()).append("ms")
+                    .append(String.format(", throughput=%.0f rows/s", getThroughput()));
+            return sb.toString();
+        }
+    }
+}
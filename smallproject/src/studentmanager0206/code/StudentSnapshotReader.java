@@ -0,0 +1,327 @@
+package studentmanager0206.code;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * StudentSnapshotReader 클래스는 StudentSnapshotWriter가 기록한 바이너리 스냅샷 파일을 읽습니다.
+ * <p>
+ * 열을 열 때는 헤더만 읽어 magic/버전/헤더 체크섬을 확인하고,
+ * 각 열은 처음 접근할 때 메모리 매핑하여 CRC32를 검증합니다.
+ * 예를 들어 점수 통계만 필요하면 학번/이름 열은 매핑하지도 않습니다.
+ * 열이 준비된 뒤의 조회는 버퍼의 절대 위치 읽기만 하므로 여러 스레드에서 동시에 호출할 수 있습니다.
+ */
+public class StudentSnapshotReader implements AutoCloseable {
+    private final Path path;
+    private final FileChannel channel;
+    private final int rowCount;
+    private final int nameBits;
+    private final int scoreBits;
+    /**
+     * 과목별 점수 열 번호 (SubjectDictionary id → 열 번호, 없으면 -1)
+     */
+    private final int[] scoreColumnOf;
+    private final int[] subjectIds;
+    private final long[] offsets;
+    private final long[] lengths;
+    private final int[] checksums;
+    /**
+     * 매핑과 체크섬 검증이 끝난 열 (처음 접근 시 채워짐).
+     * readAll이 병렬 스트림에서 읽으므로 AtomicReferenceArray로 버퍼와 byte order 설정을 함께 안전하게 공개합니다.
+     */
+    private final AtomicReferenceArray<ByteBuffer> columns;
+    private volatile String[] nameDictionary;
+
+    /**
+     * StudentSnapshotReader 생성자. 헤더를 읽고 검증합니다.
+     * @param path 스냅샷 파일 경로
+     * @throws IOException 파일을 열 수 없거나 스냅샷 형식이 아니거나 헤더가 손상된 경우 예외 발생
+     */
+    public StudentSnapshotReader(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), 64 * 1_024));
+            if (header.remaining() < 8 || header.getInt() != StudentSnapshotWriter.MAGIC) {
+                throw new IOException("not a student snapshot: " + path);
+            }
+            int version = header.getInt();
+            if (version != StudentSnapshotWriter.VERSION) {
+                throw new IOException("unsupported snapshot version " + version + ": " + path);
+            }
+            rowCount = header.getInt();
+            nameBits = header.getInt();
+            scoreBits = header.getInt();
+            if (rowCount < 0 || nameBits < 1 || nameBits > 32 || scoreBits < 1 || scoreBits > 32) {
+                throw new IOException("invalid snapshot header: " + path);
+            }
+            int subjectCount = header.getInt();
+            subjectIds = new int[subjectCount];
+            for (int i = 0; i < subjectCount; i++) {
+                byte[] name = new byte[header.getShort()];
+                header.get(name);
+                subjectIds[i] = SubjectDictionary.idOf(new String(name, StandardCharsets.UTF_8));
+            }
+            int columnCount = header.getInt();
+            if (columnCount != StudentSnapshotWriter.COLUMN_FIRST_SCORE + subjectCount) {
+                throw new IOException("column count mismatch: " + path);
+            }
+            offsets = new long[columnCount];
+            lengths = new long[columnCount];
+            checksums = new int[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                offsets[i] = header.getLong();
+                lengths[i] = header.getLong();
+                checksums[i] = header.getInt();
+                if (offsets[i] < 0 || lengths[i] < 0 || offsets[i] + lengths[i] > channel.size()) {
+                    throw new IOException("column " + i + " out of file bounds: " + path);
+                }
+            }
+            if (lengths[StudentSnapshotWriter.COLUMN_SNO] < (long) rowCount * Long.BYTES
+                    || lengths[StudentSnapshotWriter.COLUMN_NAME_ID] < bitColumnLength(nameBits)) {
+                throw new IOException("column too short: " + path);
+            }
+            for (int i = StudentSnapshotWriter.COLUMN_FIRST_SCORE; i < columnCount; i++) {
+                if (lengths[i] < bitColumnLength(scoreBits)) {
+                    throw new IOException("column " + i + " too short: " + path);
+                }
+            }
+            int headerCrc = StudentSnapshotWriter.crc(header.duplicate().flip());
+            if (header.getInt() != headerCrc) {
+                throw new IOException("header checksum mismatch: " + path);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e instanceof IOException ? (IOException) e : new IOException("corrupt snapshot header: " + path, e);
+        }
+
+        int maxId = -1;
+        for (int id : subjectIds) {
+            maxId = Math.max(maxId, id);
+        }
+        scoreColumnOf = new int[maxId + 1];
+        Arrays.fill(scoreColumnOf, -1);
+        for (int i = 0; i < subjectIds.length; i++) {
+            scoreColumnOf[subjectIds[i]] = StudentSnapshotWriter.COLUMN_FIRST_SCORE + i;
+        }
+        columns = new AtomicReferenceArray<>(offsets.length);
+    }
+
+    /**
+     * 스냅샷의 학생 수를 반환합니다.
+     * @return 학생 수
+     */
+    public int size() {
+        return rowCount;
+    }
+
+    /**
+     * row번째 학생의 숫자 학번을 반환합니다.
+     * @param row 0부터 size() - 1까지의 행 번호
+     * @return 숫자 학번
+     */
+    public long getSnoKey(int row) {
+        checkRow(row);
+        return column(StudentSnapshotWriter.COLUMN_SNO).getLong(row * Long.BYTES);
+    }
+
+    /**
+     * row번째 학생의 학번을 반환합니다.
+     * @param row 행 번호
+     * @return 10자리 학번
+     */
+    public String getSno(int row) {
+        return SnoCodec.format(getSnoKey(row));
+    }
+
+    /**
+     * row번째 학생의 이름을 반환합니다.
+     * @param row 행 번호
+     * @return 이름
+     */
+    public String getName(int row) {
+        checkRow(row);
+        String[] dictionary = names();
+        int nameId = (int) unpack(column(StudentSnapshotWriter.COLUMN_NAME_ID), row, nameBits);
+        if (nameId >= dictionary.length) {
+            throw new UncheckedIOException(new IOException("name id out of range at row " + row + ": " + path));
+        }
+        return dictionary[nameId];
+    }
+
+    /**
+     * row번째 학생의 과목 점수를 반환합니다. 해당 과목 열만 읽습니다.
+     * @param row 행 번호
+     * @param subjectId SubjectDictionary의 과목 id
+     * @return 점수, 스냅샷에 없는 과목이면 0
+     */
+    public int getScore(int row, int subjectId) {
+        checkRow(row);
+        if (subjectId < 0 || subjectId >= scoreColumnOf.length || scoreColumnOf[subjectId] < 0) {
+            return 0;
+        }
+        return (int) unpack(column(scoreColumnOf[subjectId]), row, scoreBits);
+    }
+
+    /**
+     * row번째 학생을 Student 객체로 만들어 반환합니다.
+     * @param row 행 번호
+     * @return 학생 객체
+     */
+    public Student get(int row) {
+        Student.StudentBuilder builder = new Student.StudentBuilder()
+                .sno(getSno(row))
+                .name(getName(row));
+        for (int subjectId : subjectIds) {
+            builder.addSubject(subjectId, getScore(row, subjectId));
+        }
+        return builder.build();
+    }
+
+    /**
+     * 학생을 기록된 순서대로 한 명씩 만들어 주는 반복자를 반환합니다. readAll과 달리 전체 리스트를 만들지 않습니다.
+     * @return 학생 반복자 (손상된 열을 만나면 UncheckedIOException 발생)
+     */
+    public Iterator<Student> iterator() {
+        return new Iterator<Student>() {
+            private int row;
+
+            @Override
+            public boolean hasNext() {
+                return row < rowCount;
+            }
+
+            @Override
+            public Student next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(row++);
+            }
+        };
+    }
+
+    /**
+     * 모든 학생을 읽어 리스트로 반환합니다. 행마다 독립적으로 읽을 수 있으므로 병렬로 만듭니다.
+     * @return 학생 리스트 (기록된 순서)
+     */
+    public List<Student> readAll() {
+        verify();
+        return IntStream.range(0, rowCount).parallel()
+                .mapToObj(this::get)
+                .collect(Collectors.toCollection(() -> new ArrayList<>(rowCount)));
+    }
+
+    /**
+     * 모든 열을 매핑하여 체크섬을 검증합니다.
+     * @throws UncheckedIOException 손상된 열이 있으면 예외 발생
+     */
+    public void verify() {
+        for (int i = 0; i < columns.length(); i++) {
+            column(i);
+        }
+        names();
+    }
+
+    /**
+     * 파일을 닫습니다. 이미 매핑된 열은 GC될 때 해제됩니다.
+     * @throws IOException 닫기 실패 시 예외 발생
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 열을 반환합니다. 처음 접근 시 매핑하고 CRC32를 검증합니다.
+     * @param index 열 번호
+     * @return 열 버퍼 (비트 압축 열은 little-endian)
+     * @throws UncheckedIOException 매핑 실패 또는 체크섬 불일치 시 예외 발생
+     */
+    private ByteBuffer column(int index) {
+        ByteBuffer column = columns.get(index);
+        if (column != null) {
+            return column;
+        }
+        synchronized (columns) {
+            column = columns.get(index);
+            if (column == null) {
+                try {
+                    ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, offsets[index], lengths[index]);
+                    if (StudentSnapshotWriter.crc(mapped) != checksums[index]) {
+                        throw new IOException("column " + index + " checksum mismatch: " + path);
+                    }
+                    if (index >= StudentSnapshotWriter.COLUMN_NAME_ID) {
+                        mapped.order(ByteOrder.LITTLE_ENDIAN);
+                    }
+                    column = mapped;
+                    columns.set(index, column);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return column;
+        }
+    }
+
+    /**
+     * 이름 사전을 반환합니다. 처음 접근 시 사전 열을 풀어 둡니다.
+     * @return 사전 번호 → 이름 배열
+     */
+    private String[] names() {
+        String[] dictionary = nameDictionary;
+        if (dictionary == null) {
+            ByteBuffer column = column(StudentSnapshotWriter.COLUMN_NAME_DICT).duplicate();
+            dictionary = new String[column.getInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                byte[] bytes = new byte[column.getShort()];
+                column.get(bytes);
+                dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            nameDictionary = dictionary;
+        }
+        return dictionary;
+    }
+
+    /**
+     * 비트 압축 열에서 row번째 값을 꺼냅니다. 열 끝의 여유 바이트 덕분에 항상 8바이트를 한 번에 읽습니다.
+     * @param column little-endian 열 버퍼
+     * @param row 행 번호
+     * @param bits 값 하나의 비트 수
+     * @return 값
+     */
+    private static long unpack(ByteBuffer column, int row, int bits) {
+        long bitPosition = (long) row * bits;
+        long word = column.getLong((int) (bitPosition >>> 3));
+        return (word >>> (bitPosition & 7)) & ((1L << bits) - 1);
+    }
+
+    /**
+     * 비트 압축 열의 최소 길이(여유 바이트 포함)를 구합니다.
+     * @param bits 값 하나의 비트 수
+     * @return 바이트 수
+     */
+    private long bitColumnLength(int bits) {
+        return ((long) rowCount * bits + 7) / 8 + StudentSnapshotWriter.BIT_COLUMN_PADDING;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("row " + row + " of " + rowCount);
+        }
+    }
+}
@@ -0,0 +1,483 @@
+package studentmanager0206.code;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * StudentSnapshotWriter 클래스는 학생 목록을 열(column) 단위의 바이너리 스냅샷 파일로 기록합니다.
+ * <p>
+ * 파일 구성 (모든 정수는 big-endian):
+ * <pre>
+ * 헤더   magic "STSN" | version | rowCount | nameBits | scoreBits | subjectCount | 과목명(UTF-8, 길이 short)...
+ *        | columnCount | 열마다 (offset long, length long, crc32 int) | 헤더 crc32 int
+ * 열     SNO       rowCount × long (10자리 학번을 숫자로)
+ *        NAME_DICT 이름 사전: count int, 이름마다 (길이 short, UTF-8)
+ *        NAME_ID   rowCount × nameBits 비트로 압축한 사전 번호
+ *        SCORE_i   과목마다 rowCount × scoreBits(7) 비트로 압축한 점수
+ * </pre>
+ * 합계/평균/학점처럼 계산 가능한 값과 구분자를 저장하지 않고 점수를 7비트로 압축하므로 CSV보다 훨씬 작습니다.
+ * 열은 모든 행을 받은 뒤에 기록해야 하므로 add()는 행을 고정 길이 레코드(학번 long, 이름 번호 int, 점수 byte×과목 수)로
+ * 임시 행 파일(이름.rows.tmp)에 순서대로 내보내고, commit()이 행 파일을 열마다 한 번씩 순차로 읽어 열을 버퍼 단위로 기록합니다.
+ * 따라서 메모리에는 행 수와 관계없이 버퍼와 이름 사전(서로 다른 이름)만 남습니다.
+ * 열마다 CRC32를 기록하며 StudentSnapshotReader가 처음 읽을 때 검증합니다.
+ * <p>
+ * 파일은 같은 디렉터리의 임시 파일(이름.tmp)에 기록하고 commit()이 성공한 뒤에만 대상 이름으로 원자적으로 바꿉니다.
+ * commit() 전에 close()하거나 abort()하면 임시 파일과 행 파일을 삭제하므로, 도중에 실패해도
+ * 헤더와 체크섬은 올바르지만 일부 행만 담긴 스냅샷이 남지 않습니다.
+ * <pre>
+ * try (StudentSnapshotWriter writer = new StudentSnapshotWriter(path)) {
+ *     writer.addAll(students);
+ *     writer.commit();
+ * }
+ * </pre>
+ */
+public class StudentSnapshotWriter implements AutoCloseable {
+    static final int MAGIC = 0x5354534E;
+    static final int VERSION = 1;
+    static final int SCORE_BITS = 7;
+    static final int COLUMN_SNO = 0;
+    static final int COLUMN_NAME_DICT = 1;
+    static final int COLUMN_NAME_ID = 2;
+    static final int COLUMN_FIRST_SCORE = 3;
+    /**
+     * 비트 압축 열 끝에 덧붙이는 여유 바이트 (읽을 때 8바이트 단위로 읽기 위함)
+     */
+    static final int BIT_COLUMN_PADDING = Long.BYTES;
+
+    private static final int[] SUBJECTS = {
+            SubjectDictionary.KOREAN, SubjectDictionary.ENGLISH, SubjectDictionary.MATH, SubjectDictionary.SCIENCE };
+    private static final int MAX_SCORE = (1 << SCORE_BITS) - 1;
+    private static final int BUFFER_SIZE = StudentExternalSorter.BUFFER_SIZE;
+
+    private final Path path;
+    private final Path temp;
+    private final Path rowsPath;
+    private final FileChannel channel;
+    private final DataOutputStream rows;
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final byte[] rowScores = new byte[SUBJECTS.length];
+    private int rowCount;
+    private boolean closed;
+
+    /**
+     * StudentSnapshotWriter 생성자. 파일이 있으면 commit() 시점에 덮어씁니다.
+     * @param path 기록할 파일 경로
+     * @throws IOException 임시 파일 또는 행 파일 열기 실패 시 예외 발생
+     */
+    public StudentSnapshotWriter(Path path) throws IOException {
+        this.path = path;
+        this.temp = path.resolveSibling(path.getFileName() + ".tmp");
+        this.rowsPath = path.resolveSibling(path.getFileName() + ".rows.tmp");
+        this.channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        DataOutputStream opened = null;
+        try {
+            opened = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(rowsPath), BUFFER_SIZE));
+        } finally {
+            this.rows = opened;
+            if (opened == null) {
+                discard();
+            }
+        }
+    }
+
+    /**
+     * 모든 학생을 추가합니다. 도중에 예외가 발생하면 abort()하고 예외를 그대로 던집니다.
+     * @param students 학생 iterator (스트리밍 커서 등)
+     * @throws IOException 행 파일 기록 실패 시 예외 발생
+     */
+    public void addAll(Iterator<Student> students) throws IOException {
+        try {
+            while (students.hasNext()) {
+                add(students.next());
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            abort();
+            throw e;
+        }
+    }
+
+    /**
+     * 학생 한 명을 추가합니다. 학번이나 점수가 올바르지 않으면 아무것도 기록하지 않고 예외를 던지므로
+     * writer는 계속 사용할 수 있습니다. 행 파일 기록에 실패하면 abort()합니다.
+     * @param student 학생 객체
+     * @throws IOException 행 파일 기록 실패 시 예외 발생
+     * @throws IllegalArgumentException 학번이 10자리 숫자가 아니거나 점수가 0~127을 벗어나면 예외 발생
+     */
+    public void add(Student student) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("snapshot writer already closed: " + path);
+        }
+        long sno = SnoCodec.parseOrThrow(student.getSno());
+        for (int i = 0; i < SUBJECTS.length; i++) {
+            int score = student.getScore(SUBJECTS[i]);
+            if (score < 0 || score > MAX_SCORE) {
+                throw new IllegalArgumentException("score out of range (0~" + MAX_SCORE + "): " + score);
+            }
+            rowScores[i] = (byte) score;
+        }
+        Integer nameId = nameIds.get(student.getName());
+        if (nameId == null) {
+            nameId = names.size();
+            nameIds.put(student.getName(), nameId);
+            names.add(student.getName());
+        }
+        try {
+            rows.writeLong(sno);
+            rows.writeInt(nameId);
+            rows.write(rowScores);
+        } catch (IOException e) {
+            abort();
+            throw e;
+        }
+        rowCount++;
+    }
+
+    /**
+     * 학생을 스냅샷에 기록할 수 있는지 확인합니다. (학번이 10자리 숫자이고 모든 점수가 0~127)
+     * add()가 IllegalArgumentException을 던질 학생을 미리 걸러낼 때 사용합니다.
+     * @param student 학생 객체
+     * @return 기록할 수 있으면 true
+     */
+    static boolean accepts(Student student) {
+        if (SnoCodec.parse(student.getSno()) == SnoCodec.INVALID) {
+            return false;
+        }
+        for (int subjectId : SUBJECTS) {
+            int score = student.getScore(subjectId);
+            if (score < 0 || score > MAX_SCORE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 추가된 학생 수를 반환합니다.
+     * @return 학생 수
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 행 파일을 열마다 순차로 읽어 모든 열과 헤더를 임시 파일에 기록한 뒤 대상 파일 이름으로 원자적으로 바꿉니다.
+     * 열의 길이는 행 수로 미리 정해지므로 헤더 자리를 비워 두고 열부터 기록하며, 체크섬을 구한 뒤 헤더를 채웁니다.
+     * 실패하면 임시 파일을 삭제하며 기존 대상 파일은 그대로 남습니다.
+     * @throws IOException 기록 또는 이름 변경 실패 시 예외 발생
+     * @throws IllegalStateException 이미 commit()/abort()/close()한 경우 예외 발생
+     */
+    public void commit() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("snapshot writer already closed: " + path);
+        }
+        closed = true;
+        boolean committed = false;
+        try {
+            rows.close();
+            int nameBits = bitsFor(names.size());
+            ByteBuffer dictionary = nameDictionary();
+            int columnCount = COLUMN_FIRST_SCORE + SUBJECTS.length;
+            long[] lengths = new long[columnCount];
+            int[] checksums = new int[columnCount];
+            lengths[COLUMN_SNO] = (long) rowCount * Long.BYTES;
+            lengths[COLUMN_NAME_DICT] = dictionary.remaining();
+            lengths[COLUMN_NAME_ID] = bitColumnLength(nameBits);
+            for (int column = COLUMN_FIRST_SCORE; column < columnCount; column++) {
+                lengths[column] = bitColumnLength(SCORE_BITS);
+            }
+
+            channel.position(headerSize(columnCount));
+            checksums[COLUMN_SNO] = writeColumn(COLUMN_SNO, Long.SIZE);
+            checksums[COLUMN_NAME_DICT] = crc(dictionary);
+            writeFully(dictionary);
+            checksums[COLUMN_NAME_ID] = writeColumn(COLUMN_NAME_ID, nameBits);
+            for (int column = COLUMN_FIRST_SCORE; column < columnCount; column++) {
+                checksums[column] = writeColumn(column, SCORE_BITS);
+            }
+            if (channel.position() != headerSize(columnCount) + sum(lengths)) {
+                throw new IOException("row file " + rowsPath + " does not match " + rowCount + " rows");
+            }
+            channel.position(0);
+            writeFully(header(nameBits, lengths, checksums));
+            channel.force(false);
+            channel.close();
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        } finally {
+            if (committed) {
+                deleteRows();
+            } else {
+                discard();
+            }
+        }
+    }
+
+    /**
+     * 기록을 취소하고 임시 파일과 행 파일을 삭제합니다. 대상 파일은 만들거나 바꾸지 않습니다. 이미 닫혔으면 아무것도 하지 않습니다.
+     */
+    public void abort() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        discard();
+    }
+
+    /**
+     * 파일을 닫습니다. commit()하지 않았으면 abort()와 같이 임시 파일과 행 파일을 삭제합니다.
+     */
+    @Override
+    public void close() {
+        abort();
+    }
+
+    /**
+     * 채널과 행 파일을 닫고 임시 파일과 행 파일을 삭제합니다. 삭제 실패는 기록만 합니다.
+     */
+    private void discard() {
+        try {
+            channel.close();
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        deleteRows();
+    }
+
+    /**
+     * 행 파일을 닫고 삭제합니다. 삭제 실패는 기록만 합니다.
+     */
+    private void deleteRows() {
+        try {
+            if (rows != null) {
+                rows.close();
+            }
+            Files.deleteIfExists(rowsPath);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 헤더의 바이트 수를 구합니다. (과목명과 열 수로만 정해짐)
+     * @param columnCount 열 수
+     * @return 헤더 크기
+     */
+    private static int headerSize(int columnCount) {
+        int size = 4 * 6 + 4 + columnCount * (8 + 8 + 4) + 4;
+        for (int subjectId : SUBJECTS) {
+            size += 2 + SubjectDictionary.nameOf(subjectId).getBytes(StandardCharsets.UTF_8).length;
+        }
+        return size;
+    }
+
+    /**
+     * 헤더(열 위치, 길이, 체크섬 포함)를 만듭니다. 열은 헤더 바로 뒤부터 차례로 놓입니다.
+     * @param nameBits 이름 번호 비트 수
+     * @param lengths 열마다의 바이트 수
+     * @param checksums 열마다의 CRC32
+     * @return 기록할 헤더 버퍼
+     */
+    private ByteBuffer header(int nameBits, long[] lengths, int[] checksums) {
+        int size = headerSize(lengths.length);
+        ByteBuffer header = ByteBuffer.allocate(size);
+        header.putInt(MAGIC).putInt(VERSION).putInt(rowCount).putInt(nameBits).putInt(SCORE_BITS)
+                .putInt(SUBJECTS.length);
+        for (int subjectId : SUBJECTS) {
+            byte[] name = SubjectDictionary.nameOf(subjectId).getBytes(StandardCharsets.UTF_8);
+            header.putShort((short) name.length).put(name);
+        }
+        header.putInt(lengths.length);
+        long offset = size;
+        for (int column = 0; column < lengths.length; column++) {
+            header.putLong(offset).putLong(lengths[column]).putInt(checksums[column]);
+            offset += lengths[column];
+        }
+        header.putInt(crc(header.duplicate().flip()));
+        return header.flip();
+    }
+
+    /**
+     * 행 파일을 처음부터 읽어 열 하나를 현재 채널 위치에 기록합니다.
+     * 학번 열은 long 그대로, 나머지 열은 행 i의 값을 i × bits 번째 비트부터 (바이트 내 하위 비트 우선) 이어 붙이고
+     * 끝에 BIT_COLUMN_PADDING 바이트를 덧붙입니다.
+     * @param column 기록할 열 (COLUMN_SNO, COLUMN_NAME_ID 또는 점수 열)
+     * @param bits 값 하나의 비트 수 (학번 열은 Long.SIZE, 나머지는 1~32)
+     * @return 기록한 열의 CRC32
+     * @throws IOException 행 파일 읽기 또는 기록 실패 시 예외 발생
+     */
+    private int writeColumn(int column, int bits) throws IOException {
+        ColumnOutput out = new ColumnOutput();
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(rowsPath), BUFFER_SIZE))) {
+            for (int row = 0; row < rowCount; row++) {
+                long sno = in.readLong();
+                int nameId = in.readInt();
+                in.readFully(rowScores);
+                if (column == COLUMN_SNO) {
+                    out.putLong(sno);
+                } else if (column == COLUMN_NAME_ID) {
+                    out.putBits(nameId, bits);
+                } else {
+                    out.putBits(rowScores[column - COLUMN_FIRST_SCORE], bits);
+                }
+            }
+        }
+        if (column != COLUMN_SNO) {
+            out.finishBits();
+        }
+        return out.finish();
+    }
+
+    /**
+     * 이름 사전 열을 만듭니다.
+     * @return 이름 사전 버퍼
+     */
+    private ByteBuffer nameDictionary() {
+        List<byte[]> encoded = new ArrayList<>(names.size());
+        int size = Integer.BYTES;
+        for (String name : names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            encoded.add(bytes);
+            size += Short.BYTES + bytes.length;
+        }
+        ByteBuffer column = ByteBuffer.allocate(size);
+        column.putInt(encoded.size());
+        for (byte[] bytes : encoded) {
+            column.putShort((short) bytes.length).put(bytes);
+        }
+        return column.flip();
+    }
+
+    /**
+     * 비트 압축 열의 바이트 수를 구합니다.
+     * @param bits 값 하나의 비트 수
+     * @return 열 길이 (BIT_COLUMN_PADDING 포함)
+     */
+    private long bitColumnLength(int bits) {
+        return ((long) rowCount * bits + 7) / 8 + BIT_COLUMN_PADDING;
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    /**
+     * 서로 다른 값 count개를 구분하는 데 필요한 비트 수를 구합니다.
+     * @param count 값의 개수
+     * @return 비트 수 (최소 1)
+     */
+    private static int bitsFor(int count) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(count - 1, 0)));
+    }
+
+    /**
+     * 버퍼의 남은 바이트에 대한 CRC32를 계산합니다. (버퍼 위치는 바뀌지 않음)
+     * @param buffer 대상 버퍼
+     * @return CRC32 값
+     */
+    static int crc(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        return (int) crc.getValue();
+    }
+
+    /**
+     * 버퍼의 남은 바이트를 모두 기록합니다.
+     * @param buffer 기록할 버퍼
+     * @throws IOException 기록 실패 시 예외 발생
+     */
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * ColumnOutput 클래스는 열 하나를 BUFFER_SIZE 단위로 채널에 기록하면서 CRC32를 계산합니다.
+     */
+    private final class ColumnOutput {
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final CRC32 crc = new CRC32();
+        private long pending;
+        private int pendingBits;
+
+        void putLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        /**
+         * 값의 하위 bits 비트를 이어 붙입니다. (bits는 32 이하이므로 남은 비트 7개와 합쳐도 long에 들어감)
+         */
+        void putBits(int value, int bits) throws IOException {
+            pending |= (value & 0xFFFFFFFFL) << pendingBits;
+            pendingBits += bits;
+            while (pendingBits >= 8) {
+                ensure(1);
+                buffer.put((byte) pending);
+                pending >>>= 8;
+                pendingBits -= 8;
+            }
+        }
+
+        /**
+         * 남은 비트를 한 바이트로 채워 기록하고 BIT_COLUMN_PADDING 바이트를 덧붙입니다.
+         */
+        void finishBits() throws IOException {
+            if (pendingBits > 0) {
+                ensure(1);
+                buffer.put((byte) pending);
+                pending = 0;
+                pendingBits = 0;
+            }
+            for (int i = 0; i < BIT_COLUMN_PADDING; i++) {
+                ensure(1);
+                buffer.put((byte) 0);
+            }
+        }
+
+        /**
+         * 버퍼에 남은 바이트를 기록하고 열 전체의 CRC32를 반환합니다.
+         */
+        int finish() throws IOException {
+            flush();
+            return (int) crc.getValue();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            writeFully(buffer);
+            buffer.clear();
+        }
+    }
+}
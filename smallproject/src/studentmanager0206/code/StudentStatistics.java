@@ -0,0 +1,448 @@
+package studentmanager0206.code;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * StudentStatistics 클래스는 과목별 평균, 분산, 최소/최대 점수와 학점 분포를 실시간으로 유지하는 통계 집계기입니다.
+ * <p>
+ * 과목마다 Welford 방식의 누적 평균/제곱편차합과 0~100점 고정 히스토그램을 두어 저장 시에는 값을 더하고,
+ * 수정/삭제 시에는 이전 값을 역으로 빼므로 통계 조회에 전체 학생을 다시 읽을 필요가 없습니다.
+ * 최소/최대와 과목별 학점 분포는 101칸 히스토그램에서 구하므로 학생 수와 무관한 상수 시간입니다.
+ * 이전 값을 빼기 위해 학생마다 과목 id/점수와 학점만 long 하나로 묶어 SnoLongMap에 보관하며 Student 객체는 보관하지 않습니다.
+ * (과목이 5개 이상이거나 과목 id 64 이상, 점수가 0~255 밖인 학생만 예외적으로 Student를 그대로 보관합니다.)
+ * StudentChangeListener로 StudentDAO에 등록하면 쓰기마다 자동으로 갱신되며,
+ * rebuild()는 스트리밍 커서를 병렬로 집계한 뒤 부분 결과를 병합합니다.
+ */
+public class StudentStatistics implements StudentChangeListener {
+    /**
+     * 히스토그램의 최대 점수. 범위를 벗어난 점수는 가장 가까운 경계 칸에 기록합니다. (평균/분산은 실제 값 사용)
+     */
+    public static final int MAX_SCORE = 100;
+    private static final String[] GRADES = { "A", "B", "C", "D", "F" };
+
+    private final Object rebuildLock = new Object();
+    private Accumulator state = new Accumulator();
+    /**
+     * rebuild 중에 도착한 변경 (rebuild 중이 아니면 null). 교체 후 새 통계에 순서대로 다시 반영합니다.
+     */
+    private List<StudentDAO.Change> changesDuringRebuild;
+
+    /**
+     * 학생 정보를 통계에 반영합니다. 이미 있는 학번이면 이전 점수를 빼고 새 점수를 더합니다.
+     * @param student 저장된 학생 객체
+     */
+    @Override
+    public synchronized void onSaved(Student student) {
+        state.add(student);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(new StudentDAO.Change(student.getSno(), student));
+        }
+    }
+
+    /**
+     * 학번의 학생을 통계에서 제외합니다.
+     * @param sno 삭제된 학번
+     */
+    @Override
+    public synchronized void onDeleted(String sno) {
+        state.remove(sno);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(new StudentDAO.Change(sno, null));
+        }
+    }
+
+    /**
+     * 기존 통계를 버리고 주어진 학생들로 다시 집계합니다.
+     * 스트림을 병렬로 나누어 스레드별로 부분 통계를 만든 뒤 병합하며, 집계가 끝나면 한 번에 교체합니다.
+     * 집계하는 동안 도착한 저장/삭제는 기록해 두었다가 교체한 통계에 같은 순서로 다시 반영합니다.
+     * 저장은 이전 값을 빼고 새 값을 더하고 삭제는 없으면 무시하므로, 스트림에 이미 반영된 변경을 다시 적용해도 결과는 같습니다.
+     * @param students 전체 학생 스트림 (StudentDAO.streamAllStudents 등, 호출자가 닫아야 함)
+     */
+    public void rebuild(Stream<Student> students) {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+            Accumulator rebuilt = null;
+            try {
+                rebuilt = students.parallel().collect(Accumulator::new, Accumulator::add, Accumulator::merge);
+            } finally {
+                synchronized (this) {
+                    if (rebuilt != null) {
+                        for (StudentDAO.Change change : changesDuringRebuild) {
+                            if (change.isDeleted()) {
+                                rebuilt.remove(change.getSno());
+                            } else {
+                                rebuilt.add(change.getStudent());
+                            }
+                        }
+                        state = rebuilt;
+                    }
+                    changesDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * 통계에 포함된 학생 수를 반환합니다.
+     * @return 학생 수
+     */
+    public synchronized int size() {
+        return state.size();
+    }
+
+    /**
+     * 과목 통계를 반환합니다.
+     * @param subjectId SubjectDictionary의 과목 id
+     * @return 조회 시점의 과목 통계 (점수가 하나도 없으면 count가 0)
+     */
+    public synchronized SubjectStats getSubjectStats(int subjectId) {
+        Moments moments = subjectId >= 0 && subjectId < state.subjects.length ? state.subjects[subjectId] : null;
+        return moments == null ? new SubjectStats(subjectId, new Moments()) : new SubjectStats(subjectId, moments);
+    }
+
+    /**
+     * 학생 평균 점수 기준(Student.computeGrade) 학점 분포를 반환합니다.
+     * @return 학점(A, B, C, D, F) → 학생 수
+     */
+    public synchronized Map<String, Long> getGradeDistribution() {
+        return toGradeMap(state.gradeCounts);
+    }
+
+    /**
+     * 학점별 인원 배열을 학점 순서의 Map으로 변환합니다.
+     * @param counts GRADES 순서의 인원수
+     * @return 학점 → 학생 수
+     */
+    private static Map<String, Long> toGradeMap(long[] counts) {
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        for (int i = 0; i < GRADES.length; i++) {
+            distribution.put(GRADES[i], counts[i]);
+        }
+        return distribution;
+    }
+
+    private static int gradeIndex(String grade) {
+        return grade.equals("F") ? GRADES.length - 1 : grade.charAt(0) - 'A';
+    }
+
+    /**
+     * 전체 학생에 대한 통계 상태. 병렬 재집계 시 스레드마다 하나씩 만들어 병합합니다.
+     * <p>
+     * 묶은 값의 비트 구성: [0, 3) 학점 색인, [3, 6) 과목 수(0~4), 이후 과목마다 14비트씩 (과목 id 6비트 | 점수 8비트)
+     */
+    private static final class Accumulator {
+        private static final int MAX_PACKED_SUBJECTS = 4;
+        private static final int SUBJECT_SHIFT = 6;
+        private static final int SUBJECT_BITS = 14;
+        private static final int MAX_PACKED_SUBJECT_ID = 63;
+        private static final int MAX_PACKED_SCORE = 0xFF;
+
+        /**
+         * 학번 → 묶은 과목 점수와 학점
+         */
+        private final SnoLongMap packed = new SnoLongMap();
+        /**
+         * 묶을 수 없는 학생 (드묾)
+         */
+        private final Map<String, Student> unpacked = new HashMap<>();
+        private Moments[] subjects = new Moments[0];
+        private final long[] gradeCounts = new long[GRADES.length];
+
+        private int size() {
+            return packed.size() + unpacked.size();
+        }
+
+        private void add(Student student) {
+            String sno = student.getSno();
+            long value = pack(student);
+            long previous;
+            if (value != SnoLongMap.NONE) {
+                previous = packed.put(sno, value);
+                if (previous == SnoLongMap.NONE && !unpacked.isEmpty()) {
+                    subtract(unpacked.remove(sno));
+                }
+            } else {
+                previous = packed.remove(sno);
+                subtract(unpacked.put(sno, student));
+            }
+            if (previous != SnoLongMap.NONE) {
+                applyPacked(previous, -1);
+            }
+            apply(student, 1);
+        }
+
+        private void remove(String sno) {
+            long previous = packed.remove(sno);
+            if (previous != SnoLongMap.NONE) {
+                applyPacked(previous, -1);
+            } else if (!unpacked.isEmpty()) {
+                subtract(unpacked.remove(sno));
+            }
+        }
+
+        private void subtract(Student previous) {
+            if (previous != null) {
+                apply(previous, -1);
+            }
+        }
+
+        private void apply(Student student, int sign) {
+            for (int i = 0; i < student.getSubjectCount(); i++) {
+                int subjectId = student.getSubjectId(i);
+                applyScore(subjectId, student.getScore(subjectId), sign);
+            }
+            gradeCounts[gradeIndex(student.computeGrade())] += sign;
+        }
+
+        private void applyPacked(long value, int sign) {
+            int count = (int) (value >>> 3) & 0x7;
+            for (int i = 0; i < count; i++) {
+                int field = (int) (value >>> (SUBJECT_SHIFT + i * SUBJECT_BITS)) & ((1 << SUBJECT_BITS) - 1);
+                applyScore(field >>> 8, field & MAX_PACKED_SCORE, sign);
+            }
+            gradeCounts[(int) value & 0x7] += sign;
+        }
+
+        private void applyScore(int subjectId, int score, int sign) {
+            Moments moments = moments(subjectId);
+            if (sign > 0) {
+                moments.add(score);
+            } else {
+                moments.remove(score);
+            }
+        }
+
+        /**
+         * 학생의 과목 점수와 학점을 long 하나로 묶습니다.
+         * @param student 학생 객체
+         * @return 묶은 값, 묶을 수 없으면 SnoLongMap.NONE
+         */
+        private static long pack(Student student) {
+            int count = student.getSubjectCount();
+            if (count > MAX_PACKED_SUBJECTS) {
+                return SnoLongMap.NONE;
+            }
+            long value = gradeIndex(student.computeGrade()) | (long) count << 3;
+            for (int i = 0; i < count; i++) {
+                int subjectId = student.getSubjectId(i);
+                int score = student.getScore(subjectId);
+                if (subjectId > MAX_PACKED_SUBJECT_ID || score < 0 || score > MAX_PACKED_SCORE) {
+                    return SnoLongMap.NONE;
+                }
+                value |= (long) (subjectId << 8 | score) << (SUBJECT_SHIFT + i * SUBJECT_BITS);
+            }
+            return value;
+        }
+
+        private Moments moments(int subjectId) {
+            if (subjectId >= subjects.length) {
+                subjects = Arrays.copyOf(subjects, Math.max(subjectId + 1, SubjectDictionary.size()));
+            }
+            if (subjects[subjectId] == null) {
+                subjects[subjectId] = new Moments();
+            }
+            return subjects[subjectId];
+        }
+
+        private void merge(Accumulator other) {
+            // 같은 학번이 양쪽에 있으면(스트림에 중복 행이 있는 경우) 순서상 뒤쪽인 other의 값을 남기고 이쪽 값을 뺍니다.
+            other.packed.forEach((key, sno, value) -> {
+                long previous = packed.put(key, sno, value);
+                if (previous != SnoLongMap.NONE) {
+                    applyPacked(previous, -1);
+                } else if (!unpacked.isEmpty()) {
+                    subtract(unpacked.remove(sno != null ? sno : SnoCodec.format(key)));
+                }
+            });
+            for (Student student : other.unpacked.values()) {
+                long previous = packed.remove(student.getSno());
+                if (previous != SnoLongMap.NONE) {
+                    applyPacked(previous, -1);
+                }
+                subtract(unpacked.put(student.getSno(), student));
+            }
+            for (int id = 0; id < other.subjects.length; id++) {
+                if (other.subjects[id] != null) {
+                    moments(id).merge(other.subjects[id]);
+                }
+            }
+            for (int i = 0; i < gradeCounts.length; i++) {
+                gradeCounts[i] += other.gradeCounts[i];
+            }
+        }
+    }
+
+    /**
+     * 한 과목의 누적 통계 (Welford 평균/제곱편차합과 점수 히스토그램)
+     */
+    private static final class Moments {
+        private long count;
+        private double mean;
+        private double m2;
+        private final long[] histogram = new long[MAX_SCORE + 1];
+
+        private void add(int score) {
+            count++;
+            double delta = score - mean;
+            mean += delta / count;
+            m2 += delta * (score - mean);
+            histogram[bin(score)]++;
+        }
+
+        private void remove(int score) {
+            histogram[bin(score)]--;
+            if (--count == 0) {
+                mean = 0;
+                m2 = 0;
+                return;
+            }
+            double previousMean = mean;
+            mean = (previousMean * (count + 1) - score) / count;
+            m2 = Math.max(0, m2 - (score - previousMean) * (score - mean));
+        }
+
+        /**
+         * 두 부분 통계를 병합합니다. (Chan 등의 병렬 분산 공식)
+         */
+        private void merge(Moments other) {
+            if (other.count == 0) {
+                return;
+            }
+            long merged = count + other.count;
+            double delta = other.mean - mean;
+            mean += delta * other.count / merged;
+            m2 += other.m2 + delta * delta * count * other.count / merged;
+            count = merged;
+            for (int i = 0; i <= MAX_SCORE; i++) {
+                histogram[i] += other.histogram[i];
+            }
+        }
+
+        private static int bin(int score) {
+            return Math.max(0, Math.min(MAX_SCORE, score));
+        }
+    }
+
+    /**
+     * SubjectStats 클래스는 조회 시점의 과목 통계를 담는 읽기 전용 객체입니다.
+     */
+    public static final class SubjectStats {
+        private final int subjectId;
+        private final long count;
+        private final double mean;
+        private final double variance;
+        private final int min;
+        private final int max;
+        private final long[] histogram;
+        private final long[] gradeCounts = new long[GRADES.length];
+
+        private SubjectStats(int subjectId, Moments moments) {
+            this.subjectId = subjectId;
+            this.count = moments.count;
+            this.mean = moments.mean;
+            this.variance = moments.count == 0 ? 0 : moments.m2 / moments.count;
+            this.histogram = moments.histogram.clone();
+            int lowest = -1;
+            int highest = -1;
+            for (int score = 0; score <= MAX_SCORE; score++) {
+                if (histogram[score] > 0) {
+                    if (lowest < 0) {
+                        lowest = score;
+                    }
+                    highest = score;
+                    gradeCounts[gradeIndex(Student.gradeOf(score))] += histogram[score];
+                }
+            }
+            this.min = lowest;
+            this.max = highest;
+        }
+
+        /**
+         * 과목 id를 반환합니다.
+         * @return SubjectDictionary의 과목 id
+         */
+        public int getSubjectId() {
+            return subjectId;
+        }
+
+        /**
+         * 점수가 집계된 학생 수를 반환합니다.
+         * @return 학생 수
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * 평균 점수를 반환합니다.
+         * @return 평균, 점수가 없으면 0
+         */
+        public double getMean() {
+            return mean;
+        }
+
+        /**
+         * 모분산을 반환합니다.
+         * @return 분산, 점수가 없으면 0
+         */
+        public double getVariance() {
+            return variance;
+        }
+
+        /**
+         * 표준편차(모분산의 제곱근)를 반환합니다.
+         * @return 표준편차
+         */
+        public double getStdDev() {
+            return Math.sqrt(variance);
+        }
+
+        /**
+         * 최소 점수를 반환합니다.
+         * @return 최소 점수, 점수가 없으면 -1
+         */
+        public int getMin() {
+            return min;
+        }
+
+        /**
+         * 최대 점수를 반환합니다.
+         * @return 최대 점수, 점수가 없으면 -1
+         */
+        public int getMax() {
+            return max;
+        }
+
+        /**
+         * 점수별 인원수를 반환합니다.
+         * @param score 0~MAX_SCORE 점수
+         * @return 해당 점수의 학생 수
+         */
+        public long getFrequency(int score) {
+            return histogram[score];
+        }
+
+        /**
+         * 과목 점수에 학점 기준(90/80/70/60)을 적용한 학점 분포를 반환합니다.
+         * @return 학점(A, B, C, D, F) → 학생 수
+         */
+        public Map<String, Long> getGradeDistribution() {
+            return toGradeMap(gradeCounts);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: count=%d, mean=%.2f, variance=%.2f, stddev=%.2f, min=%d, max=%d, grades=%s",
+                    SubjectDictionary.nameOf(subjectId), count, mean, variance, getStdDev(), min, max,
+                    getGradeDistribution());
+        }
+    }
+}
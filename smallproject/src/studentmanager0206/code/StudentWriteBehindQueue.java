@@ -0,0 +1,342 @@
+package studentmanager0206.code;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * StudentWriteBehindQueue 클래스는 학생 정보 변경을 즉시 DB에 쓰지 않고 모아 두었다가 일괄 반영하는 쓰기 지연 큐입니다.
+ * <p>
+ * 변경은 학번별로 하나만 유지되어 같은 학생을 여러 번 수정하면 마지막 값만 남습니다(삭제도 이전 수정을 대체).
+ * 대기 건수가 maxPending에 도달하거나 flushIntervalMs가 지나면 백그라운드에서 JDBC 배치로 반영하며,
+ * 실패한 청크는 그 사이 새 변경이 없을 때 큐에 다시 넣습니다.
+ * <p>
+ * 한 변경이 MAX_ATTEMPTS번 연속 실패하면 더 재시도하지 않고 반영 실패(dead-letter) 목록으로 옮깁니다.
+ * close()는 남은 변경을 몇 차례 반영해 보고, 그래도 남은 변경과 반영 실패 목록은 getUnsavedCount()로 확인하고
+ * exportUnsaved()로 파일에 저장할 수 있습니다. 호출자는 이 변경을 저장하기 전에 프로세스를 끝내면 안 됩니다.
+ */
+public class StudentWriteBehindQueue implements AutoCloseable {
+    private static final int FLUSH_CHUNK_SIZE = 500;
+    /**
+     * 한 변경을 반영 실패 목록으로 옮기기 전까지의 최대 시도 횟수
+     */
+    private static final int MAX_ATTEMPTS = 5;
+    /**
+     * close()에서 남은 변경을 반영해 보는 횟수와 시도 사이 대기 시간(ms, 시도마다 늘어남)
+     */
+    private static final int CLOSE_FLUSH_ROUNDS = 3;
+    private static final long CLOSE_RETRY_DELAY_MS = 200;
+
+    private final StudentDAO studentDAO;
+    private final int maxPending;
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * 학번 → 대기 중인 변경 (값이 DELETED이면 삭제)
+     */
+    private final Map<String, Student> pending = new LinkedHashMap<>();
+    /**
+     * 반영 중인 변경 (반영이 끝날 때까지 조회에 사용)
+     */
+    private Map<String, Student> inFlight = Map.of();
+    /**
+     * 학번 → 연속 실패 횟수 (실패한 변경만 기록)
+     */
+    private final Map<String, Integer> attempts = new HashMap<>();
+    /**
+     * 학번 → MAX_ATTEMPTS번 실패하여 더 재시도하지 않는 변경 (값이 DELETED이면 삭제)
+     */
+    private final Map<String, Student> deadLetters = new LinkedHashMap<>();
+    private final Object flushLock = new Object();
+    private boolean closed;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder failedRows = new LongAdder();
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder totalFlushNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos;
+
+    /**
+     * 삭제를 나타내는 표시 객체
+     */
+    private static final Student DELETED = new Student.StudentBuilder().sno("").name("").build();
+
+    /**
+     * StudentWriteBehindQueue 생성자
+     * @param studentDAO 변경을 반영할 DAO
+     * @param maxPending 이 건수에 도달하면 즉시 반영을 시작하는 대기 건수
+     * @param flushIntervalMs 주기적으로 반영하는 간격(ms)
+     */
+    public StudentWriteBehindQueue(StudentDAO studentDAO, int maxPending, long flushIntervalMs) {
+        if (maxPending <= 0 || flushIntervalMs <= 0) {
+            throw new IllegalArgumentException("maxPending and flushIntervalMs must be positive");
+        }
+        this.studentDAO = studentDAO;
+        this.maxPending = maxPending;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "student-write-behind");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 학생 정보 저장/수정을 큐에 넣습니다. 같은 학번의 대기 중인 변경은 대체됩니다.
+     * @param student 저장할 학생 객체
+     */
+    public void enqueueUpsert(Student student) {
+        enqueue(student.getSno(), student);
+    }
+
+    /**
+     * 학생 정보 삭제를 큐에 넣습니다. 같은 학번의 대기 중인 변경은 대체됩니다.
+     * @param sno 삭제할 학번
+     */
+    public void enqueueDelete(String sno) {
+        enqueue(sno, DELETED);
+    }
+
+    /**
+     * 주어진 학번에 아직 반영되지 않은 변경이 있는지 확인합니다.
+     * @param sno 학번
+     * @return 대기 중인 저장 또는 삭제가 있으면 true
+     */
+    public synchronized boolean isPending(String sno) {
+        return pending.containsKey(sno) || inFlight.containsKey(sno) || deadLetters.containsKey(sno);
+    }
+
+    /**
+     * 아직 반영되지 않은 학생 정보를 반환합니다. (쓰기 후 읽기 일관성 확보용, 반영 실패 목록 포함)
+     * @param sno 학번
+     * @return 저장 대기 중인 학생, 삭제 대기이거나 대기 중인 변경이 없으면 null
+     */
+    public synchronized Student getPending(String sno) {
+        Student student = pending.containsKey(sno) ? pending.get(sno)
+                : inFlight.containsKey(sno) ? inFlight.get(sno) : deadLetters.get(sno);
+        return student == DELETED ? null : student;
+    }
+
+    /**
+     * 대기 중인 변경을 모두 꺼내 JDBC 배치로 반영합니다. 반영 작업은 한 번에 하나만 실행됩니다.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<String, Student> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = new LinkedHashMap<>(pending);
+                pending.clear();
+                inFlight = batch;
+            }
+
+            long start = System.nanoTime();
+            List<Student> upserts = new ArrayList<>();
+            List<String> deletes = new ArrayList<>();
+            batch.forEach((sno, student) -> {
+                if (student == DELETED) {
+                    deletes.add(sno);
+                } else {
+                    upserts.add(student);
+                }
+            });
+
+            if (!upserts.isEmpty()) {
+                StudentDAO.BatchResult result = studentDAO.upsertBatch(upserts, FLUSH_CHUNK_SIZE);
+                requeueFailures(result, upserts, Student::getSno, student -> student);
+            }
+            if (!deletes.isEmpty()) {
+                StudentDAO.BatchResult result = studentDAO.deleteAll(deletes, FLUSH_CHUNK_SIZE);
+                requeueFailures(result, deletes, sno -> sno, sno -> DELETED);
+            }
+
+            synchronized (this) {
+                inFlight = Map.of();
+                // 반영에 성공한 학번의 실패 횟수를 지웁니다. (다시 대기 중인 학번은 실패했거나 새 변경이 들어온 것)
+                if (!attempts.isEmpty()) {
+                    attempts.keySet().removeIf(sno -> batch.containsKey(sno) && !pending.containsKey(sno));
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            flushCount.increment();
+            totalFlushNanos.add(elapsed);
+            maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+            lastFlushNanos = elapsed;
+        }
+    }
+
+    /**
+     * 현재 대기 중인 변경 수(큐 깊이)를 반환합니다.
+     * @return 대기 건수
+     */
+    public synchronized int getQueueDepth() {
+        return pending.size();
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 변경 수(대기 중 + 반영 실패 목록)를 반환합니다.
+     * @return 반영되지 않은 변경 수
+     */
+    public synchronized int getUnsavedCount() {
+        // 새 변경은 반영 실패 목록의 같은 학번을 지우므로 두 맵은 겹치지 않습니다.
+        return pending.size() + deadLetters.size();
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 변경(대기 중 + 반영 실패 목록)을 CSV 파일에 저장합니다.
+     * 저장/수정은 백업 CSV와 같은 줄로, 삭제는 "!학번" 줄로 기록하므로 일괄 저장(upsert)이나 백업 병합으로 다시 반영할 수 있습니다.
+     * @param file 저장할 파일
+     * @return 저장한 변경 수
+     * @throws IOException 기록 실패 시 예외 발생
+     */
+    public long exportUnsaved(Path file) throws IOException {
+        Map<String, Student> unsaved;
+        synchronized (this) {
+            unsaved = new LinkedHashMap<>(deadLetters);
+            unsaved.putAll(pending);
+        }
+        try (StudentCsvExporter exporter = new StudentCsvExporter(file, false)) {
+            exporter.writeHeader();
+            for (Map.Entry<String, Student> entry : unsaved.entrySet()) {
+                if (entry.getValue() == DELETED) {
+                    exporter.writeTombstone(entry.getKey());
+                } else {
+                    exporter.write(entry.getValue());
+                }
+            }
+        }
+        return unsaved.size();
+    }
+
+    /**
+     * 큐 통계를 문자열로 반환합니다.
+     * @return 큐 깊이, 병합 건수, 반영/실패 건수, 반영 실패 목록 크기, 반영 지연 시간 통계
+     */
+    public String getMetrics() {
+        long flushes = flushCount.sum();
+        int deadLetterCount;
+        synchronized (this) {
+            deadLetterCount = deadLetters.size();
+        }
+        return String.format("depth=%d, enqueued=%d, coalesced=%d, flushed=%d, failed=%d, deadLetters=%d, flushes=%d, "
+                        + "flushLatency(last=%.1fms, avg=%.1fms, max=%.1fms)",
+                getQueueDepth(), enqueued.sum(), coalesced.sum(), flushedRows.sum(), failedRows.sum(), deadLetterCount,
+                flushes,
+                lastFlushNanos / 1e6,
+                flushes == 0 ? 0.0 : totalFlushNanos.sum() / 1e6 / flushes,
+                maxFlushNanos.get() / 1e6);
+    }
+
+    /**
+     * 주기 반영을 멈추고 남은 변경을 반영합니다. 실패하면 잠시 기다렸다가 CLOSE_FLUSH_ROUNDS번까지 다시 시도합니다.
+     * 그래도 반영하지 못한 변경은 큐에 남으므로 getUnsavedCount()로 확인하고 exportUnsaved()로 저장해야 합니다.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(30, TimeUnit.SECONDS);
+            for (int round = 1; round <= CLOSE_FLUSH_ROUNDS; round++) {
+                flush();
+                if (getQueueDepth() == 0) {
+                    break;
+                }
+                if (round < CLOSE_FLUSH_ROUNDS) {
+                    Thread.sleep(CLOSE_RETRY_DELAY_MS * round);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 변경을 큐에 넣고 대기 건수가 한도에 도달하면 백그라운드 반영을 요청합니다.
+     * 큐가 닫혔으면 즉시 반영합니다.
+     * @param sno 학번
+     * @param mutation 저장할 학생 또는 DELETED
+     */
+    private void enqueue(String sno, Student mutation) {
+        boolean full;
+        boolean isClosed;
+        synchronized (this) {
+            if (pending.put(sno, mutation) != null) {
+                coalesced.increment();
+            }
+            // 새 변경이 이전의 실패한 변경을 대체하므로 실패 횟수를 새로 셉니다.
+            attempts.remove(sno);
+            deadLetters.remove(sno);
+            enqueued.increment();
+            full = pending.size() >= maxPending;
+            isClosed = closed;
+        }
+        if (isClosed) {
+            flush();
+        } else if (full) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * 반영 결과를 집계하고, 실패한 청크의 항목은 그 사이 같은 학번의 새 변경이 없으면 큐에 다시 넣습니다.
+     * MAX_ATTEMPTS번째 실패한 항목은 큐 대신 반영 실패 목록으로 옮깁니다.
+     * @param result 배치 반영 결과
+     * @param items 배치에 넘긴 항목 (결과의 청크 위치와 같은 순서)
+     * @param snoOf 항목의 학번을 구하는 함수
+     * @param mutationOf 항목을 큐에 넣을 변경으로 바꾸는 함수
+     * @param <T> 항목 타입
+     */
+    private <T> void requeueFailures(StudentDAO.BatchResult result, List<T> items,
+                                     Function<T, String> snoOf, Function<T, Student> mutationOf) {
+        flushedRows.add(result.getSucceeded());
+        failedRows.add(result.getFailedCount());
+        if (result.getFailures().isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            for (StudentDAO.ChunkFailure failure : result.getFailures()) {
+                for (T item : items.subList(failure.getStart(), failure.getStart() + failure.getSize())) {
+                    String sno = snoOf.apply(item);
+                    if (pending.containsKey(sno)) {
+                        continue;
+                    }
+                    if (attempts.merge(sno, 1, Integer::sum) >= MAX_ATTEMPTS) {
+                        attempts.remove(sno);
+                        deadLetters.put(sno, mutationOf.apply(item));
+                    } else {
+                        pending.put(sno, mutationOf.apply(item));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 예외를 출력하고 삼키는 반영 작업 (스케줄러 스레드가 중단되지 않도록)
+     */
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+}
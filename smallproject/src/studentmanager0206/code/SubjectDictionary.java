@@ -0,0 +1,164 @@
+package studentmanager0206.code;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SubjectDictionary 클래스는 과목명을 작은 정수 id로 변환하는 전역 사전입니다.
+ * 과목명은 대소문자를 구분하지 않으며, 기본 4과목(korean, english, math, science)은 0~3번 id로 미리 등록됩니다.
+ * <p>
+ * 과목마다 공유 Descriptor(id, 과목명) 하나만 만들어 두므로(flyweight) 학생이나 Student.Subject는
+ * 과목명 문자열 대신 id나 Descriptor 참조만 가지며, 과목 비교는 id 비교로 처리합니다.
+ * 등록(idOf)만 잠금으로 직렬화하고, 조회(find, nameOf, descriptor, size)는 잠금 없이 수행합니다.
+ */
+public final class SubjectDictionary {
+    public static final int KOREAN;
+    public static final int ENGLISH;
+    public static final int MATH;
+    public static final int SCIENCE;
+
+    /**
+     * 과목명(소문자 키와 처음 등록된 표기) → Descriptor
+     */
+    private static final Map<String, Descriptor> byName = new ConcurrentHashMap<>();
+    /**
+     * id로 색인한 Descriptor (등록 시 복사 후 교체)
+     */
+    private static volatile Descriptor[] descriptors = new Descriptor[0];
+
+    static {
+        KOREAN = idOf("korean");
+        ENGLISH = idOf("english");
+        MATH = idOf("math");
+        SCIENCE = idOf("science");
+    }
+
+    /**
+     * private 생성자: 인스턴스 생성 불가
+     */
+    private SubjectDictionary() {
+    }
+
+    /**
+     * 과목명의 id를 반환합니다. 처음 보는 과목명이면 새 id를 부여합니다.
+     * @param name 과목명
+     * @return 과목 id
+     */
+    public static int idOf(String name) {
+        return descriptorOf(name).getId();
+    }
+
+    /**
+     * 과목명의 공유 Descriptor를 반환합니다. 처음 보는 과목명이면 새로 등록합니다.
+     * @param name 과목명
+     * @return 과목 Descriptor
+     */
+    public static Descriptor descriptorOf(String name) {
+        Descriptor descriptor = lookup(name);
+        if (descriptor != null) {
+            return descriptor;
+        }
+        synchronized (SubjectDictionary.class) {
+            String key = name.toLowerCase(Locale.ROOT);
+            descriptor = byName.get(key);
+            if (descriptor == null) {
+                Descriptor[] grown = Arrays.copyOf(descriptors, descriptors.length + 1);
+                descriptor = new Descriptor(descriptors.length, name);
+                grown[descriptor.getId()] = descriptor;
+                // 이름으로 찾은 id가 항상 descriptor(id)로 조회되도록 배열을 먼저 교체합니다.
+                descriptors = grown;
+                byName.put(key, descriptor);
+                byName.put(name, descriptor);
+            }
+            return descriptor;
+        }
+    }
+
+    /**
+     * 등록된 과목명의 id를 반환합니다. 새 id를 부여하지 않습니다.
+     * @param name 과목명
+     * @return 과목 id, 등록되지 않은 과목이면 -1
+     */
+    public static int find(String name) {
+        Descriptor descriptor = lookup(name);
+        return descriptor == null ? -1 : descriptor.getId();
+    }
+
+    /**
+     * 과목명으로 Descriptor를 찾습니다. 등록된 표기 그대로면 소문자 변환 없이 바로 찾습니다.
+     * @param name 과목명
+     * @return Descriptor, 등록되지 않은 과목이면 null
+     */
+    private static Descriptor lookup(String name) {
+        Descriptor descriptor = byName.get(name);
+        return descriptor != null ? descriptor : byName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * id에 해당하는 과목명(처음 등록된 표기)을 반환합니다.
+     * @param id 과목 id
+     * @return 과목명
+     */
+    public static String nameOf(int id) {
+        return descriptor(id).getName();
+    }
+
+    /**
+     * id에 해당하는 공유 Descriptor를 반환합니다.
+     * @param id 과목 id
+     * @return 과목 Descriptor
+     * @throws IndexOutOfBoundsException 등록되지 않은 id이면 예외 발생
+     */
+    public static Descriptor descriptor(int id) {
+        Descriptor[] current = descriptors;
+        if (id < 0 || id >= current.length) {
+            throw new IndexOutOfBoundsException("unknown subject id: " + id);
+        }
+        return current[id];
+    }
+
+    /**
+     * 현재 등록된 과목 수를 반환합니다.
+     * @return 과목 수 (= 가장 큰 id + 1)
+     */
+    public static int size() {
+        return descriptors.length;
+    }
+
+    /**
+     * Descriptor 클래스는 과목 하나를 나타내는 공유(flyweight) 불변 객체입니다.
+     * 과목마다 인스턴스가 하나뿐이므로 같은 과목인지는 참조나 id로 비교합니다.
+     */
+    public static final class Descriptor {
+        private final int id;
+        private final String name;
+
+        private Descriptor(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        /**
+         * 과목 id를 반환합니다.
+         * @return 과목 id
+         */
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * 과목명(처음 등록된 표기)을 반환합니다.
+         * @return 과목명
+         */
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
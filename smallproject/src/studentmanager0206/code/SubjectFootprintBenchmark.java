@@ -0,0 +1,166 @@
+package studentmanager0206.code;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import javax.management.ObjectName;
+
+/**
+ * SubjectFootprintBenchmark 클래스는 과목 정보를 학생마다 객체로 보관하는 방식과
+ * SubjectDictionary id로 보관하는 현재 Student의 힙 사용량을 클래스별 힙 히스토그램으로 비교합니다.
+ * <ul>
+ *     <li>legacy: 학생마다 ArrayList와 과목명 참조를 가진 Subject 객체 네 개 (과목명 문자열 기반)</li>
+ *     <li>dictionary: Student (과목 id 배열과 id로 색인한 점수 배열, 과목명은 공유 Descriptor)</li>
+ * </ul>
+ * 학번과 이름 문자열은 두 방식이 같은 객체를 참조하므로 차이는 과목 보관 구조에서만 생깁니다.
+ * 히스토그램은 DiagnosticCommand MBean의 gcClassHistogram(jcmd GC.class_histogram과 같음)으로 구하며,
+ * 학생을 만들기 전과 후의 클래스별 바이트 차이를 학생 수로 나누어 출력합니다.
+ * <p>
+ * 실행: java -Xmx2g studentmanager0206.code.SubjectFootprintBenchmark [학생 수] (생략 시 1,000,000)
+ */
+public class SubjectFootprintBenchmark {
+    private static final int DEFAULT_ROWS = 1_000_000;
+    private static final String[] NAMES = { "김철수", "이영희", "박민수", "Alice", "Bob", "최지우", "Charlie", "정하늘" };
+    private static final String[] SUBJECT_NAMES = { "korean", "english", "math", "science" };
+    /**
+     * 출력에서 생략할 만큼 작은 학생당 바이트
+     */
+    private static final double MIN_BYTES_PER_STUDENT = 0.5;
+
+    /**
+     * 벤치마크를 실행합니다.
+     * @param args [0] 학생 수
+     * @throws Exception 히스토그램 조회 실패 시 예외 발생
+     */
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROWS;
+        Random random = new Random(42);
+        String[] snos = new String[rows];
+        String[] names = new String[rows];
+        int[][] scores = new int[rows][SUBJECT_NAMES.length];
+        for (int i = 0; i < rows; i++) {
+            snos[i] = SnoCodec.format(2_000_000_000L + i);
+            names[i] = NAMES[random.nextInt(NAMES.length)];
+            for (int s = 0; s < SUBJECT_NAMES.length; s++) {
+                scores[i][s] = random.nextInt(101);
+            }
+        }
+
+        Map<String, long[]> before = histogram();
+        List<LegacyStudent> legacy = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            List<LegacySubject> subjects = new ArrayList<>();
+            for (int s = 0; s < SUBJECT_NAMES.length; s++) {
+                subjects.add(new LegacySubject(SUBJECT_NAMES[s], scores[i][s]));
+            }
+            legacy.add(new LegacyStudent(snos[i], names[i], subjects));
+        }
+        long legacyBytes = report("legacy (Subject objects)", before, histogram(), rows);
+        // 다음 측정 전 히스토그램의 전체 GC에서 legacy 구조가 회수되도록 참조를 끊습니다.
+        legacy = null;
+
+        before = histogram();
+        List<Student> students = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Student.StudentBuilder builder = new Student.StudentBuilder().sno(snos[i]).name(names[i]);
+            for (int s = 0; s < SUBJECT_NAMES.length; s++) {
+                builder.addSubject(SUBJECT_NAMES[s], scores[i][s]);
+            }
+            students.add(builder.build());
+        }
+        long dictionaryBytes = report("dictionary (Student)", before, histogram(), rows);
+
+        System.out.printf("per-student reduction: %.1f -> %.1f bytes (%.1f%%)%n",
+                legacyBytes / (double) rows, dictionaryBytes / (double) rows,
+                (1 - dictionaryBytes / (double) legacyBytes) * 100);
+        System.out.println("checksum " + students.get(rows - 1).getTotal());
+    }
+
+    /**
+     * 두 히스토그램의 클래스별 차이를 학생당 바이트로 출력합니다.
+     * @param label 방식 이름
+     * @param before 학생 생성 전 히스토그램
+     * @param after 학생 생성 후 히스토그램
+     * @param rows 학생 수
+     * @return 늘어난 전체 바이트
+     */
+    private static long report(String label, Map<String, long[]> before, Map<String, long[]> after, int rows) {
+        System.out.println(label + ":");
+        long total = 0;
+        for (Map.Entry<String, long[]> entry : after.entrySet()) {
+            long[] base = before.getOrDefault(entry.getKey(), new long[2]);
+            long instances = entry.getValue()[0] - base[0];
+            long bytes = entry.getValue()[1] - base[1];
+            if (bytes / (double) rows < MIN_BYTES_PER_STUDENT) {
+                continue;
+            }
+            total += bytes;
+            System.out.printf("  %-40s %,12d instances %8.1f bytes/student%n",
+                    entry.getKey(), instances, bytes / (double) rows);
+        }
+        System.out.printf("  %-40s %,12d bytes    %8.1f bytes/student%n", "total", total, total / (double) rows);
+        return total;
+    }
+
+    /**
+     * 전체 GC 후의 클래스별 {인스턴스 수, 바이트}를 구합니다.
+     * @return 클래스 이름 → {인스턴스 수, 바이트}
+     * @throws Exception DiagnosticCommand 호출 실패 시 예외 발생
+     */
+    private static Map<String, long[]> histogram() throws Exception {
+        String output = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                new ObjectName("com.sun.management:type=DiagnosticCommand"), "gcClassHistogram",
+                new Object[] { new String[0] }, new String[] { String[].class.getName() });
+        Map<String, long[]> classes = new HashMap<>();
+        for (String line : output.split("\n")) {
+            // "   1:       1000000       32000000  [I (java.base@17)" 형식의 줄만 사용합니다.
+            String[] fields = line.trim().split("\\s+");
+            if (fields.length < 4 || !fields[0].endsWith(":")) {
+                continue;
+            }
+            classes.put(fields[3], new long[] { Long.parseLong(fields[1]), Long.parseLong(fields[2]) });
+        }
+        return classes;
+    }
+
+    /**
+     * LegacyStudent 클래스는 과목을 Subject 객체 리스트로 보관하던 학생 구조입니다.
+     */
+    private static final class LegacyStudent {
+        private final String sno;
+        private final String name;
+        private final List<LegacySubject> subjects;
+
+        LegacyStudent(String sno, String name, List<LegacySubject> subjects) {
+            this.sno = sno;
+            this.name = name;
+            this.subjects = subjects;
+        }
+
+        @Override
+        public String toString() {
+            return sno + "," + name + "," + subjects.size();
+        }
+    }
+
+    /**
+     * LegacySubject 클래스는 과목명 문자열 참조와 점수를 가진 과목 객체입니다.
+     */
+    private static final class LegacySubject {
+        private final String name;
+        private final int score;
+
+        LegacySubject(String name, int score) {
+            this.name = name;
+            this.score = score;
+        }
+
+        @Override
+        public String toString() {
+            return name + ":" + score;
+        }
+    }
+}
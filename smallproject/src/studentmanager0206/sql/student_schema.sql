@@ -0,0 +1,94 @@
+-- studentmanager0206 STUDENT 테이블 스키마 (SMS 데이터베이스)
+
+CREATE TABLE IF NOT EXISTS STUDENT (
+    sno     CHAR(10)     NOT NULL,
+    name    VARCHAR(50)  NOT NULL,
+    korean  INT          NOT NULL,
+    english INT          NOT NULL,
+    math    INT          NOT NULL,
+    science INT          NOT NULL,
+    total   INT          NOT NULL,
+    average DOUBLE       NOT NULL,
+    grade   CHAR(1)      NOT NULL,
+    PRIMARY KEY (sno)
+);
+
+-- 총점 정렬 키셋 페이지 조회 (ORDER BY total DESC, sno) 용 인덱스
+CREATE INDEX idx_student_total_sno ON STUDENT (total DESC, sno);
+
+-- 증분(delta) 백업용 변경 로그. STUDENT 행이 바뀔 때마다 트리거가 학번을 한 줄씩 기록합니다.
+-- seq는 증분 백업 매니페스트에 구간 경계로 저장되며, 새 전체 백업 후 이전 구간은 삭제됩니다.
+-- seq는 AUTO_INCREMENT가 아니라 STUDENT_CHANGE_SEQ의 카운터 행에서 받습니다. (아래 참고)
+CREATE TABLE IF NOT EXISTS STUDENT_CHANGE (
+    seq        BIGINT     NOT NULL,
+    sno        CHAR(10)   NOT NULL,
+    changed_at TIMESTAMP  NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (seq),
+    INDEX idx_student_change_sno_seq (sno, seq)
+);
+
+-- 변경 순번 카운터 (id = 1 한 행). 트리거가 이 행을 UPDATE하여 순번을 받으므로 행 잠금이 트랜잭션 커밋까지 유지되고,
+-- 다음 트랜잭션은 앞 트랜잭션이 커밋한 뒤에야 순번을 받습니다. 따라서 순번 순서가 곧 커밋 순서이며,
+-- 잠금 없이 읽은 카운터 값(StudentDAO.getLastChangeSeq) 이하의 변경은 모두 커밋된 상태입니다.
+-- AUTO_INCREMENT의 MAX(seq)는 늦게 커밋되는 작은 순번을 건너뛸 수 있어 사용하지 않습니다.
+-- 대가로 STUDENT를 수정하는 트랜잭션끼리는 커밋 시점까지 직렬화됩니다. (청크 단위 커밋이면 청크 하나 동안)
+CREATE TABLE IF NOT EXISTS STUDENT_CHANGE_SEQ (
+    id  TINYINT NOT NULL,
+    seq BIGINT  NOT NULL,
+    PRIMARY KEY (id)
+);
+INSERT IGNORE INTO STUDENT_CHANGE_SEQ (id, seq) SELECT 1, COALESCE(MAX(seq), 0) FROM STUDENT_CHANGE;
+
+-- 트리거는 정의가 바뀔 수 있으므로 지우고 다시 만듭니다. (스크립트를 여러 번 실행해도 됨, mysql 클라이언트용 DELIMITER)
+DROP TRIGGER IF EXISTS trg_student_change_insert;
+DROP TRIGGER IF EXISTS trg_student_change_update;
+DROP TRIGGER IF EXISTS trg_student_change_delete;
+
+DELIMITER //
+
+CREATE TRIGGER trg_student_change_insert AFTER INSERT ON STUDENT
+    FOR EACH ROW
+BEGIN
+    UPDATE STUDENT_CHANGE_SEQ SET seq = seq + 1 WHERE id = 1;
+    INSERT INTO STUDENT_CHANGE (seq, sno) SELECT seq, NEW.sno FROM STUDENT_CHANGE_SEQ WHERE id = 1;
+END //
+
+-- 학번이 바뀌는 수정은 이전 학번(삭제)과 새 학번을 모두 기록합니다.
+CREATE TRIGGER trg_student_change_update AFTER UPDATE ON STUDENT
+    FOR EACH ROW
+BEGIN
+    UPDATE STUDENT_CHANGE_SEQ SET seq = seq + 1 WHERE id = 1;
+    INSERT INTO STUDENT_CHANGE (seq, sno) SELECT seq, NEW.sno FROM STUDENT_CHANGE_SEQ WHERE id = 1;
+    IF OLD.sno <> NEW.sno THEN
+        UPDATE STUDENT_CHANGE_SEQ SET seq = seq + 1 WHERE id = 1;
+        INSERT INTO STUDENT_CHANGE (seq, sno) SELECT seq, OLD.sno FROM STUDENT_CHANGE_SEQ WHERE id = 1;
+    END IF;
+END //
+
+CREATE TRIGGER trg_student_change_delete AFTER DELETE ON STUDENT
+    FOR EACH ROW
+BEGIN
+    UPDATE STUDENT_CHANGE_SEQ SET seq = seq + 1 WHERE id = 1;
+    INSERT INTO STUDENT_CHANGE (seq, sno) SELECT seq, OLD.sno FROM STUDENT_CHANGE_SEQ WHERE id = 1;
+END //
+
+DELIMITER ;
+
+-- 정규화된 성적 저장소. 과목이 늘어나도 스키마를 바꾸지 않고 STUDENT_SCORE에 행만 추가합니다.
+-- 기존 STUDENT(과목별 열) 테이블과 별개이며, StudentDAO.copyWideToNormalized로 한 번에 옮길 수 있습니다.
+CREATE TABLE IF NOT EXISTS STUDENT_INFO (
+    sno  CHAR(10)    NOT NULL,
+    name VARCHAR(50) NOT NULL,
+    PRIMARY KEY (sno)
+);
+
+-- ord는 과목을 추가한 순서입니다. 기본 키 (sno, ord) 순서로 읽으면 학생별로 모인 채 과목 순서대로 나옵니다.
+-- subject는 SubjectDictionary의 과목명입니다. (id는 실행마다 달라질 수 있으므로 저장하지 않음)
+CREATE TABLE IF NOT EXISTS STUDENT_SCORE (
+    sno     CHAR(10)    NOT NULL,
+    ord     SMALLINT    NOT NULL,
+    subject VARCHAR(30) NOT NULL,
+    score   INT         NOT NULL,
+    PRIMARY KEY (sno, ord),
+    CONSTRAINT fk_student_score_info FOREIGN KEY (sno) REFERENCES STUDENT_INFO (sno) ON DELETE CASCADE
+);
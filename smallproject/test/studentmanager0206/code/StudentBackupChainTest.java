@@ -0,0 +1,148 @@
+package studentmanager0206.code;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * StudentBackupChainTest 클래스는 변경 로그 조회가 실패했을 때 증분 백업이 체인을 앞으로 옮기지 않는지 확인합니다.
+ * 데이터베이스 없이 실행하도록 변경 로그 조회만 바꾼 StudentDAO를 사용합니다. (JUnit 없이 main으로 실행)
+ */
+public class StudentBackupChainTest {
+    private static final long FULL_SEQ = 5;
+    private static final long LAST_SEQ = 10;
+
+    /**
+     * 모든 테스트를 실행합니다. 실패하면 AssertionError로 끝납니다.
+     * @param args 사용하지 않음
+     * @throws Exception 테스트 준비 실패 시 예외 발생
+     */
+    public static void main(String[] args) throws Exception {
+        cursorFailsMidStream();
+        cursorFailsToOpen();
+        System.out.println("StudentBackupChainTest: OK");
+        StudentConnectionPool.getInstance().close();
+    }
+
+    /**
+     * 변경 두 건을 읽은 뒤 커서가 실패하면 IOException이 나고, 증분 파일이 남지 않으며 매니페스트가 그대로인지 확인합니다.
+     * @throws Exception 테스트 준비 실패 시 예외 발생
+     */
+    private static void cursorFailsMidStream() throws Exception {
+        expectDeltaFailure(new FakeDAO(2));
+    }
+
+    /**
+     * 변경 로그 조회를 시작하지 못하면(빈 스트림이 아니라) 예외로 끝나고 체인이 그대로인지 확인합니다.
+     * @throws Exception 테스트 준비 실패 시 예외 발생
+     */
+    private static void cursorFailsToOpen() throws Exception {
+        expectDeltaFailure(new FakeDAO(-1));
+    }
+
+    private static void expectDeltaFailure(FakeDAO dao) throws Exception {
+        Path directory = Files.createTempDirectory("backup_chain_test");
+        try {
+            Path full = directory.resolve("students_backup_20260101_000000.csv");
+            Files.write(full, List.of(StudentCsvExporter.HEADER));
+            StudentBackupChain chain = new StudentBackupChain(dao, directory);
+            Path manifest = chain.startChain(full, FULL_SEQ, 0);
+            byte[] before = Files.readAllBytes(manifest);
+
+            try {
+                chain.writeDelta("20260101_000100");
+                throw new AssertionError("writeDelta must fail when the change cursor fails");
+            } catch (IOException e) {
+                check(e.getCause() instanceof SQLException, "cause should be the cursor SQLException: " + e.getCause());
+            }
+
+            check(Arrays.equals(before, Files.readAllBytes(manifest)), "manifest must not advance");
+            try (DirectoryStream<Path> deltas = Files.newDirectoryStream(directory, "students_delta_*")) {
+                check(!deltas.iterator().hasNext(), "partial delta files must be deleted");
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    /**
+     * FakeDAO 클래스는 변경 로그를 데이터베이스 대신 만들어 주며, 지정한 행 수를 넘기면 커서 오류를 냅니다.
+     */
+    private static final class FakeDAO extends StudentDAO {
+        private final int rowsBeforeFailure;
+
+        /**
+         * @param rowsBeforeFailure 오류 전에 돌려줄 변경 수 (음수이면 조회 시작부터 실패)
+         */
+        FakeDAO(int rowsBeforeFailure) {
+            this.rowsBeforeFailure = rowsBeforeFailure;
+        }
+
+        @Override
+        public long getLastChangeSeq() {
+            return LAST_SEQ;
+        }
+
+        @Override
+        public int purgeChanges(long uptoSeq) {
+            return 0;
+        }
+
+        @Override
+        public Stream<Change> streamChanges(long afterSeq, long uptoSeq) {
+            if (rowsBeforeFailure < 0) {
+                throw new StreamException(new SQLException("connection refused"));
+            }
+            Iterator<Change> changes = new Iterator<Change>() {
+                private int emitted;
+
+                @Override
+                public boolean hasNext() {
+                    if (emitted >= rowsBeforeFailure) {
+                        throw new StreamException(new SQLException("connection reset"));
+                    }
+                    return true;
+                }
+
+                @Override
+                public Change next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    emitted++;
+                    String sno = String.valueOf(2_020_000_000L + emitted);
+                    return emitted % 2 == 0 ? new Change(sno, null) : new Change(sno, new Student.StudentBuilder()
+                            .sno(sno)
+                            .name("kim")
+                            .addSubject(SubjectDictionary.KOREAN, 90)
+                            .addSubject(SubjectDictionary.ENGLISH, 80)
+                            .addSubject(SubjectDictionary.MATH, 70)
+                            .addSubject(SubjectDictionary.SCIENCE, 60)
+                            .build());
+                }
+            };
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(changes, Spliterator.ORDERED), false);
+        }
+    }
+}